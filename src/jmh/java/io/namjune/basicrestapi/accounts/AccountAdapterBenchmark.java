@@ -0,0 +1,45 @@
+package io.namjune.basicrestapi.accounts;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * loadUserByUsername 마다 만드는 AccountAdapter(권한 목록 생성 포함) 비용
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccountAdapterBenchmark {
+
+    Account account;
+
+    @Setup
+    public void setUp() {
+        this.account = Account.builder()
+            .id(1L)
+            .email("admin@gmail.com")
+            .password("{bcrypt}$2a$10$0123456789012345678901234567890123456789012345678901")
+            .roles(Stream.of(AccountRole.ADMIN, AccountRole.USER).collect(Collectors.toSet()))
+            .build();
+    }
+
+    @Benchmark
+    public AccountAdapter accountAdapter() {
+        return new AccountAdapter(this.account);
+    }
+}
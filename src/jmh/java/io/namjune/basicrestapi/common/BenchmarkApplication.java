@@ -0,0 +1,43 @@
+package io.namjune.basicrestapi.common;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.namjune.basicrestapi.BasicRestApiApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+/**
+ * 벤치마크에서 애플리케이션 컨텍스트를 띄울 때 사용한다.
+ *
+ * benchmark 프로파일(H2 메모리 DB, SQL 로그 끔)로 실행하고, 컨텍스트 생성 비용은 @Setup(Level.Trial) 에서 한번만 치른다.
+ */
+public final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    public static ConfigurableApplicationContext run(String... properties) {
+        return new SpringApplicationBuilder(BasicRestApiApplication.class)
+            .profiles("benchmark")
+            .properties(properties)
+            .logStartupInfo(false)
+            .run();
+    }
+
+    /**
+     * HAL 응답(application/hal+json)을 쓸 때 사용하는 ObjectMapper.
+     * 빈으로 등록되어 있지 않고 Spring HATEOAS 가 RequestMappingHandlerAdapter 에 추가한 컨버터 안에 있다.
+     */
+    public static ObjectMapper halObjectMapper(ApplicationContext context) {
+        return context.getBean(RequestMappingHandlerAdapter.class).getMessageConverters().stream()
+            .filter(c -> c instanceof AbstractJackson2HttpMessageConverter)
+            .map(c -> (AbstractJackson2HttpMessageConverter) c)
+            .filter(c -> c.getSupportedMediaTypes().contains(MediaTypes.HAL_JSON))
+            .map(AbstractJackson2HttpMessageConverter::getObjectMapper)
+            .findFirst()
+            .orElseThrow(() -> new IllegalStateException("HAL message converter not found"));
+    }
+}
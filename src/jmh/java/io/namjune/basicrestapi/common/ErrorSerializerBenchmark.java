@@ -0,0 +1,64 @@
+package io.namjune.basicrestapi.common;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.validation.MapBindingResult;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 400 응답 본문(ErrorsResource -> ErrorSerializer) 직렬화 비용
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErrorSerializerBenchmark {
+
+    @Param({"1", "20"})
+    int errorCount;
+
+    ConfigurableApplicationContext context;
+    ObjectMapper objectMapper;
+    ErrorsResource errorsResource;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.context = BenchmarkApplication.run();
+        this.objectMapper = BenchmarkApplication.halObjectMapper(this.context);
+
+        MapBindingResult errors = new MapBindingResult(new HashMap<>(), "eventRequestDto");
+        for (int i = 0; i < this.errorCount; i++) {
+            errors.rejectValue("field" + i, "wrongValue", "field" + i + " is wrong");
+        }
+        errors.reject("wrongEvent", "event is wrong");
+        this.errorsResource = new ErrorsResource(errors);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.context.close();
+    }
+
+    @Benchmark
+    public byte[] errorsResource() throws JsonProcessingException {
+        return this.objectMapper.writeValueAsBytes(this.errorsResource);
+    }
+}
@@ -0,0 +1,74 @@
+package io.namjune.basicrestapi.events;
+
+import io.namjune.basicrestapi.common.BenchmarkApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 이벤트를 한 건씩 저장(POST /api/events 를 여러번 호출하는 경우)하는 것과
+ * 일괄 생성(POST /api/events/batch)처럼 한 트랜잭션에서 JDBC 배치로 저장하는 것의 비교
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventBatchInsertBenchmark {
+
+    @Param({"100", "1000"})
+    int count;
+
+    ConfigurableApplicationContext context;
+    EventRepository eventRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.context = BenchmarkApplication.run();
+        this.eventRepository = this.context.getBean(EventRepository.class);
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteEvents() {
+        this.eventRepository.deleteAllInBatch();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.context.close();
+    }
+
+    @Benchmark
+    public void saveOneByOne() {
+        // 매번 별도 트랜잭션에서 insert 1건씩
+        newEvents().forEach(this.eventRepository::save);
+    }
+
+    @Benchmark
+    public List<Event> saveAll() {
+        return this.eventRepository.saveAll(newEvents());
+    }
+
+    private List<Event> newEvents() {
+        return IntStream.range(0, this.count)
+            .mapToObj(i -> EventFixtures.event(null, null))
+            .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,84 @@
+package io.namjune.basicrestapi.events;
+
+import io.namjune.basicrestapi.common.BenchmarkApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 이벤트 내보내기(GET /api/events/export) 의 처리 시간
+ *
+ * 건수가 늘어도 힙 사용량이 일정한지는 -prof gc 로 함께 확인한다.
+ * ex) ./gradlew jmh -Pjmh.include=EventExportBenchmark -Pjmh.args='-prof gc'
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx256m")
+public class EventExportBenchmark {
+
+    @Param({"100000", "1000000"})
+    int count;
+
+    ConfigurableApplicationContext context;
+    EventExporter eventExporter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.context = BenchmarkApplication.run();
+        this.eventExporter = this.context.getBean(EventExporter.class);
+        // 엔티티를 거치지 않고 DB 에서 바로 만든다
+        this.context.getBean(JdbcTemplate.class).update(
+            "INSERT INTO event (id, name, description, begin_enrollment_date_time, close_enrollment_date_time,"
+                + " begin_event_date_time, end_event_date_time, location, base_price, max_price, limit_of_enrollment,"
+                + " offline, free, event_status, version)"
+                + " SELECT x, 'event ' || x, 'REST API, \"Basic\"', NOW(), NOW(), NOW(), NOW(), '강남역', 100, 200, 100,"
+                + " TRUE, FALSE, 'DRAFT', 0 FROM SYSTEM_RANGE(1, ?)", this.count);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.context.close();
+    }
+
+    @Benchmark
+    public long ndjson() throws IOException {
+        return this.eventExporter.export(EventExportFormat.NDJSON, NullOutputStream.INSTANCE);
+    }
+
+    @Benchmark
+    public long csv() throws IOException {
+        return this.eventExporter.export(EventExportFormat.CSV, NullOutputStream.INSTANCE);
+    }
+
+    private static class NullOutputStream extends OutputStream {
+
+        static final NullOutputStream INSTANCE = new NullOutputStream();
+
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    }
+}
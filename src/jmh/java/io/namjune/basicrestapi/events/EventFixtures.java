@@ -0,0 +1,49 @@
+package io.namjune.basicrestapi.events;
+
+import io.namjune.basicrestapi.accounts.Account;
+
+import java.time.LocalDateTime;
+
+/**
+ * 벤치마크에서 공통으로 사용하는 이벤트 데이터. 테스트의 buildEvent 와 같은 값을 사용한다.
+ */
+final class EventFixtures {
+
+    private EventFixtures() {
+    }
+
+    static EventRequestDto requestDto() {
+        return EventRequestDto.builder()
+            .name("REST API with Spring")
+            .description("REST API Basic")
+            .beginEnrollmentDateTime(LocalDateTime.of(2019, 5, 6, 17, 0, 0))
+            .closeEnrollmentDateTime(LocalDateTime.of(2019, 5, 9, 17, 0, 0))
+            .beginEventDateTime(LocalDateTime.of(2019, 5, 10, 17, 0, 0))
+            .endEventDateTime(LocalDateTime.of(2019, 5, 13, 17, 0, 0))
+            .basePrice(100)
+            .maxPrice(200)
+            .limitOfEnrollment(100)
+            .location("서울대입구")
+            .build();
+    }
+
+    static Event event(Long id, Account manager) {
+        return Event.builder()
+            .id(id)
+            .name("event " + id)
+            .description("benchmark event")
+            .beginEnrollmentDateTime(LocalDateTime.of(2019, 5, 6, 17, 0, 0))
+            .closeEnrollmentDateTime(LocalDateTime.of(2019, 5, 9, 17, 0, 0))
+            .beginEventDateTime(LocalDateTime.of(2019, 5, 10, 17, 0, 0))
+            .endEventDateTime(LocalDateTime.of(2019, 5, 13, 17, 0, 0))
+            .basePrice(100)
+            .maxPrice(200)
+            .limitOfEnrollment(100)
+            .location("서울대입구")
+            .free(false)
+            .offline(true)
+            .eventStatus(EventStatus.DRAFT)
+            .manager(manager)
+            .build();
+    }
+}
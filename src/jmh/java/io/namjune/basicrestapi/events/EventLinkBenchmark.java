@@ -0,0 +1,77 @@
+package io.namjune.basicrestapi.events;
+
+import static org.springframework.hateoas.mvc.ControllerLinkBuilder.linkTo;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.hateoas.Resource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * 이벤트 목록 한 페이지의 self 링크를 만드는 비용
+ *
+ * 매 측정마다 새 요청을 바인딩하기 때문에 LinkTemplates 쪽도 페이지마다 linkTo 를 한번은 해석한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventLinkBenchmark {
+
+    @Param({"100"})
+    int size;
+
+    List<Event> events;
+
+    @Setup
+    public void setUp() {
+        this.events = LongStream.rangeClosed(1, this.size)
+            .mapToObj(id -> Event.builder().id(id).name("event " + id).build())
+            .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Resource<Event>> linkToPerEvent() {
+        return inRequest(e -> {
+            Resource<Event> resource = new Resource<>(e);
+            resource.add(linkTo(EventController.class).slash(e.getId()).withSelfRel());
+            return resource;
+        });
+    }
+
+    @Benchmark
+    public List<Resource<Event>> linkTemplates() {
+        return inRequest(EventResource::new);
+    }
+
+    private List<Resource<Event>> inRequest(Function<Event, Resource<Event>> toResource) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/events");
+        request.setServerName("api.example.com");
+        request.addHeader("X-Forwarded-Proto", "https");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        try {
+            return this.events.stream().map(toResource).collect(Collectors.toList());
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+}
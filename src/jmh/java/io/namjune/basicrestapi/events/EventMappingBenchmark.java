@@ -0,0 +1,64 @@
+package io.namjune.basicrestapi.events;
+
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EventRequestDto -> Event 매핑 비용
+ *
+ * AppConfig 처럼 ModelMapper 하나를 계속 재사용하는 경우와 MapStruct 로 생성한 EventMapper 를 비교한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventMappingBenchmark {
+
+    ModelMapper modelMapper;
+    EventMapper eventMapper;
+    EventRequestDto eventRequestDto;
+    Event existingEvent;
+
+    @Setup
+    public void setUp() {
+        this.modelMapper = new ModelMapper();
+        this.eventMapper = new EventMapperImpl();
+        this.eventRequestDto = EventFixtures.requestDto();
+        this.existingEvent = EventFixtures.event(1L, null);
+    }
+
+    @Benchmark
+    public Event modelMapperCreate() {
+        return this.modelMapper.map(this.eventRequestDto, Event.class);
+    }
+
+    @Benchmark
+    public Event modelMapperUpdate() {
+        this.modelMapper.map(this.eventRequestDto, this.existingEvent);
+        return this.existingEvent;
+    }
+
+    @Benchmark
+    public Event mapStructCreate() {
+        return this.eventMapper.toEvent(this.eventRequestDto);
+    }
+
+    @Benchmark
+    public Event mapStructUpdate() {
+        this.eventMapper.updateEvent(this.eventRequestDto, this.existingEvent);
+        return this.existingEvent;
+    }
+}
@@ -0,0 +1,76 @@
+package io.namjune.basicrestapi.events;
+
+import io.namjune.basicrestapi.common.BenchmarkApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 역색인 검색(EventSearchIndex) 과 LIKE '%q%' 검색의 비교
+ *
+ * 검색어는 이벤트 1000 건 중 1 건에 들어있다. LIKE 는 이벤트 수에 비례해서 느려지고,
+ * 역색인은 검색어가 들어있는 이벤트 수에만 비례한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventSearchBenchmark {
+
+    private static final String QUERY = "topic42";
+
+    @Param({"10000", "100000"})
+    int count;
+
+    ConfigurableApplicationContext context;
+    EventSearchIndex eventSearchIndex;
+    JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.context = BenchmarkApplication.run();
+        this.eventSearchIndex = this.context.getBean(EventSearchIndex.class);
+        this.jdbcTemplate = this.context.getBean(JdbcTemplate.class);
+        this.jdbcTemplate.update(
+            "INSERT INTO event (id, name, description, location, base_price, max_price, limit_of_enrollment,"
+                + " offline, free, event_status, version)"
+                + " SELECT x, 'event ' || x, 'Spring REST API topic' || MOD(x, 1000) || ' 스터디', '강남역', 100, 200, 100,"
+                + " TRUE, FALSE, 'DRAFT', 0 FROM SYSTEM_RANGE(1, ?)", this.count);
+        this.eventSearchIndex.rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.context.close();
+    }
+
+    @Benchmark
+    public List<EventSearchIndex.Hit> invertedIndex() {
+        return this.eventSearchIndex.search(QUERY);
+    }
+
+    @Benchmark
+    public List<Long> like() {
+        String pattern = "%" + QUERY + "%";
+        return this.jdbcTemplate.queryForList(
+            "SELECT id FROM event WHERE LOWER(name) LIKE ? OR LOWER(description) LIKE ? OR LOWER(location) LIKE ?",
+            Long.class, pattern, pattern, pattern);
+    }
+}
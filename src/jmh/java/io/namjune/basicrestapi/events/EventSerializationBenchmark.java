@@ -0,0 +1,80 @@
+package io.namjune.basicrestapi.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.namjune.basicrestapi.accounts.Account;
+import io.namjune.basicrestapi.common.BenchmarkApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedResources;
+import org.springframework.hateoas.Resource;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * EventResource, 이벤트 목록 페이지(PagedResources) 직렬화 비용
+ *
+ * 애플리케이션이 HAL 응답에 사용하는 ObjectMapper 를 그대로 사용한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventSerializationBenchmark {
+
+    @Param({"10", "100"})
+    int size;
+
+    ConfigurableApplicationContext context;
+    ObjectMapper objectMapper;
+    EventResource eventResource;
+    PagedResources<Resource<Event>> pagedResources;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.context = BenchmarkApplication.run();
+        this.objectMapper = BenchmarkApplication.halObjectMapper(this.context);
+
+        Account manager = Account.builder().id(1L).email("user@gmail.com").build();
+        this.eventResource = new EventResource(EventFixtures.event(1L, manager));
+
+        List<Resource<Event>> content = LongStream.rangeClosed(1, this.size)
+            .mapToObj(id -> (Resource<Event>) new EventResource(EventFixtures.event(id, manager)))
+            .collect(Collectors.toList());
+        this.pagedResources = new PagedResources<>(content, new PagedResources.PageMetadata(this.size, 0, this.size * 10L));
+        this.pagedResources.add(new Link("/docs/index.html#resources-events-list").withRel("profile"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.context.close();
+    }
+
+    @Benchmark
+    public byte[] eventResource() throws JsonProcessingException {
+        return this.objectMapper.writeValueAsBytes(this.eventResource);
+    }
+
+    @Benchmark
+    public byte[] pagedResources() throws JsonProcessingException {
+        return this.objectMapper.writeValueAsBytes(this.pagedResources);
+    }
+}
@@ -0,0 +1,56 @@
+package io.namjune.basicrestapi.events;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EventValidator.validate 비용. 에러가 없는 경우와 rejectValue 로 에러를 만드는 경우를 나눠서 잰다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventValidatorBenchmark {
+
+    EventValidator eventValidator;
+    EventRequestDto validRequest;
+    EventRequestDto wrongPriceRequest;
+
+    @Setup
+    public void setUp() {
+        this.eventValidator = new EventValidator();
+        this.validRequest = EventFixtures.requestDto();
+        this.wrongPriceRequest = EventFixtures.requestDto();
+        this.wrongPriceRequest.setBasePrice(10000);
+    }
+
+    @Benchmark
+    public Errors valid() {
+        return validate(this.validRequest);
+    }
+
+    @Benchmark
+    public Errors wrongPrice() {
+        return validate(this.wrongPriceRequest);
+    }
+
+    private Errors validate(EventRequestDto eventRequestDto) {
+        Errors errors = new BeanPropertyBindingResult(eventRequestDto, "eventRequestDto");
+        this.eventValidator.validate(eventRequestDto, errors);
+        return errors;
+    }
+}
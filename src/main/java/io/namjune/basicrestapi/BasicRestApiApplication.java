@@ -1,5 +1,6 @@
 package io.namjune.basicrestapi;
 
+import io.namjune.basicrestapi.common.StartupTimeline;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
@@ -7,7 +8,9 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 public class BasicRestApiApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(BasicRestApiApplication.class, args);
+        SpringApplication application = new SpringApplication(BasicRestApiApplication.class);
+        StartupTimeline.register(application);
+        application.run(args);
     }
 
 }
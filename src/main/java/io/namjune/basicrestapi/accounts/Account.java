@@ -15,6 +15,7 @@ import javax.persistence.Enumerated;
 import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
+import java.io.Serializable;
 import java.util.Set;
 
 @Entity
@@ -24,7 +25,8 @@ import java.util.Set;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class Account {
+// JdbcTokenStore 는 인증 정보(AccountAdapter)를 직렬화해서 저장하기 때문에 Serializable 이어야 한다.
+public class Account implements Serializable {
 
     @Id
     @GeneratedValue
@@ -17,6 +17,11 @@ public class AccountAdapter extends User {
 
     private Account account;
 
+    // 캐시된 AccountPrincipal 로 만들 때는 매번 새 Account 를 만들어서, 컨트롤러에서 바꿔도 캐시에 영향이 없게 한다.
+    public AccountAdapter(AccountPrincipal principal) {
+        this(principal.toAccount());
+    }
+
     public AccountAdapter(Account account) {
         super(account.getEmail(), account.getPassword(), authorities(account.getRoles()));
         this.account = account;
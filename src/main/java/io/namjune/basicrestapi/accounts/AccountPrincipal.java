@@ -0,0 +1,46 @@
+package io.namjune.basicrestapi.accounts;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+/**
+ * 인증에 필요한 계정 정보(id, 이메일, 인코딩된 패스워드, roles)의 불변 사본. principals 캐시에 저장한다.
+ * 캐시에 Account 엔티티를 그대로 넣으면 꺼내 간 쪽에서 값을 바꿨을 때 캐시된 계정까지 바뀌기 때문에 값만 복사해서 둔다.
+ */
+@Value
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class AccountPrincipal implements Serializable {
+
+    private final Long id;
+    private final String email;
+    private final String password;
+    private final Set<AccountRole> roles;
+
+    public static AccountPrincipal of(Account account) {
+        return new AccountPrincipal(account.getId(), account.getEmail(), account.getPassword(),
+            Collections.unmodifiableSet(copyOf(account.getRoles())));
+    }
+
+    // 호출할 때마다 새 Account 를 만든다. 받은 쪽에서 바꿔도 캐시에는 영향이 없다.
+    public Account toAccount() {
+        return Account.builder()
+            .id(this.id)
+            .email(this.email)
+            .password(this.password)
+            .roles(copyOf(this.roles))
+            .build();
+    }
+
+    private static Set<AccountRole> copyOf(Set<AccountRole> roles) {
+        Set<AccountRole> copy = EnumSet.noneOf(AccountRole.class);
+        if (roles != null) {
+            copy.addAll(roles);
+        }
+        return copy;
+    }
+}
@@ -1,11 +1,37 @@
 package io.namjune.basicrestapi.accounts;
 
 import java.util.Optional;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface AccountRepository extends JpaRepository<Account, Long> {
 
+    String PRINCIPALS_CACHE = "principals";
+
+    // roles 까지 한번의 조인 쿼리로 읽는다.
+    @EntityGraph(attributePaths = "roles")
     Optional<Account> findByEmail(String username);
+
+    /**
+     * 로그인, 토큰 갱신마다 호출되기 때문에 이메일을 키로 캐시한다.
+     * 엔티티 대신 불변 사본(AccountPrincipal)을 캐시해서, 꺼내 간 쪽에서 값을 바꿔도 캐시된 계정은 바뀌지 않는다.
+     * 계정이 바뀌면 AccountService.savePasswordEncodedAccount 에서 캐시를 지운다.
+     * 없는 계정은 캐시하지 않는다.
+     */
+    @Cacheable(cacheNames = PRINCIPALS_CACHE, key = "#p0", unless = "#result == null")
+    default Optional<AccountPrincipal> findPrincipalByEmail(String username) {
+        return findByEmail(username).map(AccountPrincipal::of);
+    }
+
+    // 이메일이 바뀌는 경우 이전 이메일로 캐시된 계정을 지우기 위해 사용한다.(AccountService)
+    @Query("select a.email from Account a where a.id = :id")
+    Optional<String> findEmailById(@Param("id") Long id);
+
+    // 초기 계정이 이미 있으면 비밀번호 인코딩과 저장을 건너뛰기 위해 사용한다.(AppConfig)
+    boolean existsByEmail(String email);
 }
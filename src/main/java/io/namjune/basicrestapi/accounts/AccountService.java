@@ -1,6 +1,10 @@
 package io.namjune.basicrestapi.accounts;
 
+import io.namjune.basicrestapi.common.ReadYourWrites;
+import io.namjune.basicrestapi.common.ReplicaRoutingDataSource;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
@@ -9,9 +13,12 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collection;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -20,32 +27,54 @@ public class AccountService implements UserDetailsService {
 
     private final AccountRepository accountRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ReadYourWrites readYourWrites;
+    private final CacheManager cacheManager;
 
     /**
      * 시큐리티 설정에서 AuthenticationManager 를 만들때 PasswordEncoder 를 사용하기 때문에
      * Account 를 만들때도 encoding이 필요하다.
      *
+     * 계정 정보가 바뀌므로 이메일로 캐시된 계정을 지운다. 이메일이 바뀌었으면 저장되어 있던 이전 이메일의 캐시도 지운다.
+     * 저장하자마자 로그인할 수 있도록 잠시 동안은 주 DB 에서 계정을 읽는다.
+     *
      * @param account
      * @return Account
      */
     public Account savePasswordEncodedAccount(Account account) {
         account.setPassword(this.passwordEncoder.encode(account.getPassword()));
 
-        return accountRepository.save(account);
+        Optional<String> previousEmail = account.getId() == null
+            ? Optional.empty()
+            : this.accountRepository.findEmailById(account.getId());
+        Account savedAccount = accountRepository.save(account);
+
+        Cache principals = this.cacheManager.getCache(AccountRepository.PRINCIPALS_CACHE);
+        if (principals != null) {
+            principals.evict(savedAccount.getEmail());
+            previousEmail.filter(email -> !email.equals(savedAccount.getEmail())).ifPresent(principals::evict);
+        }
+        this.readYourWrites.wrote(savedAccount.getEmail());
+        return savedAccount;
     }
 
     /**
      * 우리가 사용하는 도메인을 스프링 시큐리티가 사용하는 UserDetails 로 변환하는 작업
+     * 복제 DB 가 있으면 복제 DB 에서 읽는다.
      *
      * @param username Account 이메일
      * @return UserDetails
      */
     @Override
+    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        Account account = this.accountRepository.findByEmail(username)
-            .orElseThrow(() -> new UsernameNotFoundException(username));
+        Supplier<Optional<AccountPrincipal>> findPrincipal = () -> this.accountRepository.findPrincipalByEmail(username);
+        Optional<AccountPrincipal> optionalPrincipal = this.readYourWrites.isPinned(username)
+            ? findPrincipal.get()
+            : ReplicaRoutingDataSource.readFromReplica(findPrincipal);
+        AccountPrincipal principal = optionalPrincipal.orElseThrow(() -> new UsernameNotFoundException(username));
 
         // 스프링 시큐리티의 User 대신 Account 엔티티를 바로 받을 수 있게 하는 어댑터 리턴
-        return new AccountAdapter(account);
+        // 인증이 끝나면 ProviderManager 가 리턴한 UserDetails 의 password 를 지우기 때문에, 어댑터는 캐시하지 않고 매번 새로 만든다.
+        return new AccountAdapter(principal);
     }
 }
@@ -0,0 +1,306 @@
+package io.namjune.basicrestapi.accounts;
+
+import org.springframework.security.oauth2.common.ExpiringOAuth2RefreshToken;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.common.OAuth2RefreshToken;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.token.AuthenticationKeyGenerator;
+import org.springframework.security.oauth2.provider.token.DefaultAuthenticationKeyGenerator;
+import org.springframework.security.oauth2.provider.token.TokenStore;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 메모리 상한이 있는 토큰 저장소
+ *
+ * InMemoryTokenStore 는 토큰이 만료되어도 일정 횟수마다 한번에 flush 할 때까지 맵에 남아있고, 저장할 수 있는 토큰 수에 제한이 없다.
+ * 이 저장소는
+ * 1. 모든 맵을 ConcurrentHashMap 으로 두어서 읽기는 락 없이, 쓰기는 버킷 단위 락으로만 처리한다.
+ * 2. 토큰을 만료 시각 순서로 정렬한 인덱스(ConcurrentSkipListSet)를 두고, 저장할 때마다 만료된 토큰을 앞에서부터 조금씩(SWEEP_BATCH_SIZE) 지운다.
+ * 3. 액세스 토큰, 리프레시 토큰이 각각 maxTokens 를 넘으면 가장 먼저 만료될 토큰부터 지운다.
+ *
+ * findTokensByClientId, findTokensByClientIdAndUserName 은 관리용 조회이므로 별도 인덱스 없이 전체를 훑는다.
+ */
+public class BoundedTokenStore implements TokenStore {
+
+    static final int SWEEP_BATCH_SIZE = 16;
+
+    private final int maxTokens;
+
+    private final ConcurrentMap<String, AccessTokenEntry> accessTokens = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, String> accessTokensByAuthentication = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, RefreshTokenEntry> refreshTokens = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, String> accessToRefreshToken = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, String> refreshToAccessToken = new ConcurrentHashMap<>();
+
+    private final NavigableSet<Expiry> accessTokenExpiries = new ConcurrentSkipListSet<>();
+    private final NavigableSet<Expiry> refreshTokenExpiries = new ConcurrentSkipListSet<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private AuthenticationKeyGenerator authenticationKeyGenerator = new DefaultAuthenticationKeyGenerator();
+
+    public BoundedTokenStore(int maxTokens) {
+        if (maxTokens < 1) {
+            throw new IllegalArgumentException("maxTokens must be positive: " + maxTokens);
+        }
+        this.maxTokens = maxTokens;
+    }
+
+    public void setAuthenticationKeyGenerator(AuthenticationKeyGenerator authenticationKeyGenerator) {
+        this.authenticationKeyGenerator = authenticationKeyGenerator;
+    }
+
+    public int getAccessTokenCount() {
+        return this.accessTokens.size();
+    }
+
+    public int getRefreshTokenCount() {
+        return this.refreshTokens.size();
+    }
+
+    @Override
+    public OAuth2Authentication readAuthentication(OAuth2AccessToken token) {
+        return readAuthentication(token.getValue());
+    }
+
+    @Override
+    public OAuth2Authentication readAuthentication(String token) {
+        AccessTokenEntry entry = this.accessTokens.get(token);
+        return entry == null ? null : entry.authentication;
+    }
+
+    @Override
+    public void storeAccessToken(OAuth2AccessToken token, OAuth2Authentication authentication) {
+        sweepExpiredTokens();
+
+        String value = token.getValue();
+        String authenticationKey = this.authenticationKeyGenerator.extractKey(authentication);
+        AccessTokenEntry entry = new AccessTokenEntry(token, authentication, authenticationKey, newExpiry(value, token.getExpiration()));
+
+        AccessTokenEntry previous = this.accessTokens.put(value, entry);
+        if (previous != null) {
+            this.accessTokenExpiries.remove(previous.expiry);
+        }
+        this.accessTokenExpiries.add(entry.expiry);
+        this.accessTokensByAuthentication.put(authenticationKey, value);
+
+        OAuth2RefreshToken refreshToken = token.getRefreshToken();
+        if (refreshToken != null && refreshToken.getValue() != null) {
+            this.refreshToAccessToken.put(refreshToken.getValue(), value);
+            this.accessToRefreshToken.put(value, refreshToken.getValue());
+        }
+
+        evictOverflow(this.accessTokens, this.accessTokenExpiries, this::removeAccessToken);
+    }
+
+    @Override
+    public OAuth2AccessToken readAccessToken(String tokenValue) {
+        AccessTokenEntry entry = this.accessTokens.get(tokenValue);
+        return entry == null ? null : entry.token;
+    }
+
+    @Override
+    public void removeAccessToken(OAuth2AccessToken token) {
+        removeAccessToken(token.getValue());
+    }
+
+    private void removeAccessToken(String tokenValue) {
+        AccessTokenEntry entry = this.accessTokens.get(tokenValue);
+        if (entry != null) {
+            removeAccessToken(tokenValue, entry);
+        }
+    }
+
+    // 다른 스레드가 같은 값으로 다시 저장한 토큰은 지우지 않도록 엔트리까지 같을 때만 지운다.
+    private void removeAccessToken(String tokenValue, AccessTokenEntry entry) {
+        if (!this.accessTokens.remove(tokenValue, entry)) {
+            return;
+        }
+        this.accessTokenExpiries.remove(entry.expiry);
+        this.accessTokensByAuthentication.remove(entry.authenticationKey, tokenValue);
+        String refreshTokenValue = this.accessToRefreshToken.remove(tokenValue);
+        if (refreshTokenValue != null) {
+            this.refreshToAccessToken.remove(refreshTokenValue, tokenValue);
+        }
+    }
+
+    @Override
+    public void storeRefreshToken(OAuth2RefreshToken refreshToken, OAuth2Authentication authentication) {
+        sweepExpiredTokens();
+
+        String value = refreshToken.getValue();
+        Date expiration = refreshToken instanceof ExpiringOAuth2RefreshToken
+            ? ((ExpiringOAuth2RefreshToken) refreshToken).getExpiration()
+            : null;
+        RefreshTokenEntry entry = new RefreshTokenEntry(refreshToken, authentication, newExpiry(value, expiration));
+
+        RefreshTokenEntry previous = this.refreshTokens.put(value, entry);
+        if (previous != null) {
+            this.refreshTokenExpiries.remove(previous.expiry);
+        }
+        this.refreshTokenExpiries.add(entry.expiry);
+
+        evictOverflow(this.refreshTokens, this.refreshTokenExpiries, this::removeRefreshToken);
+    }
+
+    @Override
+    public OAuth2RefreshToken readRefreshToken(String tokenValue) {
+        RefreshTokenEntry entry = this.refreshTokens.get(tokenValue);
+        return entry == null ? null : entry.token;
+    }
+
+    @Override
+    public OAuth2Authentication readAuthenticationForRefreshToken(OAuth2RefreshToken token) {
+        RefreshTokenEntry entry = this.refreshTokens.get(token.getValue());
+        return entry == null ? null : entry.authentication;
+    }
+
+    @Override
+    public void removeRefreshToken(OAuth2RefreshToken token) {
+        removeRefreshToken(token.getValue());
+    }
+
+    private void removeRefreshToken(String tokenValue) {
+        RefreshTokenEntry entry = this.refreshTokens.get(tokenValue);
+        if (entry != null && this.refreshTokens.remove(tokenValue, entry)) {
+            this.refreshTokenExpiries.remove(entry.expiry);
+            this.refreshToAccessToken.remove(tokenValue);
+        }
+    }
+
+    @Override
+    public void removeAccessTokenUsingRefreshToken(OAuth2RefreshToken refreshToken) {
+        String accessTokenValue = this.refreshToAccessToken.remove(refreshToken.getValue());
+        if (accessTokenValue != null) {
+            removeAccessToken(accessTokenValue);
+        }
+    }
+
+    @Override
+    public OAuth2AccessToken getAccessToken(OAuth2Authentication authentication) {
+        String authenticationKey = this.authenticationKeyGenerator.extractKey(authentication);
+        String tokenValue = this.accessTokensByAuthentication.get(authenticationKey);
+        return tokenValue == null ? null : readAccessToken(tokenValue);
+    }
+
+    @Override
+    public Collection<OAuth2AccessToken> findTokensByClientIdAndUserName(String clientId, String userName) {
+        return this.accessTokens.values().stream()
+            .filter(e -> Objects.equals(clientId, e.authentication.getOAuth2Request().getClientId()))
+            .filter(e -> !e.authentication.isClientOnly() && Objects.equals(userName, e.authentication.getName()))
+            .map(e -> e.token)
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public Collection<OAuth2AccessToken> findTokensByClientId(String clientId) {
+        return this.accessTokens.values().stream()
+            .filter(e -> Objects.equals(clientId, e.authentication.getOAuth2Request().getClientId()))
+            .map(e -> e.token)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * 만료 인덱스의 앞쪽에서 이미 만료된 토큰을 최대 SWEEP_BATCH_SIZE 개까지만 지운다.
+     * 토큰은 저장할 때만 늘어나므로, 저장할 때마다 조금씩 지우면 한번에 전체를 훑지 않고도 만료된 토큰이 쌓이지 않는다.
+     */
+    void sweepExpiredTokens() {
+        long now = System.currentTimeMillis();
+        sweep(this.accessTokenExpiries, now, this::removeAccessToken);
+        sweep(this.refreshTokenExpiries, now, this::removeRefreshToken);
+    }
+
+    private static void sweep(NavigableSet<Expiry> expiries, long now, TokenRemover remover) {
+        Iterator<Expiry> iterator = expiries.iterator();
+        int removed = 0;
+        while (removed < SWEEP_BATCH_SIZE && iterator.hasNext()) {
+            Expiry expiry = iterator.next();
+            if (expiry.expiresAt > now) {
+                return;
+            }
+            // 인덱스에서 지우는 데 성공한 스레드만 토큰을 지운다.
+            if (expiries.remove(expiry)) {
+                remover.remove(expiry.tokenValue);
+                removed++;
+            }
+        }
+    }
+
+    // 상한을 넘으면 아직 만료되지 않았더라도 가장 먼저 만료될 토큰부터 지운다.
+    private void evictOverflow(ConcurrentMap<String, ?> tokens, NavigableSet<Expiry> expiries, TokenRemover remover) {
+        while (tokens.size() > this.maxTokens) {
+            Expiry soonest = expiries.pollFirst();
+            if (soonest == null) {
+                return;
+            }
+            remover.remove(soonest.tokenValue);
+        }
+    }
+
+    private Expiry newExpiry(String tokenValue, Date expiration) {
+        long expiresAt = expiration == null ? Long.MAX_VALUE : expiration.getTime();
+        return new Expiry(expiresAt, this.sequence.incrementAndGet(), tokenValue);
+    }
+
+    @FunctionalInterface
+    private interface TokenRemover {
+        void remove(String tokenValue);
+    }
+
+    private static final class AccessTokenEntry {
+        private final OAuth2AccessToken token;
+        private final OAuth2Authentication authentication;
+        private final String authenticationKey;
+        private final Expiry expiry;
+
+        private AccessTokenEntry(OAuth2AccessToken token, OAuth2Authentication authentication,
+                                 String authenticationKey, Expiry expiry) {
+            this.token = token;
+            this.authentication = authentication;
+            this.authenticationKey = authenticationKey;
+            this.expiry = expiry;
+        }
+    }
+
+    private static final class RefreshTokenEntry {
+        private final OAuth2RefreshToken token;
+        private final OAuth2Authentication authentication;
+        private final Expiry expiry;
+
+        private RefreshTokenEntry(OAuth2RefreshToken token, OAuth2Authentication authentication, Expiry expiry) {
+            this.token = token;
+            this.authentication = authentication;
+            this.expiry = expiry;
+        }
+    }
+
+    /**
+     * 만료 인덱스의 원소. 만료 시각이 같은 토큰끼리는 저장 순서(sequence)로 구분한다.
+     */
+    private static final class Expiry implements Comparable<Expiry> {
+        private final long expiresAt;
+        private final long sequence;
+        private final String tokenValue;
+
+        private Expiry(long expiresAt, long sequence, String tokenValue) {
+            this.expiresAt = expiresAt;
+            this.sequence = sequence;
+            this.tokenValue = tokenValue;
+        }
+
+        @Override
+        public int compareTo(Expiry other) {
+            int result = Long.compare(this.expiresAt, other.expiresAt);
+            return result != 0 ? result : Long.compare(this.sequence, other.sequence);
+        }
+    }
+}
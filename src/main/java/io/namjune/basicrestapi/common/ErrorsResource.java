@@ -19,8 +19,11 @@ import org.springframework.validation.Errors;
  */
 public class ErrorsResource extends Resource<Errors> {
 
+    private static final String INDEX_LINK_KEY = "IndexController#index";
+
     public ErrorsResource(Errors content, Link... links) {
         super(content, links);
-        add(linkTo(methodOn(IndexController.class).index()).withRel("index"));
+        // methodOn 은 호출할 때마다 프록시를 만들기 때문에 요청 안에서는 한번만 만든다.
+        add(new Link(LinkTemplates.href(INDEX_LINK_KEY, () -> linkTo(methodOn(IndexController.class).index()).toString()), "index"));
     }
 }
@@ -0,0 +1,147 @@
+package io.namjune.basicrestapi.common;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 계층형 타이머 휠(hierarchical timer wheel)
+ *
+ * 만료 시각을 tick 단위로 나누고, 2^wheelBits 칸짜리 바퀴를 levels 단 쌓아서 보관한다.
+ * 가까운 항목은 아래 단(1 tick 단위)에, 먼 항목은 위 단(2^wheelBits tick, 2^(2 * wheelBits) tick ... 단위)에 넣고,
+ * 아래 단이 한바퀴 돌 때마다 위 단의 칸 하나를 아래 단으로 다시 나눠 넣는다(cascade).
+ * 넣기는 O(1), 시간을 진행할 때는 지나간 칸만 보므로 항목 수와 관계없이 tick 수에 비례한다.
+ *
+ * 가장 위 단으로도 표현할 수 없는 먼 항목은 overflow 목록에 두고, 가장 위 단이 한칸 넘어갈 때마다 다시 넣는다.
+ * 스레드 안전하지 않으므로 사용하는 쪽에서 동기화한다.
+ *
+ * @param <T> 만료될 때 돌려받을 항목
+ */
+public class HierarchicalTimerWheel<T> {
+
+    private final long tickMillis;
+    private final int wheelBits;
+    private final int levels;
+    private final int mask;
+    private final List<List<Entry<T>>[]> wheels = new ArrayList<>();
+    private List<Entry<T>> overflow = new ArrayList<>();
+    // 다음에 처리할 tick
+    private long nextTick;
+    private int size;
+
+    /**
+     * @param tickMillis 한칸의 시간(ms)
+     * @param wheelBits  바퀴 하나의 칸 수(2^wheelBits)
+     * @param levels     바퀴 단 수
+     * @param nowMillis  현재 시각(epoch ms)
+     */
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimerWheel(long tickMillis, int wheelBits, int levels, long nowMillis) {
+        if (tickMillis < 1 || wheelBits < 1 || levels < 1 || (long) wheelBits * levels > 62) {
+            throw new IllegalArgumentException("tickMillis, wheelBits and levels must be positive and fit in 62 bits");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelBits = wheelBits;
+        this.levels = levels;
+        this.mask = (1 << wheelBits) - 1;
+        for (int level = 0; level < levels; level++) {
+            List<Entry<T>>[] slots = new List[1 << wheelBits];
+            for (int slot = 0; slot < slots.length; slot++) {
+                slots[slot] = new ArrayList<>();
+            }
+            this.wheels.add(slots);
+        }
+        this.nextTick = Math.floorDiv(nowMillis, tickMillis) + 1;
+    }
+
+    private static class Entry<T> {
+        private final long tick;
+        private final T item;
+
+        Entry(long tick, T item) {
+            this.tick = tick;
+            this.item = item;
+        }
+    }
+
+    /**
+     * 만료 시각이 이미 지났으면 다음 advance 에서 바로 만료된다.
+     *
+     * @param deadlineMillis 만료 시각(epoch ms)
+     * @param item           항목
+     */
+    public void schedule(long deadlineMillis, T item) {
+        // 만료 시각을 올림해서 만료 시각보다 일찍 꺼내지 않는다.
+        long tick = Math.max(this.nextTick, Math.floorDiv(deadlineMillis + this.tickMillis - 1, this.tickMillis));
+        place(new Entry<>(tick, item));
+        this.size++;
+    }
+
+    /**
+     * nowMillis 까지 시간을 진행하고, 만료된 항목을 만료 시각 순서로 expired 에 넘긴다.
+     *
+     * @param nowMillis 현재 시각(epoch ms). 이전에 넘긴 시각보다 작으면 아무것도 하지 않는다.
+     * @param expired   만료된 항목을 받는 함수
+     */
+    public void advance(long nowMillis, Consumer<T> expired) {
+        long target = Math.floorDiv(nowMillis, this.tickMillis);
+        while (this.nextTick <= target) {
+            long tick = this.nextTick;
+            int index = (int) (tick & this.mask);
+            if (index == 0) {
+                cascade(tick);
+            }
+
+            List<Entry<T>>[] slots = this.wheels.get(0);
+            List<Entry<T>> due = slots[index];
+            if (!due.isEmpty()) {
+                slots[index] = new ArrayList<>();
+                this.size -= due.size();
+                for (Entry<T> entry : due) {
+                    expired.accept(entry.item);
+                }
+            }
+            this.nextTick++;
+        }
+    }
+
+    /**
+     * @return 아직 만료되지 않은 항목 수
+     */
+    public int size() {
+        return this.size;
+    }
+
+    // 아래 단이 한바퀴 돌았으면 위 단의 현재 칸을 아래 단으로 나눠 넣는다. 위 단도 한바퀴 돌았으면 그 위 단도 같이.
+    private void cascade(long tick) {
+        for (int level = 1; level < this.levels; level++) {
+            int index = (int) ((tick >>> (this.wheelBits * level)) & this.mask);
+            List<Entry<T>>[] slots = this.wheels.get(level);
+            List<Entry<T>> entries = slots[index];
+            if (!entries.isEmpty()) {
+                slots[index] = new ArrayList<>();
+                entries.forEach(this::place);
+            }
+            if (index != 0) {
+                return;
+            }
+        }
+        if (!this.overflow.isEmpty()) {
+            List<Entry<T>> entries = this.overflow;
+            this.overflow = new ArrayList<>();
+            entries.forEach(this::place);
+        }
+    }
+
+    private void place(Entry<T> entry) {
+        long delta = entry.tick - this.nextTick;
+        for (int level = 0; level < this.levels; level++) {
+            if (delta < 1L << (this.wheelBits * (level + 1))) {
+                int index = (int) ((entry.tick >>> (this.wheelBits * level)) & this.mask);
+                this.wheels.get(level)[index].add(entry);
+                return;
+            }
+        }
+        this.overflow.add(entry);
+    }
+}
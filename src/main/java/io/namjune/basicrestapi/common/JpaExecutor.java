@@ -0,0 +1,158 @@
+package io.namjune.basicrestapi.common;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.CacheStoreMode;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * 컨트롤러의 JPA(DB) 작업을 Tomcat 워커 스레드 대신 실행하는 크기가 정해진 실행기
+ *
+ * 스레드 수는 커넥션 풀 크기에 맞추고 대기열도 제한해서, DB 가 느려져도 커넥션을 기다리는 요청이 Tomcat 워커를 모두 잡고 있지 않게 한다.
+ * 대기열까지 가득 차면 기다리지 않고 TaskRejectedException 을 던진다. (TaskRejectedAdvice 에서 503 으로 응답)
+ * 작업 스레드에서도 요청 스레드의 Open EntityManager In View 처럼 작업이 끝날 때까지 EntityManager 를 열어둔다.
+ * 조회만 하는 작업(supplyReadOnly)은 읽기 전용 트랜잭션 하나로 실행하고, 복제 DB 가 있으면 복제 DB 에서 읽는다.
+ * 복제 DB 에서 읽은 엔티티는 2차 캐시에 넣지 않는다.
+ *
+ * 비활성화(my-app.async-enabled=false) 하면 요청 스레드에서 바로 실행한다.
+ *
+ * 메트릭: executor.queued, executor.active, executor.pool.size, executor.completed, executor.rejected (name=jpa)
+ */
+public class JpaExecutor implements MeterBinder, DisposableBean {
+
+    public static final String NAME = "jpa";
+
+    private static final String CACHE_STORE_MODE = "javax.persistence.cache.storeMode";
+
+    private final ThreadPoolTaskExecutor executor;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ReadYourWrites readYourWrites;
+    private final boolean replicaConfigured;
+    private volatile Counter rejected;
+
+    /**
+     * @param executor             작업 스레드 풀. null 이면 요청 스레드에서 실행
+     * @param entityManagerFactory 작업 스레드에 열어둘 EntityManager 의 팩토리
+     * @param transactionManager   조회 작업을 실행할 트랜잭션 매니저
+     * @param readYourWrites       방금 쓰기를 한 사용자의 조회를 주 DB 로 보내기 위해 사용
+     * @param replicaConfigured    복제 DB 를 설정했는지. 설정했으면 조회 작업은 복제 DB 에서 읽고 2차 캐시에 넣지 않는다.
+     */
+    public JpaExecutor(ThreadPoolTaskExecutor executor, EntityManagerFactory entityManagerFactory,
+                       PlatformTransactionManager transactionManager, ReadYourWrites readYourWrites,
+                       boolean replicaConfigured) {
+        this.executor = executor;
+        this.entityManagerFactory = entityManagerFactory;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readYourWrites = readYourWrites;
+        this.replicaConfigured = replicaConfigured;
+    }
+
+    /**
+     * @param task 실행할 작업
+     * @return 작업 결과
+     * @throws TaskRejectedException 스레드와 대기열이 모두 찬 경우
+     */
+    public <T> CompletableFuture<T> supply(Supplier<T> task) {
+        if (this.executor == null) {
+            return CompletableFuture.completedFuture(task.get());
+        }
+        try {
+            return CompletableFuture.supplyAsync(() -> withEntityManager(task), this.executor);
+        } catch (TaskRejectedException e) {
+            if (this.rejected != null) {
+                this.rejected.increment();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 조회만 하는 작업을 읽기 전용 트랜잭션 하나로 실행한다. 복제 DB 가 있으면 복제 DB 에서 읽고,
+     * 현재 사용자가 방금 쓰기를 했으면(ReadYourWrites) 주 DB 에서 읽는다.
+     *
+     * @param task 읽기만 하는 작업
+     * @return 작업 결과
+     * @throws TaskRejectedException 스레드와 대기열이 모두 찬 경우
+     */
+    public <T> CompletableFuture<T> supplyReadOnly(Supplier<T> task) {
+        // 작업 스레드에는 SecurityContext 가 없으므로 요청 스레드에서 정한다.
+        boolean replica = this.replicaConfigured && !this.readYourWrites.isPinned(currentUsername());
+        return supply(() -> this.readOnlyTransaction.execute(status ->
+            replica ? ReplicaRoutingDataSource.readFromReplica(() -> withoutCachePut(task)) : task.get()));
+    }
+
+    public boolean isEnabled() {
+        return this.executor != null;
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? null : authentication.getName();
+    }
+
+    // 복제 DB 는 주 DB 보다 늦을 수 있으므로 2차 캐시에서 읽기만 하고 넣지 않는다.(storeMode BYPASS)
+    // 넣으면 수정이 끝나 락이 풀린 캐시 항목에 복제되기 전의 값이 들어가서 TTL 동안 남는다.
+    // Hibernate 의 find 는 Session 의 CacheMode 대신 이 속성으로 캐시 모드를 정하므로 EntityManager 속성으로 지정한다.
+    private <T> T withoutCachePut(Supplier<T> task) {
+        EntityManager entityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(this.entityManagerFactory);
+        Object previous = entityManager.getProperties().get(CACHE_STORE_MODE);
+        entityManager.setProperty(CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+        try {
+            return task.get();
+        } finally {
+            entityManager.setProperty(CACHE_STORE_MODE, previous != null ? previous : CacheStoreMode.USE);
+        }
+    }
+
+    private <T> T withEntityManager(Supplier<T> task) {
+        if (TransactionSynchronizationManager.hasResource(this.entityManagerFactory)) {
+            return task.get();
+        }
+        EntityManager entityManager = this.entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(this.entityManagerFactory, new EntityManagerHolder(entityManager));
+        try {
+            return task.get();
+        } finally {
+            TransactionSynchronizationManager.unbindResource(this.entityManagerFactory);
+            EntityManagerFactoryUtils.closeEntityManager(entityManager);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (this.executor == null) {
+            return;
+        }
+        new ExecutorServiceMetrics(this.executor.getThreadPoolExecutor(), NAME, Tags.empty()).bindTo(registry);
+        this.rejected = Counter.builder("executor.rejected")
+            .tag("name", NAME)
+            .description("The number of tasks rejected because the executor and its queue were full")
+            .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        if (this.executor != null) {
+            this.executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package io.namjune.basicrestapi.common;
+
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.stereotype.Controller;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 요청 처리에 바로 필요하지 않은 빈을 처음 사용할 때 만들도록 지연 초기화한다. (스프링 부트 2.2 의 spring.main.lazy-initialization 과 비슷)
+ *
+ * 다음 빈은 기동할 때 만든다.
+ * - 스프링 내부(ROLE_INFRASTRUCTURE) 빈
+ * - @Lazy 를 직접 붙인 빈. @Lazy(false) 로 기동할 때 만들 빈을 지정할 수 있다.
+ * - 컨트롤러와 그 의존성. 첫 요청이 컨트롤러, 리포지토리를 만드느라 느려지지 않게 한다.
+ * - CRITICAL_BEANS. 첫 요청에서 만들면 가장 오래 걸리는 커넥션 풀, EntityManagerFactory, 시큐리티 필터 체인
+ */
+public class LazyInitializationPostProcessor implements BeanFactoryPostProcessor {
+
+    static final Set<String> CRITICAL_BEANS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+        "dataSource", "entityManagerFactory", "springSecurityFilterChain")));
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition beanDefinition = beanFactory.getBeanDefinition(beanName);
+            if (beanDefinition.getRole() == BeanDefinition.ROLE_INFRASTRUCTURE
+                || CRITICAL_BEANS.contains(beanName)
+                || isAnnotated(beanDefinition, Lazy.class.getName())
+                || isAnnotated(beanDefinition, Controller.class.getName())) {
+                continue;
+            }
+            beanDefinition.setLazyInit(true);
+        }
+    }
+
+    private static boolean isAnnotated(BeanDefinition beanDefinition, String annotationName) {
+        if (!(beanDefinition instanceof AnnotatedBeanDefinition)) {
+            return false;
+        }
+        AnnotatedBeanDefinition annotated = (AnnotatedBeanDefinition) beanDefinition;
+        MethodMetadata factoryMethod = annotated.getFactoryMethodMetadata();
+        if (factoryMethod != null) {
+            return factoryMethod.isAnnotated(annotationName);
+        }
+        return annotated.getMetadata().hasMetaAnnotation(annotationName)
+            || annotated.getMetadata().hasAnnotation(annotationName);
+    }
+}
@@ -0,0 +1,70 @@
+package io.namjune.basicrestapi.common;
+
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.mvc.ControllerLinkBuilder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 요청 단위로 캐시하는 링크 빌더
+ *
+ * linkTo(컨트롤러) 는 호출할 때마다 현재 요청에서 scheme, host, X-Forwarded-* 헤더, context path 를 읽고
+ * 컨트롤러의 매핑 정보를 다시 해석한다. 목록 조회처럼 한 요청에서 같은 컨트롤러 링크를 수십 번 만드는 경우를 위해
+ * 한 요청 안에서는 처음 만든 href 를 요청 속성에 저장해두고, 이후에는 id 만 붙여서 링크를 만든다.
+ *
+ * 요청 밖(애플리케이션 시작, 배치 등)에서는 캐시 없이 매번 만든다.
+ */
+public final class LinkTemplates {
+
+    private static final String CACHE_ATTRIBUTE = LinkTemplates.class.getName() + ".CACHE";
+
+    private LinkTemplates() {
+    }
+
+    /**
+     * @param controller 컨트롤러 클래스
+     * @return 현재 요청 기준의 컨트롤러 매핑 href. ex) http://localhost:8080/api/events
+     */
+    public static String href(Class<?> controller) {
+        return href(controller, () -> ControllerLinkBuilder.linkTo(controller).toString());
+    }
+
+    /**
+     * methodOn 으로 만드는 링크처럼 컨트롤러 클래스만으로 만들 수 없는 링크를 key 로 캐시한다.
+     *
+     * @param key     요청 안에서 링크를 구분하는 키
+     * @param builder 캐시에 없을 때 href 를 만드는 함수
+     * @return href
+     */
+    public static String href(Object key, Supplier<String> builder) {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return builder.get();
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<Object, String> cache = (Map<Object, String>) requestAttributes.getAttribute(CACHE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (cache == null) {
+            cache = new HashMap<>();
+            requestAttributes.setAttribute(CACHE_ATTRIBUTE, cache, RequestAttributes.SCOPE_REQUEST);
+        }
+        return cache.computeIfAbsent(key, k -> builder.get());
+    }
+
+    public static Link link(Class<?> controller, String rel) {
+        return new Link(href(controller), rel);
+    }
+
+    public static Link link(Class<?> controller, Object id, String rel) {
+        return new Link(href(controller) + "/" + id, rel);
+    }
+
+    public static URI uri(Class<?> controller, Object id) {
+        return URI.create(href(controller) + "/" + id);
+    }
+}
@@ -0,0 +1,107 @@
+package io.namjune.basicrestapi.common;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Value;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 컨트롤러, 검증기(Validator), 매퍼(Mapper), 리포지토리 메소드의 실행 시간을 백분위 히스토그램이 있는 Timer 로 기록한다.
+ *
+ * 메트릭: app.method (layer, class, method, exception 태그)
+ * http.server.requests 는 요청 전체 시간만 알려주므로, 느려진 요청이 어느 단계에서 시간을 쓰는지 나눠서 보기 위해 사용한다.
+ * CompletableFuture 를 리턴하는 비동기 핸들러는 작업이 끝날 때까지를 기록한다.
+ */
+@Aspect
+public class MethodTimingAspect {
+
+    public static final String METRIC_NAME = "app.method";
+
+    private final MeterRegistry registry;
+    private final ConcurrentMap<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    public MethodTimingAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Value
+    private static class TimerKey {
+        private final String layer;
+        private final Class<?> type;
+        private final Method method;
+        private final String exception;
+    }
+
+    @Around("execution(public * *(..)) && within(io.namjune.basicrestapi..*)"
+        + " && @within(org.springframework.stereotype.Controller)")
+    public Object timeController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("controller", joinPoint);
+    }
+
+    @Around("execution(public * io.namjune.basicrestapi..*Validator.*(..))")
+    public Object timeValidator(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("validator", joinPoint);
+    }
+
+    @Around("execution(public * io.namjune.basicrestapi..*Mapper+.*(..))")
+    public Object timeMapper(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("mapper", joinPoint);
+    }
+
+    @Around("execution(public * org.springframework.data.repository.Repository+.*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("repository", joinPoint);
+    }
+
+    private Object time(String layer, ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(this.registry);
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            sample.stop(timer(layer, joinPoint, e));
+            throw e;
+        }
+        if (result instanceof CompletionStage) {
+            ((CompletionStage<?>) result).whenComplete((value, e) -> sample.stop(timer(layer, joinPoint, e)));
+        } else {
+            sample.stop(timer(layer, joinPoint, null));
+        }
+        return result;
+    }
+
+    private Timer timer(String layer, ProceedingJoinPoint joinPoint, Throwable exception) {
+        TimerKey key = new TimerKey(layer, joinPoint.getTarget().getClass(),
+            ((MethodSignature) joinPoint.getSignature()).getMethod(),
+            exception == null ? "none" : exception.getClass().getSimpleName());
+        return this.timers.computeIfAbsent(key, k -> Timer.builder(METRIC_NAME)
+            .tag("layer", k.getLayer())
+            .tag("class", typeName(joinPoint.getTarget()))
+            .tag("method", k.getMethod().getName())
+            .tag("exception", k.getException())
+            .publishPercentileHistogram()
+            .register(this.registry));
+    }
+
+    // 리포지토리는 스프링 데이터가 만든 프록시이므로 리포지토리 인터페이스 이름을 사용한다.
+    private static String typeName(Object target) {
+        if (Proxy.isProxyClass(target.getClass())) {
+            Class<?>[] interfaces = AopProxyUtils.proxiedUserInterfaces(target);
+            if (interfaces.length > 0) {
+                return interfaces[0].getSimpleName();
+            }
+        }
+        return ClassUtils.getUserClass(target).getSimpleName();
+    }
+}
@@ -0,0 +1,20 @@
+package io.namjune.basicrestapi.common;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * 읽은 뒤 저장하기 전에 다른 요청이 먼저 수정해서 @Version 조건의 UPDATE 가 실패하면 409 로 응답한다.
+ * If-Match 로 버전을 보낸 요청은 컨트롤러에서 현재 ETag 와 함께 412 로 응답하므로 여기까지 오지 않는다.
+ */
+@RestControllerAdvice
+public class OptimisticLockingFailureAdvice {
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity conflict() {
+        return ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+}
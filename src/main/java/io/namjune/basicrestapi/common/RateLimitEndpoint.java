@@ -0,0 +1,33 @@
+package io.namjune.basicrestapi.common;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * GET /actuator/ratelimits
+ *
+ * 요청 수 제한 상태와 거절한 요청이 많은 키 목록
+ */
+@Endpoint(id = "ratelimits")
+public class RateLimitEndpoint {
+
+    private static final int MAX_KEYS = 100;
+
+    private final RateLimiter rateLimiter;
+
+    public RateLimitEndpoint(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @ReadOperation
+    public Map<String, Object> rateLimits() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("keys", this.rateLimiter.getKeyCount());
+        result.put("rejected", this.rateLimiter.getRejectedCount());
+        result.put("rejectedByKey", this.rateLimiter.rejectedByKey(MAX_KEYS));
+        return result;
+    }
+}
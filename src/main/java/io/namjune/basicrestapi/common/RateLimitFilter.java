@@ -0,0 +1,73 @@
+package io.namjune.basicrestapi.common;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * /api/** 와 /oauth/token 요청 수를 클라이언트, 사용자별로 제한한다.
+ *
+ * 인증 정보로 키를 만들기 위해 스프링 시큐리티 필터 다음에 실행한다.
+ * - 액세스 토큰으로 요청: client:{client id},user:{사용자}
+ * - 토큰 발급(/oauth/token): client:{client id}
+ *   username 파라미터는 클라이언트가 마음대로 바꿀 수 있으므로 키에 넣지 않는다.
+ *   넣으면 요청마다 다른 username 으로 새 버킷을 받아서 제한을 피하고(실패해도 계정 조회와 bcrypt 비용이 든다), 키 수도 채울 수 있다.
+ * - 인증 없이 요청: anonymous:{IP}
+ * 제한을 넘으면 DB 작업을 시작하기 전에 429 와 Retry-After(초) 로 응답한다.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    static final String TOKEN_PATH = "/oauth/token";
+
+    private final RateLimiter rateLimiter;
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+    public RateLimitFilter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = this.urlPathHelper.getPathWithinApplication(request);
+        return !(path.equals("/api") || path.startsWith("/api/") || path.equals(TOKEN_PATH));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        long wait = this.rateLimiter.tryAcquire(keyOf(request));
+        if (wait > 0) {
+            long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + TimeUnit.SECONDS.toNanos(1) - 1));
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    String keyOf(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication instanceof OAuth2Authentication) {
+            OAuth2Authentication oAuth2Authentication = (OAuth2Authentication) authentication;
+            String clientId = oAuth2Authentication.getOAuth2Request().getClientId();
+            return oAuth2Authentication.isClientOnly() ? "client:" + clientId : "client:" + clientId + ",user:" + authentication.getName();
+        }
+        if (authentication != null && authentication.isAuthenticated() && !(authentication instanceof AnonymousAuthenticationToken)) {
+            // 토큰 발급 요청은 클라이언트 인증(Basic) 만 되어 있다.
+            return "client:" + authentication.getName();
+        }
+        return "anonymous:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,155 @@
+package io.namjune.basicrestapi.common;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 키(클라이언트, 사용자)별 요청 수 제한
+ *
+ * 토큰 버킷과 같은 동작을 하는 GCRA(Generic Cell Rate Algorithm)로 구현한다.
+ * 버킷마다 "다음 요청이 버킷을 비우지 않고 도착할 수 있는 시각(TAT)" 하나만 AtomicLong 으로 두고 CAS 로 갱신하므로
+ * 락이 없고, 토큰을 채우는 스레드도 필요 없다.
+ *
+ * 버킷은 최대 maxKeys 개까지만 만든다. 가득 차면 다 채워진(유휴) 버킷을 지우고, 그래도 가득 차 있으면
+ * 새 키는 모두 공유 버킷(OVERFLOW_KEY) 하나를 같이 쓴다.
+ *
+ * 메트릭: ratelimit.keys, ratelimit.rejected
+ */
+public class RateLimiter implements MeterBinder {
+
+    public static final String OVERFLOW_KEY = "*";
+
+    private final long emissionInterval;
+    private final long burstTolerance;
+    private final int maxKeys;
+    private final LongSupplier nanoTime;
+    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweep;
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * @param requestsPerSecond 초당 허용하는 요청 수(버킷을 채우는 속도)
+     * @param burst             한번에 허용하는 최대 요청 수(버킷 크기)
+     * @param maxKeys           최대 버킷 수
+     */
+    public RateLimiter(double requestsPerSecond, int burst, int maxKeys) {
+        this(requestsPerSecond, burst, maxKeys, System::nanoTime);
+    }
+
+    RateLimiter(double requestsPerSecond, int burst, int maxKeys, LongSupplier nanoTime) {
+        if (requestsPerSecond <= 0 || burst < 1 || maxKeys < 1) {
+            throw new IllegalArgumentException("requestsPerSecond, burst and maxKeys must be positive");
+        }
+        this.emissionInterval = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond));
+        this.burstTolerance = this.emissionInterval * burst;
+        this.maxKeys = maxKeys;
+        this.nanoTime = nanoTime;
+        this.nextSweep = new AtomicLong(nanoTime.getAsLong());
+    }
+
+    private static final class Bucket {
+        // 이 시각 이후에 도착한 요청은 버킷이 가득 찬 상태에서 시작한다.
+        private final AtomicLong theoreticalArrivalTime;
+        private final LongAdder rejected = new LongAdder();
+
+        private Bucket(long now) {
+            this.theoreticalArrivalTime = new AtomicLong(now);
+        }
+    }
+
+    /**
+     * @param key 클라이언트, 사용자를 구분하는 키
+     * @return 허용하면 0, 거절하면 다시 요청할 수 있을 때까지 기다려야 하는 시간(나노초)
+     */
+    public long tryAcquire(String key) {
+        long now = this.nanoTime.getAsLong();
+        Bucket bucket = bucket(key, now);
+        while (true) {
+            long tat = bucket.theoreticalArrivalTime.get();
+            long newTat = Math.max(tat, now) + this.emissionInterval;
+            long wait = newTat - now - this.burstTolerance;
+            if (wait > 0) {
+                bucket.rejected.increment();
+                this.rejected.increment();
+                return wait;
+            }
+            if (bucket.theoreticalArrivalTime.compareAndSet(tat, newTat)) {
+                return 0;
+            }
+        }
+    }
+
+    private Bucket bucket(String key, long now) {
+        Bucket bucket = this.buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (this.buckets.size() >= this.maxKeys) {
+            sweep(now);
+            if (this.buckets.size() >= this.maxKeys) {
+                return this.buckets.computeIfAbsent(OVERFLOW_KEY, k -> new Bucket(now));
+            }
+        }
+        return this.buckets.computeIfAbsent(key, k -> new Bucket(now));
+    }
+
+    /**
+     * 다 채워진 버킷을 지운다. 요청마다 전체를 훑지 않도록 버킷 하나가 다 채워지는 시간에 한번만 실행한다.
+     * 지우는 순간에 같은 버킷으로 들어온 요청 하나는 제한 없이 허용될 수 있다.
+     */
+    private void sweep(long now) {
+        long next = this.nextSweep.get();
+        if (now - next < 0 || !this.nextSweep.compareAndSet(next, now + this.burstTolerance)) {
+            return;
+        }
+        this.buckets.entrySet().removeIf(entry -> entry.getValue().theoreticalArrivalTime.get() - now <= 0);
+    }
+
+    /**
+     * @param limit 최대 개수
+     * @return 거절한 요청이 많은 순서대로 키별 거절 수
+     */
+    public Map<String, Long> rejectedByKey(int limit) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        this.buckets.entrySet().stream()
+            .filter(entry -> entry.getValue().rejected.sum() > 0)
+            .sorted(Comparator.comparingLong((Map.Entry<String, Bucket> entry) -> entry.getValue().rejected.sum()).reversed())
+            .limit(limit)
+            .forEach(entry -> result.put(entry.getKey(), entry.getValue().rejected.sum()));
+        return result;
+    }
+
+    // 테스트끼리 버킷을 공유하지 않도록 비운다.
+    void clear() {
+        this.buckets.clear();
+    }
+
+    public int getKeyCount() {
+        return this.buckets.size();
+    }
+
+    public long getRejectedCount() {
+        return this.rejected.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("ratelimit.keys", this, RateLimiter::getKeyCount)
+            .description("The number of rate limit buckets")
+            .register(registry);
+        FunctionCounter.builder("ratelimit.rejected", this, RateLimiter::getRejectedCount)
+            .description("The number of requests rejected by the rate limiter")
+            .register(registry);
+    }
+}
@@ -0,0 +1,73 @@
+package io.namjune.basicrestapi.common;
+
+import io.namjune.basicrestapi.config.AppProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * 방금 쓰기(생성, 수정)를 한 사용자를 기억해서, 복제 지연 시간(my-app.replica-stickiness) 동안은 그 사용자의 조회를 주 DB 에서 읽게 한다.
+ * 이벤트를 만들자마자 조회했는데 복제 DB 에 아직 없어서 404 가 나는 것을 막는다.(read-your-writes)
+ *
+ * 서버 메모리에만 기억하므로, 여러 서버에서는 로드밸런서가 같은 사용자를 같은 서버로 보낼 때만 보장된다.
+ * 기억하는 사용자 수가 MAX_KEYS 를 넘으면 시간이 지난 사용자를 지운다.
+ */
+@Component
+public class ReadYourWrites {
+
+    private static final int MAX_KEYS = 10_000;
+
+    private final long stickinessNanos;
+    private final LongSupplier nanoTime;
+    // 사용자 이름 -> 주 DB 에서 읽어야 하는 마지막 시각(nanoTime)
+    private final ConcurrentHashMap<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ReadYourWrites(AppProperties appProperties) {
+        this(appProperties.getReplicaStickiness().toNanos(), System::nanoTime);
+    }
+
+    ReadYourWrites(long stickinessNanos, LongSupplier nanoTime) {
+        this.stickinessNanos = stickinessNanos;
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * @param username 쓰기를 한 사용자. null 이면 무시
+     */
+    public void wrote(String username) {
+        if (username == null || this.stickinessNanos <= 0) {
+            return;
+        }
+        long now = this.nanoTime.getAsLong();
+        this.pinnedUntil.put(username, now + this.stickinessNanos);
+        if (this.pinnedUntil.size() > MAX_KEYS) {
+            this.pinnedUntil.values().removeIf(until -> until - now < 0);
+        }
+    }
+
+    /**
+     * @param username 조회하는 사용자. null 이면 익명
+     * @return 주 DB 에서 읽어야 하면 true
+     */
+    public boolean isPinned(String username) {
+        if (username == null) {
+            return false;
+        }
+        Long until = this.pinnedUntil.get(username);
+        if (until == null) {
+            return false;
+        }
+        if (until - this.nanoTime.getAsLong() < 0) {
+            this.pinnedUntil.remove(username, until);
+            return false;
+        }
+        return true;
+    }
+
+    int size() {
+        return this.pinnedUntil.size();
+    }
+}
@@ -0,0 +1,79 @@
+package io.namjune.basicrestapi.common;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 읽기 전용 작업을 복제(replica) DB 로, 나머지는 주(primary) DB 로 보내는 DataSource
+ *
+ * readFromReplica 로 감싼 작업 안의 읽기 전용 트랜잭션에서 여는 커넥션만 복제 DB 로 보낸다.
+ * 모든 readOnly 트랜잭션을 보내지 않는 이유는 SimpleJpaRepository 의 조회 메소드가 모두 readOnly 이기 때문이다.
+ * 수정하기 전에 읽는 조회(updateEvent 의 findById, 등록 좌석 확인 등)까지 복제 지연이 있는 DB 에서 읽으면 안 된다.
+ *
+ * 트랜잭션이 시작될 때는 아직 readOnly 여부가 트랜잭션 동기화에 반영되지 않으므로,
+ * LazyConnectionDataSourceProxy 로 감싸서 첫 SQL 을 실행할 때 커넥션을 고르게 한다.(lazy 메소드)
+ * 같은 EntityManager 는 처음 받은 커넥션을 계속 쓰므로, 읽기 작업과 쓰기 작업은 EntityManager 를 나눠서 실행해야 한다.(JpaExecutor)
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private static final ThreadLocal<Boolean> REPLICA_REQUESTED = new ThreadLocal<>();
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(Route.PRIMARY, primary);
+        targets.put(Route.REPLICA, replica);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    /**
+     * @return 첫 SQL 을 실행할 때 주/복제 DB 를 고르는 DataSource
+     */
+    public static DataSource lazy(DataSource primary, DataSource replica) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replica));
+    }
+
+    /**
+     * task 안의 읽기 전용 트랜잭션은 복제 DB 에서 읽는다. 복제 DB 를 설정하지 않았으면 아무 영향이 없다.
+     *
+     * @param task 읽기만 하는 작업
+     * @return 작업 결과
+     */
+    public static <T> T readFromReplica(Supplier<T> task) {
+        Boolean previous = REPLICA_REQUESTED.get();
+        REPLICA_REQUESTED.set(Boolean.TRUE);
+        try {
+            return task.get();
+        } finally {
+            if (previous == null) {
+                REPLICA_REQUESTED.remove();
+            } else {
+                REPLICA_REQUESTED.set(previous);
+            }
+        }
+    }
+
+    /**
+     * @return 지금 커넥션을 열면 사용할 DB
+     */
+    public static Route currentRoute() {
+        return Boolean.TRUE.equals(REPLICA_REQUESTED.get())
+            && TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? Route.REPLICA : Route.PRIMARY;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return currentRoute();
+    }
+}
@@ -0,0 +1,35 @@
+package io.namjune.basicrestapi.common;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * 요청 스레드의 RequestAttributes 를 작업 스레드로 넘겨주는 TaskDecorator
+ *
+ * 링크를 만들 때(LinkTemplates, ServletUriComponentsBuilder.fromCurrentRequest) 현재 요청 정보가 필요하기 때문에,
+ * 다른 스레드에서 컨트롤러 로직을 실행할 때도 같은 요청을 사용할 수 있게 한다.
+ * 비동기 요청은 처음 디스패치가 끝나면 원래 RequestAttributes 가 완료 처리되므로, 같은 요청을 감싼 새 객체를 만들어서 넘긴다.
+ */
+public class RequestContextTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (!(requestAttributes instanceof ServletRequestAttributes)) {
+            return runnable;
+        }
+        ServletRequestAttributes current = (ServletRequestAttributes) requestAttributes;
+        return () -> {
+            ServletRequestAttributes attributes = new ServletRequestAttributes(current.getRequest(), current.getResponse());
+            RequestContextHolder.setRequestAttributes(attributes);
+            try {
+                runnable.run();
+            } finally {
+                RequestContextHolder.resetRequestAttributes();
+                attributes.requestCompleted();
+            }
+        };
+    }
+}
@@ -0,0 +1,87 @@
+package io.namjune.basicrestapi.common;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 요청마다 SqlCounter 를 만들고, 요청이 끝나면 실행한 SQL 문과 행 수를 메트릭으로 기록한다.
+ *
+ * 메트릭: sql.statements, sql.rows (uri, method 태그, 백분위 히스토그램)
+ * 엔드포인트별로 요청당 SQL 수의 분포를 볼 수 있기 때문에 N+1 처럼 SQL 수가 늘어나는 변경을 운영 중에 찾을 수 있다.
+ * 비동기 요청은 마지막 디스패치가 끝날 때 한번만 기록한다.
+ */
+public class SqlCountFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_HEADER = "X-SQL-Statements";
+    public static final String ROWS_HEADER = "X-SQL-Rows";
+
+    private final MeterRegistry registry;
+    private final boolean writeHeaders;
+
+    /**
+     * @param registry     메트릭 레지스트리
+     * @param writeHeaders 응답 헤더(X-SQL-Statements, X-SQL-Rows)로도 내려줄지 여부
+     */
+    public SqlCountFilter(MeterRegistry registry, boolean writeHeaders) {
+        this.registry = registry;
+        this.writeHeaders = writeHeaders;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        SqlCounter counter = (SqlCounter) request.getAttribute(SqlCounter.ATTRIBUTE);
+        if (counter == null) {
+            counter = new SqlCounter();
+            request.setAttribute(SqlCounter.ATTRIBUTE, counter);
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (!isAsyncStarted(request)) {
+                // 본문이 있는 응답은 쓰기 직전에 SqlCountHeaderAdvice 가 넣는다.
+                if (this.writeHeaders && !response.isCommitted()) {
+                    writeHeaders(response, counter);
+                }
+                record(request, counter);
+            }
+        }
+    }
+
+    static void writeHeaders(HttpServletResponse response, SqlCounter counter) {
+        response.setHeader(STATEMENTS_HEADER, String.valueOf(counter.getStatements()));
+        response.setHeader(ROWS_HEADER, String.valueOf(counter.getRows()));
+    }
+
+    private void record(HttpServletRequest request, SqlCounter counter) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        summary("sql.statements", "The number of SQL statements executed per request", uri, request.getMethod())
+            .record(counter.getStatements());
+        summary("sql.rows", "The number of rows read or written per request", uri, request.getMethod())
+            .record(counter.getRows());
+    }
+
+    private DistributionSummary summary(String name, String description, String uri, String method) {
+        return DistributionSummary.builder(name)
+            .description(description)
+            .tag("uri", uri)
+            .tag("method", method)
+            .publishPercentileHistogram()
+            .register(this.registry);
+    }
+}
@@ -0,0 +1,45 @@
+package io.namjune.basicrestapi.common;
+
+import io.namjune.basicrestapi.config.AppProperties;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * 응답 본문을 쓰기 직전에 지금까지 실행한 SQL 문과 행 수를 응답 헤더에 넣는다. (my-app.sql-count-header=true)
+ * 본문을 쓰는 중에 실행되는 SQL(지연 로딩) 은 헤더에는 빠지고 메트릭(SqlCountFilter)에만 포함된다.
+ */
+@ControllerAdvice
+public class SqlCountHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    private final boolean enabled;
+
+    public SqlCountHeaderAdvice(AppProperties appProperties) {
+        this.enabled = appProperties.isSqlCountHeader();
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return this.enabled;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest) {
+            SqlCounter counter = (SqlCounter) ((ServletServerHttpRequest) request).getServletRequest()
+                .getAttribute(SqlCounter.ATTRIBUTE);
+            if (counter != null) {
+                response.getHeaders().set(SqlCountFilter.STATEMENTS_HEADER, String.valueOf(counter.getStatements()));
+                response.getHeaders().set(SqlCountFilter.ROWS_HEADER, String.valueOf(counter.getRows()));
+            }
+        }
+        return body;
+    }
+}
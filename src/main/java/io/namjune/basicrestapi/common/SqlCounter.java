@@ -0,0 +1,86 @@
+package io.namjune.basicrestapi.common;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 요청 하나에서 실행한 SQL 문과 읽거나 바꾼 행 수
+ *
+ * SqlCountFilter 가 요청 속성에 넣어두고, SqlCountingDataSource 가 SQL 을 실행할 때마다 더한다.
+ * 요청 속성에 두기 때문에 JpaExecutor 처럼 다른 스레드에서 실행한 SQL 도 같은 요청으로 센다. (RequestContextTaskDecorator)
+ * SQL 문은 종류(SELECT, INSERT, UPDATE, DELETE)별로도 센다.
+ */
+public class SqlCounter {
+
+    static final String ATTRIBUTE = SqlCounter.class.getName();
+
+    /**
+     * SQL 문의 종류. SQL 의 첫 단어로 구분한다.
+     */
+    public enum Kind {
+        SELECT, INSERT, UPDATE, DELETE, OTHER;
+
+        public static Kind of(String sql) {
+            if (sql == null) {
+                return OTHER;
+            }
+            String keyword = sql.trim().split("\\s+", 2)[0].toUpperCase(Locale.ROOT);
+            for (Kind kind : values()) {
+                if (kind.name().equals(keyword)) {
+                    return kind;
+                }
+            }
+            return OTHER;
+        }
+    }
+
+    private final AtomicLong statements = new AtomicLong();
+    private final AtomicLongArray kinds = new AtomicLongArray(Kind.values().length);
+    private final AtomicLong rows = new AtomicLong();
+
+    /**
+     * @return 현재 요청의 SqlCounter. 요청 밖(애플리케이션 시작, 스케줄러 등)이면 null
+     */
+    public static SqlCounter current() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return null;
+        }
+        try {
+            return (SqlCounter) requestAttributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        } catch (IllegalStateException e) {
+            // 이미 끝난 요청
+            return null;
+        }
+    }
+
+    /**
+     * @param sql 실행한 SQL. 알 수 없으면(Statement#executeBatch) null
+     */
+    void statement(String sql) {
+        this.statements.incrementAndGet();
+        this.kinds.incrementAndGet(Kind.of(sql).ordinal());
+    }
+
+    void rows(long count) {
+        if (count > 0) {
+            this.rows.addAndGet(count);
+        }
+    }
+
+    public long getStatements() {
+        return this.statements.get();
+    }
+
+    public long getStatements(Kind kind) {
+        return this.kinds.get(kind.ordinal());
+    }
+
+    public long getRows() {
+        return this.rows.get();
+    }
+}
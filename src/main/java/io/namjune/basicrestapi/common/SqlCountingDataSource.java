@@ -0,0 +1,201 @@
+package io.namjune.basicrestapi.common;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 실행한 SQL 문과 행 수를 현재 요청의 SqlCounter 에 더하는 DataSource
+ *
+ * Connection, Statement, ResultSet 을 JDK 동적 프록시로 감싸서
+ * execute* 호출마다 SQL 문 1개(와 그 종류), executeUpdate/executeBatch 의 결과와 ResultSet.next() 로 읽은 행을 센다.
+ * 현재 요청이 없으면 세지 않는다. addCounter 로 등록한 SqlCounter 에는 요청과 상관없이 모든 SQL 을 더한다.(테스트의 SQL 수 검증)
+ */
+public class SqlCountingDataSource extends DelegatingDataSource {
+
+    private final CopyOnWriteArrayList<SqlCounter> counters = new CopyOnWriteArrayList<>();
+
+    public SqlCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    /**
+     * 요청과 상관없이 모든 SQL 을 더할 SqlCounter 를 등록한다. 이미 등록되어 있으면 무시한다.
+     */
+    public void addCounter(SqlCounter counter) {
+        this.counters.addIfAbsent(counter);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(super.getConnection()));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(super.getConnection(username, password)));
+    }
+
+    // 현재 요청의 SqlCounter 와 등록한 SqlCounter
+    private List<SqlCounter> currentCounters() {
+        SqlCounter current = SqlCounter.current();
+        if (current == null) {
+            return this.counters;
+        }
+        if (this.counters.isEmpty()) {
+            return Collections.singletonList(current);
+        }
+        List<SqlCounter> counters = new ArrayList<>(this.counters.size() + 1);
+        counters.add(current);
+        counters.addAll(this.counters);
+        return counters;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(SqlCountingDataSource.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private abstract static class DelegatingHandler implements InvocationHandler {
+
+        final Object target;
+
+        DelegatingHandler(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getName().equals("equals")) {
+                return proxy == args[0];
+            }
+            if (method.getName().equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+            return handle(method, args);
+        }
+
+        abstract Object handle(Method method, Object[] args) throws Throwable;
+
+        Object delegate(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(this.target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+
+    private class ConnectionHandler extends DelegatingHandler {
+
+        ConnectionHandler(Connection target) {
+            super(target);
+        }
+
+        // prepareStatement(sql), prepareCall(sql) 로 만든 문장은 만들 때 받은 SQL 을 실행한다.
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            Object result = delegate(method, args);
+            String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+            if (result instanceof CallableStatement) {
+                return proxy(CallableStatement.class, new StatementHandler(result, sql));
+            }
+            if (result instanceof PreparedStatement) {
+                return proxy(PreparedStatement.class, new StatementHandler(result, sql));
+            }
+            if (result instanceof Statement) {
+                return proxy(Statement.class, new StatementHandler(result, null));
+            }
+            return result;
+        }
+    }
+
+    private class StatementHandler extends DelegatingHandler {
+
+        private final String preparedSql;
+        private List<SqlCounter> counters = Collections.emptyList();
+
+        StatementHandler(Object target, String preparedSql) {
+            super(target);
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (!name.startsWith("execute")) {
+                Object result = delegate(method, args);
+                if (result instanceof ResultSet && !this.counters.isEmpty()) {
+                    return proxy(ResultSet.class, new ResultSetHandler(result, this.counters));
+                }
+                return result;
+            }
+
+            this.counters = currentCounters();
+            Object result = delegate(method, args);
+            if (this.counters.isEmpty()) {
+                return result;
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : this.preparedSql;
+            for (SqlCounter counter : this.counters) {
+                counter.statement(sql);
+            }
+            if (result instanceof ResultSet) {
+                return proxy(ResultSet.class, new ResultSetHandler(result, this.counters));
+            }
+            if (result instanceof Integer || result instanceof Long) {
+                rows(((Number) result).longValue());
+            } else if (result instanceof int[]) {
+                for (int count : (int[]) result) {
+                    rows(count);
+                }
+            } else if (result instanceof long[]) {
+                for (long count : (long[]) result) {
+                    rows(count);
+                }
+            }
+            return result;
+        }
+
+        private void rows(long count) {
+            for (SqlCounter counter : this.counters) {
+                counter.rows(count);
+            }
+        }
+    }
+
+    private static class ResultSetHandler extends DelegatingHandler {
+
+        private final List<SqlCounter> counters;
+
+        ResultSetHandler(Object target, List<SqlCounter> counters) {
+            super(target);
+            this.counters = counters;
+        }
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            Object result = delegate(method, args);
+            if (Boolean.TRUE.equals(result) && method.getName().equals("next")) {
+                for (SqlCounter counter : this.counters) {
+                    counter.rows(1);
+                }
+            }
+            return result;
+        }
+    }
+}
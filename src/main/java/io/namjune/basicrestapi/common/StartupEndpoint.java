@@ -0,0 +1,34 @@
+package io.namjune.basicrestapi.common;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * GET /actuator/startup
+ *
+ * 기동 단계별로 JVM 시작부터 걸린 시간과 생성에 오래 걸린 빈 목록
+ */
+@Endpoint(id = "startup")
+public class StartupEndpoint {
+
+    private static final int MAX_BEANS = 20;
+
+    private final StartupTimeline startupTimeline;
+
+    public StartupEndpoint(StartupTimeline startupTimeline) {
+        this.startupTimeline = startupTimeline;
+    }
+
+    @ReadOperation
+    public Map<String, Object> startup() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("jvmStartTime", Instant.ofEpochMilli(this.startupTimeline.getJvmStartMillis()).toString());
+        result.put("steps", this.startupTimeline.getSteps());
+        result.put("slowestBeans", this.startupTimeline.slowestBeans(MAX_BEANS));
+        return result;
+    }
+}
@@ -0,0 +1,125 @@
+package io.namjune.basicrestapi.common;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.event.SpringApplicationEvent;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.web.context.support.ServletRequestHandledEvent;
+
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * 기동 단계별 시각 기록. GET /actuator/startup 으로 조회한다.(StartupEndpoint)
+ *
+ * JVM 시작부터 SpringApplication 이벤트(시작, 환경 준비, 컨텍스트 준비, 갱신, 웹 서버 시작, 기동 완료, 준비 완료),
+ * 초기 계정 생성(accountsSeeded, 별도 스레드에서 실패하면 accountsSeedFailed), 첫 요청 처리(firstRequest)까지 걸린 시간을 기록한다.
+ * 준비 완료까지는 빈마다 생성에 걸린 시간(의존하는 빈 생성 포함)도 재서, 지연 초기화할 빈을 고를 때 참고한다.
+ *
+ * 컨텍스트가 만들어지기 전의 이벤트도 받아야 하므로 main 에서 SpringApplication 에 등록한다.(register)
+ * 테스트처럼 main 을 거치지 않으면 StartupConfig 에서 빈으로 만들고, 컨텍스트 갱신 이후 단계만 기록된다.
+ */
+public class StartupTimeline implements ApplicationListener<ApplicationEvent>, InstantiationAwareBeanPostProcessor {
+
+    public static final String BEAN_NAME = "startupTimeline";
+
+    private final long jvmStartMillis = ManagementFactory.getRuntimeMXBean().getStartTime();
+    private final List<Step> steps = new CopyOnWriteArrayList<>();
+    // 빈 이름 -> 생성을 시작한 시각(nanoTime). 생성이 끝나면 beanNanos 로 옮긴다.
+    private final Map<String, Long> beanStarted = new ConcurrentHashMap<>();
+    private final Map<String, Long> beanNanos = new ConcurrentHashMap<>();
+    private final AtomicBoolean firstRequest = new AtomicBoolean();
+    private volatile boolean ready;
+
+    /**
+     * SpringApplication 이벤트를 받도록 등록하고, 컨텍스트에는 BEAN_NAME 으로 등록한다.
+     */
+    public static void register(SpringApplication application) {
+        StartupTimeline timeline = new StartupTimeline();
+        application.addListeners(timeline);
+        application.addInitializers(context -> context.getBeanFactory().registerSingleton(BEAN_NAME, timeline));
+    }
+
+    /**
+     * @param name 단계 이름. 같은 이름이 여러 번 기록되면 모두 남는다.
+     */
+    public void record(String name) {
+        this.steps.add(new Step(name, System.currentTimeMillis() - this.jvmStartMillis));
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationEvent event) {
+        if (event instanceof SpringApplicationEvent || event instanceof ContextRefreshedEvent
+            || event instanceof WebServerInitializedEvent) {
+            record(event.getClass().getSimpleName());
+            if (event instanceof ApplicationReadyEvent) {
+                this.ready = true;
+                this.beanStarted.clear();
+            }
+        } else if (event instanceof ServletRequestHandledEvent && this.firstRequest.compareAndSet(false, true)) {
+            record("firstRequest");
+        }
+    }
+
+    @Override
+    public Object postProcessBeforeInstantiation(Class<?> beanClass, String beanName) {
+        if (!this.ready) {
+            this.beanStarted.put(beanName, System.nanoTime());
+        }
+        return null;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        Long started = this.beanStarted.remove(beanName);
+        if (started != null) {
+            this.beanNanos.put(beanName, System.nanoTime() - started);
+        }
+        return bean;
+    }
+
+    public long getJvmStartMillis() {
+        return this.jvmStartMillis;
+    }
+
+    /**
+     * @return 기록한 순서대로 단계 목록
+     */
+    public List<Step> getSteps() {
+        return this.steps;
+    }
+
+    /**
+     * @param limit 최대 개수
+     * @return 생성에 오래 걸린 순서대로 빈 목록
+     */
+    public List<Step> slowestBeans(int limit) {
+        return this.beanNanos.entrySet().stream()
+            .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+            .limit(limit)
+            .map(e -> new Step(e.getKey(), e.getValue() / 1_000_000))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * 단계 이름과 JVM 시작부터 걸린 시간(ms). 빈 목록에서는 빈 생성에 걸린 시간(ms)
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class Step {
+        private final String name;
+        private final long millis;
+    }
+}
@@ -0,0 +1,23 @@
+package io.namjune.basicrestapi.common;
+
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * JpaExecutor 의 스레드와 대기열이 모두 차면 요청을 쌓아두지 않고 503 으로 응답한다.
+ * JpaExecutor 를 사용하는 모든 컨트롤러에 적용된다.
+ */
+@RestControllerAdvice
+public class TaskRejectedAdvice {
+
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity serviceUnavailable() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .build();
+    }
+}
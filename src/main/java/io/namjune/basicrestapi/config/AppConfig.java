@@ -1,23 +1,30 @@
 package io.namjune.basicrestapi.config;
 
 import io.namjune.basicrestapi.accounts.Account;
+import io.namjune.basicrestapi.accounts.AccountRepository;
 import io.namjune.basicrestapi.accounts.AccountRole;
 import io.namjune.basicrestapi.accounts.AccountService;
+import io.namjune.basicrestapi.common.StartupTimeline;
+import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.factory.PasswordEncoderFactories;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+@Slf4j
 @Configuration
 public class AppConfig {
 
+    // 이벤트 쓰기 요청의 매핑은 EventMapper(MapStruct)가 담당하고, 이 빈은 테스트 등에서 DTO 변환에 사용한다.
     @Bean
     public ModelMapper modelMapper() {
         return new ModelMapper();
@@ -34,6 +41,12 @@ public class AppConfig {
         return PasswordEncoderFactories.createDelegatingPasswordEncoder();
     }
 
+    /**
+     * 초기 계정 생성
+     * 비밀번호 인코딩(bcrypt)이 느리기 때문에 이미 있는 계정은 건너뛰고,
+     * my-app.seed-accounts-async=true 이면 기동을 기다리게 하지 않고 스프링 부트의 TaskExecutor(applicationTaskExecutor)에서 만든다.
+     * 이때 실패하면 기동은 계속되므로 로그를 남기고 기동 단계에 accountsSeedFailed 로 기록한다.
+     */
     @Bean
     public ApplicationRunner applicationRunner() {
         return new ApplicationRunner() {
@@ -41,24 +54,59 @@ public class AppConfig {
             @Autowired
             AccountService accountService;
 
+            @Autowired
+            AccountRepository accountRepository;
+
             @Autowired
             AppProperties appProperties;
 
+            @Autowired
+            StartupTimeline startupTimeline;
+
+            @Autowired
+            TaskExecutor taskExecutor;
+
             @Override
-            public void run(ApplicationArguments args) throws Exception {
-                Account admin = Account.builder()
+            public void run(ApplicationArguments args) {
+                if (appProperties.isSeedAccountsAsync()) {
+                    taskExecutor.execute(() -> {
+                        try {
+                            seedAccounts();
+                        } catch (RuntimeException e) {
+                            log.error("Failed to seed accounts", e);
+                            startupTimeline.record("accountsSeedFailed");
+                        }
+                    });
+                } else {
+                    seedAccounts();
+                }
+            }
+
+            private void seedAccounts() {
+                seed(Account.builder()
                     .email(appProperties.getAdminUsername())
                     .password(appProperties.getAdminPassword())
                     .roles(Stream.of(AccountRole.ADMIN, AccountRole.USER).collect(Collectors.toSet()))
-                    .build();
-                accountService.savePasswordEncodedAccount(admin);
+                    .build());
 
-                Account user = Account.builder()
+                seed(Account.builder()
                     .email(appProperties.getUserUsername())
                     .password(appProperties.getUserPassword())
                     .roles(Stream.of(AccountRole.USER).collect(Collectors.toSet()))
-                    .build();
-                accountService.savePasswordEncodedAccount(user);
+                    .build());
+                startupTimeline.record("accountsSeeded");
+            }
+
+            private void seed(Account account) {
+                if (accountRepository.existsByEmail(account.getEmail())) {
+                    return;
+                }
+                try {
+                    accountService.savePasswordEncodedAccount(account);
+                } catch (DataIntegrityViolationException e) {
+                    // 여러 서버가 동시에 기동하면서 다른 서버가 먼저 만든 경우
+                    log.info("Account already seeded: {}", account.getEmail());
+                }
             }
         };
     }
@@ -4,8 +4,10 @@ import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
 
 import javax.validation.constraints.NotEmpty;
+import java.time.Duration;
 
 @Component
 @ConfigurationProperties(prefix = "my-app")
@@ -30,4 +32,105 @@ public class AppProperties {
 
     @NotEmpty
     private String ClientSecret;
+
+    /**
+     * 토큰 저장소 종류. memory(기본값) 또는 jdbc
+     */
+    private String tokenStore = "memory";
+
+    /**
+     * memory 토큰 저장소에 보관할 최대 액세스/리프레시 토큰 수
+     */
+    private int tokenStoreMaxTokens = 100_000;
+
+    /**
+     * 이벤트 API 의 DB 작업을 요청 스레드 대신 JpaExecutor 에서 실행할지 여부
+     */
+    private boolean asyncEnabled = true;
+
+    /**
+     * JpaExecutor 스레드 수. 0 이면 커넥션 풀 크기(spring.datasource.hikari.maximum-pool-size)
+     */
+    private int asyncPoolSize = 0;
+
+    /**
+     * JpaExecutor 대기열 크기. 스레드와 대기열이 모두 차면 503 으로 응답한다.
+     */
+    private int asyncQueueCapacity = 100;
+
+    /**
+     * 이벤트 변경 스트림(GET /api/events/stream)에서 Last-Event-ID 로 다시 받을 수 있게 보관하는 최근 변경 수
+     */
+    private int eventStreamBufferSize = 1024;
+
+    /**
+     * 구독자마다 아직 보내지 못한 변경을 쌓아두는 최대 개수. 넘으면 연결을 끊는다.
+     */
+    private int eventStreamQueueCapacity = 256;
+
+    /**
+     * 이벤트 변경 스트림 연결 유지 시간
+     */
+    private Duration eventStreamTimeout = Duration.ofMinutes(30);
+
+    /**
+     * 이벤트 변경 스트림을 보내는 스레드 수
+     */
+    private int eventStreamSenderThreads = 2;
+
+    /**
+     * 요청당 실행한 SQL 문과 행 수를 X-SQL-Statements, X-SQL-Rows 응답 헤더로 내려줄지 여부
+     */
+    private boolean sqlCountHeader = false;
+
+    /**
+     * /api/**, /oauth/token 요청 수 제한 여부
+     */
+    private boolean rateLimitEnabled = true;
+
+    /**
+     * 클라이언트, 사용자별로 초당 허용하는 요청 수
+     */
+    private double rateLimitRequestsPerSecond = 50;
+
+    /**
+     * 클라이언트, 사용자별로 한번에 허용하는 최대 요청 수
+     */
+    private int rateLimitBurst = 100;
+
+    /**
+     * 요청 수를 세는 최대 키(클라이언트, 사용자) 수
+     */
+    private int rateLimitMaxKeys = 10_000;
+
+    /**
+     * 직렬화한 이벤트 조회 응답 본문 캐시(RenderedEventCache)의 최대 크기. 0 이면 캐시하지 않는다.
+     */
+    private DataSize renderedCacheMaxSize = DataSize.ofMegabytes(16);
+
+    /**
+     * 응답 본문 캐시에 gzip 으로 압축한 본문도 같이 보관할지 여부
+     */
+    private boolean renderedCacheGzip = true;
+
+    /**
+     * 등록 시작/마감, 이벤트 시작/종료 시각에 이벤트 상태를 자동으로 바꿀지 여부(EventStatusScheduler)
+     */
+    private boolean eventStatusSchedulerEnabled = true;
+
+    /**
+     * 쓰기(이벤트 생성, 수정, 계정 저장)를 한 사용자의 조회를 복제 DB 대신 주 DB 에서 읽는 시간. 복제 지연보다 길게 잡는다.
+     * 복제 DB(spring.datasource.replica.url)를 설정한 경우에만 의미가 있다.
+     */
+    private Duration replicaStickiness = Duration.ofSeconds(5);
+
+    /**
+     * 요청 처리에 바로 필요하지 않은 빈을 처음 사용할 때 만들지 여부(LazyInitializationPostProcessor). fast-start 프로필에서 켠다.
+     */
+    private boolean lazyInitialization = false;
+
+    /**
+     * 초기 계정(admin, user)을 기동을 기다리지 않고 별도 스레드에서 만들지 여부. 이미 있는 계정은 만들지 않는다.
+     */
+    private boolean seedAccountsAsync = false;
 }
@@ -0,0 +1,47 @@
+package io.namjune.basicrestapi.config;
+
+import io.namjune.basicrestapi.common.JpaExecutor;
+import io.namjune.basicrestapi.common.ReadYourWrites;
+import io.namjune.basicrestapi.common.RequestContextTaskDecorator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.StringUtils;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 비동기 요청 처리 설정
+ *
+ * 이벤트 API 는 CompletableFuture 를 리턴하고 실제 DB 작업은 JpaExecutor 에서 실행한다.
+ * 스레드가 커넥션 풀보다 많으면 커넥션을 기다리는 스레드만 늘어나므로 기본값은 커넥션 풀 크기로 맞춘다.
+ */
+@Configuration
+public class AsyncConfig {
+
+    @Bean
+    public JpaExecutor jpaExecutor(AppProperties appProperties, EntityManagerFactory entityManagerFactory,
+                                   PlatformTransactionManager transactionManager, ReadYourWrites readYourWrites,
+                                   @Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize,
+                                   @Value("${spring.datasource.replica.url:}") String replicaUrl) {
+        boolean replicaConfigured = StringUtils.hasText(replicaUrl);
+        if (!appProperties.isAsyncEnabled()) {
+            return new JpaExecutor(null, entityManagerFactory, transactionManager, readYourWrites, replicaConfigured);
+        }
+
+        int poolSize = appProperties.getAsyncPoolSize() > 0 ? appProperties.getAsyncPoolSize() : connectionPoolSize;
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("jpa-");
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(appProperties.getAsyncQueueCapacity());
+        executor.setTaskDecorator(new RequestContextTaskDecorator());
+        // 대기열이 차면 요청 스레드에서 실행(CallerRunsPolicy)하지 않고 바로 거절한다.
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return new JpaExecutor(executor, entityManagerFactory, transactionManager, readYourWrites, replicaConfigured);
+    }
+}
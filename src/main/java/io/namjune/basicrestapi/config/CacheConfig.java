@@ -0,0 +1,55 @@
+package io.namjune.basicrestapi.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+
+/**
+ * 캐시 설정
+ *
+ * 스프링 캐시와 Hibernate 2차 캐시가 ehcache.xml 로 만든 같은 JCache(Ehcache3) CacheManager 를 사용하도록 연결한다.
+ * 스프링 부트는 스프링 캐시에 등록된 캐시들의 메트릭을 Actuator 로 노출하기 때문에,
+ * 2차 캐시 영역도 cache.gets(hit/miss), cache.puts, cache.evictions 메트릭으로 확인할 수 있다.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheManagerCustomizer(CacheManager cacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+    }
+
+    /**
+     * 캐시별 적중률(cache.hit.ratio) 게이지. 스프링 부트가 등록한 cache.gets 의 hit, miss 값으로 계산한다.
+     */
+    @Bean
+    public MeterBinder cacheHitRatioMetrics(CacheManager cacheManager) {
+        return registry -> cacheManager.getCacheNames().forEach(cacheName ->
+            Gauge.builder("cache.hit.ratio", registry, r -> hitRatio(r, cacheName))
+                .tag("cache", cacheName)
+                .description("The ratio of cache gets that were hits")
+                .register(registry));
+    }
+
+    private static double hitRatio(MeterRegistry registry, String cacheName) {
+        double hits = gets(registry, cacheName, "hit");
+        double total = hits + gets(registry, cacheName, "miss");
+        return total == 0 ? 0 : hits / total;
+    }
+
+    private static double gets(MeterRegistry registry, String cacheName, String result) {
+        FunctionCounter counter = registry.find("cache.gets")
+            .tags("cache", cacheName, "result", result)
+            .functionCounter();
+        return counter == null ? 0 : counter.count();
+    }
+}
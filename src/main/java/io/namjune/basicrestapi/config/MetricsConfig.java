@@ -0,0 +1,51 @@
+package io.namjune.basicrestapi.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.namjune.basicrestapi.common.MethodTimingAspect;
+import io.namjune.basicrestapi.common.SqlCountFilter;
+import io.namjune.basicrestapi.common.SqlCountingDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * 애플리케이션 코드 메트릭 설정
+ *
+ * - app.method: 컨트롤러, 검증기, 매퍼, 리포지토리 메소드 실행 시간 (MethodTimingAspect)
+ * - sql.statements, sql.rows: 요청당 실행한 SQL 문과 행 수 (SqlCountFilter)
+ * my-app.sql-count-header=true 이면 요청당 SQL 수를 X-SQL-Statements, X-SQL-Rows 응답 헤더로도 내려준다. (SqlCountHeaderAdvice)
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public static BeanPostProcessor sqlCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && !(bean instanceof SqlCountingDataSource)) {
+                    return new SqlCountingDataSource((DataSource) bean);
+                }
+                return bean;
+            }
+        };
+    }
+
+    // 스프링 시큐리티(토큰 조회)에서 실행하는 SQL 도 세도록 시큐리티 필터보다 먼저 실행한다.
+    @Bean
+    public FilterRegistrationBean<SqlCountFilter> sqlCountFilter(MeterRegistry meterRegistry, AppProperties appProperties) {
+        FilterRegistrationBean<SqlCountFilter> registration =
+            new FilterRegistrationBean<>(new SqlCountFilter(meterRegistry, appProperties.isSqlCountHeader()));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+
+    @Bean
+    public MethodTimingAspect methodTimingAspect(MeterRegistry meterRegistry) {
+        return new MethodTimingAspect(meterRegistry);
+    }
+}
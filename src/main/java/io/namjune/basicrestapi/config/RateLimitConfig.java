@@ -0,0 +1,40 @@
+package io.namjune.basicrestapi.config;
+
+import io.namjune.basicrestapi.common.RateLimitEndpoint;
+import io.namjune.basicrestapi.common.RateLimitFilter;
+import io.namjune.basicrestapi.common.RateLimiter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 클라이언트, 사용자별 요청 수 제한 설정
+ *
+ * 클라이언트 하나가 /api/events 를 몰아서 호출해서 커넥션 풀과 JpaExecutor 를 모두 차지하지 않도록
+ * 키마다 초당 요청 수(my-app.rate-limit-requests-per-second)와 한번에 허용하는 요청 수(my-app.rate-limit-burst)를 제한한다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "my-app", name = "rate-limit-enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+    @Bean
+    public RateLimiter rateLimiter(AppProperties appProperties) {
+        return new RateLimiter(appProperties.getRateLimitRequestsPerSecond(), appProperties.getRateLimitBurst(),
+            appProperties.getRateLimitMaxKeys());
+    }
+
+    // 인증 정보(클라이언트, 사용자)로 키를 만들기 위해 스프링 시큐리티 필터 다음에 실행한다.
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RateLimiter rateLimiter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(new RateLimitFilter(rateLimiter));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registration;
+    }
+
+    @Bean
+    public RateLimitEndpoint rateLimitEndpoint(RateLimiter rateLimiter) {
+        return new RateLimitEndpoint(rateLimiter);
+    }
+}
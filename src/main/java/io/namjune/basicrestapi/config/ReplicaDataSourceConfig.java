@@ -0,0 +1,47 @@
+package io.namjune.basicrestapi.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.namjune.basicrestapi.common.ReplicaRoutingDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * 복제(replica) DB 설정
+ *
+ * spring.datasource.replica.url 을 설정하면 spring.datasource 의 주 DB 와 복제 DB 의 커넥션 풀을 각각 만들고,
+ * 조회 작업(JpaExecutor#supplyReadOnly, 로그인 계정 조회)만 복제 DB 로 보내는 DataSource 를 등록한다.(ReplicaRoutingDataSource)
+ * 커넥션 풀 설정은 spring.datasource.hikari, spring.datasource.replica.hikari 에서 읽는다.
+ *
+ * 설정하지 않으면 스프링 부트가 만드는 DataSource 하나를 그대로 사용한다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "spring.datasource.replica", name = "url")
+public class ReplicaDataSourceConfig {
+
+    static final String REPLICA_PREFIX = "spring.datasource.replica";
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties, Environment environment) {
+        Binder binder = Binder.get(environment);
+        DataSourceProperties replicaProperties = binder.bind(REPLICA_PREFIX, DataSourceProperties.class)
+            .orElseThrow(() -> new IllegalStateException(REPLICA_PREFIX + " is not configured"));
+
+        return ReplicaRoutingDataSource.lazy(
+            pool("primary", properties, binder, "spring.datasource.hikari"),
+            pool("replica", replicaProperties, binder, REPLICA_PREFIX + ".hikari"));
+    }
+
+    private static HikariDataSource pool(String name, DataSourceProperties properties, Binder binder, String hikariPrefix) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind(hikariPrefix, Bindable.ofInstance(dataSource));
+        dataSource.setPoolName(name);
+        return dataSource;
+    }
+}
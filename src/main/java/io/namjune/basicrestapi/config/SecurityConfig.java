@@ -1,11 +1,16 @@
 package io.namjune.basicrestapi.config;
 
 import io.namjune.basicrestapi.accounts.AccountService;
+import io.namjune.basicrestapi.accounts.BoundedTokenStore;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.security.servlet.PathRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.http.HttpMethod;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -14,7 +19,9 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.provider.token.TokenStore;
-import org.springframework.security.oauth2.provider.token.store.InMemoryTokenStore;
+import org.springframework.security.oauth2.provider.token.store.JdbcTokenStore;
+
+import javax.sql.DataSource;
 
 /**
  * @EnableWebSecurity 를 선언하고, WebSecurityConfigurerAdapter 를 상속 받는 순간
@@ -27,9 +34,29 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     private final AccountService accountService;
     private final PasswordEncoder passwordEncoder;
 
+    /**
+     * 기본 토큰 저장소. 메모리에 보관하되 토큰 수에 상한을 두고, 만료된 토큰은 저장할 때마다 조금씩 지운다.
+     *
+     * @return TokenStore
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "my-app", name = "token-store", havingValue = "memory", matchIfMissing = true)
+    public TokenStore tokenStore(AppProperties appProperties) {
+        return new BoundedTokenStore(appProperties.getTokenStoreMaxTokens());
+    }
+
+    /**
+     * my-app.token-store=jdbc 인 경우 DB 에 토큰을 저장한다.
+     * 재시작해도 토큰이 유지되고, 여러 서버가 같은 토큰을 공유할 수 있다.
+     * 테이블이 없으면 schema-oauth-token.sql 로 만든다.
+     *
+     * @return TokenStore
+     */
     @Bean
-    public TokenStore tokenStore() {
-        return new InMemoryTokenStore();
+    @ConditionalOnProperty(prefix = "my-app", name = "token-store", havingValue = "jdbc")
+    public TokenStore jdbcTokenStore(DataSource dataSource) {
+        DatabasePopulatorUtils.execute(new ResourceDatabasePopulator(new ClassPathResource("schema-oauth-token.sql")), dataSource);
+        return new JdbcTokenStore(dataSource);
     }
 
     /**
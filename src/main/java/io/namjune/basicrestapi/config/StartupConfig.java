@@ -0,0 +1,37 @@
+package io.namjune.basicrestapi.config;
+
+import io.namjune.basicrestapi.common.LazyInitializationPostProcessor;
+import io.namjune.basicrestapi.common.StartupEndpoint;
+import io.namjune.basicrestapi.common.StartupTimeline;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 기동 시간 설정
+ *
+ * 기동 단계 기록(StartupTimeline)과 /actuator/startup 을 등록하고,
+ * my-app.lazy-initialization=true 이면(fast-start 프로필) 요청 처리에 바로 필요하지 않은 빈을 지연 초기화한다.
+ */
+@Configuration
+public class StartupConfig {
+
+    // main 에서 등록한 타임라인이 없을 때(테스트 등)만 만든다. 빈 생성 시간을 재기 위해 BeanPostProcessor 로 먼저 만들어지도록 static
+    @Bean(name = StartupTimeline.BEAN_NAME)
+    @ConditionalOnMissingBean(StartupTimeline.class)
+    public static StartupTimeline startupTimeline() {
+        return new StartupTimeline();
+    }
+
+    @Bean
+    public StartupEndpoint startupEndpoint(StartupTimeline startupTimeline) {
+        return new StartupEndpoint(startupTimeline);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "my-app", name = "lazy-initialization", havingValue = "true")
+    public static LazyInitializationPostProcessor lazyInitializationPostProcessor() {
+        return new LazyInitializationPostProcessor();
+    }
+}
@@ -0,0 +1,61 @@
+package io.namjune.basicrestapi.enrollments;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.namjune.basicrestapi.accounts.Account;
+import io.namjune.basicrestapi.accounts.AccountSerializer;
+import io.namjune.basicrestapi.events.Event;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import java.time.LocalDateTime;
+
+/**
+ * 이벤트 참가 신청
+ *
+ * 이벤트마다 1 부터 limitOfEnrollment 까지의 좌석 번호를 하나씩 가진다.
+ * (이벤트, 좌석 번호) 유니크 제약이 있으므로 여러 서버가 같은 좌석을 나눠줘도 limitOfEnrollment 보다 많이 저장되지 않는다.
+ */
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@EqualsAndHashCode(of = "id")
+@Entity
+@Table(uniqueConstraints = {
+    @UniqueConstraint(name = "uk_enrollment_event_seat", columnNames = {"event_id", "seatNumber"}),
+    @UniqueConstraint(name = "uk_enrollment_event_account", columnNames = {"event_id", "account_id"})
+})
+public class Enrollment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "enrollment_seq")
+    @SequenceGenerator(name = "enrollment_seq", sequenceName = "enrollment_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JsonIgnore
+    private Event event;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JsonSerialize(using = AccountSerializer.class)
+    private Account account;
+
+    private int seatNumber;
+
+    private LocalDateTime enrolledAt;
+}
@@ -0,0 +1,62 @@
+package io.namjune.basicrestapi.enrollments;
+
+import io.namjune.basicrestapi.accounts.Account;
+import io.namjune.basicrestapi.accounts.CurrentUser;
+import io.namjune.basicrestapi.common.ErrorsResource;
+import io.namjune.basicrestapi.common.JpaExecutor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.Errors;
+import org.springframework.validation.MapBindingResult;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+
+@Controller
+@RequestMapping(value = "/api/events/{eventId}/enrollments", produces = MediaTypes.HAL_JSON_UTF8_VALUE)
+@RequiredArgsConstructor
+public class EnrollmentController {
+
+    private final EnrollmentService enrollmentService;
+    private final JpaExecutor jpaExecutor;
+
+    /**
+     * 이벤트 참가 신청
+     *
+     * @param eventId     이벤트 id
+     * @param currentUser 신청하는 사용자
+     * @return 201. 좌석이 모두 찼거나 이미 신청했으면 409, 이벤트가 없으면 404
+     */
+    @PostMapping
+    public CompletableFuture<ResponseEntity> createEnrollment(@PathVariable Long eventId,
+                                                              @CurrentUser Account currentUser) {
+        return this.jpaExecutor.supply(() -> {
+            EnrollmentResult result = this.enrollmentService.enroll(eventId, currentUser);
+            switch (result.getStatus()) {
+                case EVENT_NOT_FOUND:
+                    return ResponseEntity.notFound().build();
+                case ALREADY_ENROLLED:
+                    return conflict("alreadyEnrolled", "The account has already enrolled in the event");
+                case FULL:
+                    return conflict("full", "The event has no seats left");
+                default:
+                    EnrollmentResource enrollmentResource = new EnrollmentResource(result.getEnrollment(), eventId);
+                    enrollmentResource.add(new Link("/docs/index.html#resources-enrollments-create").withRel("profile"));
+                    return ResponseEntity.status(HttpStatus.CREATED).body(enrollmentResource);
+            }
+        });
+    }
+
+    private ResponseEntity conflict(String code, String message) {
+        Errors errors = new MapBindingResult(new HashMap<>(), "enrollment");
+        errors.reject(code, message);
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorsResource(errors));
+    }
+}
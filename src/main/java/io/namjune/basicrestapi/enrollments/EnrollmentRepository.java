@@ -0,0 +1,22 @@
+package io.namjune.basicrestapi.enrollments;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
+
+    boolean existsByEventIdAndAccountId(Long eventId, Long accountId);
+
+    boolean existsByEventIdAndSeatNumber(Long eventId, int seatNumber);
+
+    long countByEventId(Long eventId);
+
+    // 좌석 카운터(SeatCounter)를 DB 에 저장된 좌석으로 초기화, 재조정할 때 사용한다.
+    @Query("select e.seatNumber from Enrollment e where e.event.id = ?1")
+    List<Integer> findSeatNumbersByEventId(Long eventId);
+
+    @Query("select coalesce(max(e.seatNumber), 0) from Enrollment e where e.event.id = ?1")
+    int findMaxSeatNumberByEventId(Long eventId);
+}
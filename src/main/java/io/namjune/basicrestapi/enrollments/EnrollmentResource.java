@@ -0,0 +1,14 @@
+package io.namjune.basicrestapi.enrollments;
+
+import io.namjune.basicrestapi.common.LinkTemplates;
+import io.namjune.basicrestapi.events.EventController;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.Resource;
+
+public class EnrollmentResource extends Resource<Enrollment> {
+
+    public EnrollmentResource(Enrollment enrollment, Long eventId, Link... links) {
+        super(enrollment, links);
+        add(LinkTemplates.link(EventController.class, eventId, "event"));
+    }
+}
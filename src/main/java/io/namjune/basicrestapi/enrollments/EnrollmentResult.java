@@ -0,0 +1,25 @@
+package io.namjune.basicrestapi.enrollments;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+@Value
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class EnrollmentResult {
+
+    public enum Status {
+        ENROLLED, EVENT_NOT_FOUND, ALREADY_ENROLLED, FULL
+    }
+
+    private final Status status;
+    private final Enrollment enrollment;
+
+    static EnrollmentResult enrolled(Enrollment enrollment) {
+        return new EnrollmentResult(Status.ENROLLED, enrollment);
+    }
+
+    static EnrollmentResult of(Status status) {
+        return new EnrollmentResult(status, null);
+    }
+}
@@ -0,0 +1,104 @@
+package io.namjune.basicrestapi.enrollments;
+
+import io.namjune.basicrestapi.accounts.Account;
+import io.namjune.basicrestapi.events.Event;
+import io.namjune.basicrestapi.events.EventChangedEvent;
+import io.namjune.basicrestapi.events.EventRepository;
+import io.namjune.basicrestapi.events.EventStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 이벤트 참가 신청
+ *
+ * 인기 이벤트는 신청이 열리면 한 이벤트(한 row)에 초당 수천 건이 몰리기 때문에,
+ * 이벤트 row 를 잠그고(select for update) 남은 좌석을 세지 않고 이벤트마다 메모리의 좌석 카운터(SeatCounter)로 좌석 번호를 나눠준다.
+ * 좌석을 받은 신청만 insert 하고, 마감된 뒤의 신청은 DB 에 가지 않고 바로 거절한다.
+ *
+ * DB 가 기준이다. 카운터는 처음 사용할 때 저장된 좌석으로 초기화하고,
+ * 다른 서버가 먼저 저장한 좌석(유니크 제약 위반)을 받으면 DB 의 마지막 좌석 번호로 카운터를 옮기고 다시 시도한다.
+ *
+ * 카운터는 신청을 받는 이벤트만 가지고 있는다. 등록이 마감되면(CLOSED_ENROLLMENT 이후, EventChangedEvent) 지우고,
+ * 이미 마감된 이벤트의 신청은 카운터를 보관하지 않고 DB 의 좌석으로 그때마다 만든다.
+ */
+@Service
+@RequiredArgsConstructor
+public class EnrollmentService {
+
+    private final EventRepository eventRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final ConcurrentMap<Long, SeatCounter> seatCounters = new ConcurrentHashMap<>();
+
+    /**
+     * @param eventId 이벤트 id
+     * @param account 신청하는 계정
+     * @return 신청 결과
+     */
+    public EnrollmentResult enroll(Long eventId, Account account) {
+        Optional<Event> optionalEvent = this.eventRepository.findById(eventId);
+        if (!optionalEvent.isPresent()) {
+            return EnrollmentResult.of(EnrollmentResult.Status.EVENT_NOT_FOUND);
+        }
+        Event event = optionalEvent.get();
+        if (this.enrollmentRepository.existsByEventIdAndAccountId(eventId, account.getId())) {
+            return EnrollmentResult.of(EnrollmentResult.Status.ALREADY_ENROLLED);
+        }
+
+        SeatCounter seatCounter = isEnrollmentClosed(event.getEventStatus())
+            ? new SeatCounter(this.enrollmentRepository.findSeatNumbersByEventId(eventId))
+            : this.seatCounters.computeIfAbsent(eventId,
+                id -> new SeatCounter(this.enrollmentRepository.findSeatNumbersByEventId(id)));
+        while (true) {
+            int seat = seatCounter.acquire(event.getLimitOfEnrollment());
+            if (seat == 0) {
+                return EnrollmentResult.of(EnrollmentResult.Status.FULL);
+            }
+
+            try {
+                Enrollment enrollment = Enrollment.builder()
+                    .event(event)
+                    .account(account)
+                    .seatNumber(seat)
+                    .enrolledAt(LocalDateTime.now())
+                    .build();
+                return EnrollmentResult.enrolled(this.enrollmentRepository.saveAndFlush(enrollment));
+            } catch (DataIntegrityViolationException e) {
+                // 같은 계정의 신청이 동시에 들어온 경우. 받은 좌석은 돌려준다.
+                if (this.enrollmentRepository.existsByEventIdAndAccountId(eventId, account.getId())) {
+                    seatCounter.release(seat);
+                    return EnrollmentResult.of(EnrollmentResult.Status.ALREADY_ENROLLED);
+                }
+                if (!this.enrollmentRepository.existsByEventIdAndSeatNumber(eventId, seat)) {
+                    seatCounter.release(seat);
+                    throw e;
+                }
+                // 다른 서버가 먼저 저장한 좌석
+                seatCounter.advanceTo(this.enrollmentRepository.findMaxSeatNumberByEventId(eventId));
+            }
+        }
+    }
+
+    // 상태가 바뀌어(EventStatusScheduler 또는 수정) 등록이 마감된 이벤트의 카운터는 더 쓰지 않으므로 지운다.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent changedEvent) {
+        Event event = changedEvent.getEvent();
+        if (isEnrollmentClosed(event.getEventStatus())) {
+            this.seatCounters.remove(event.getId());
+        }
+    }
+
+    int seatCounterCount() {
+        return this.seatCounters.size();
+    }
+
+    private static boolean isEnrollmentClosed(EventStatus eventStatus) {
+        return eventStatus != null && eventStatus.compareTo(EventStatus.CLOSED_ENROLLMENT) >= 0;
+    }
+}
@@ -0,0 +1,68 @@
+package io.namjune.basicrestapi.enrollments;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 이벤트 하나의 좌석 번호를 나눠주는 락 없는 카운터
+ *
+ * 마지막으로 나눠준 좌석 번호를 CAS 로 올리고, 신청이 저장되지 않아 돌려받은 좌석은 다음 신청에 먼저 준다.
+ * 좌석 번호가 limitOfEnrollment 를 넘으면 더 나눠주지 않으므로 DB 에 가지 않고 마감을 알 수 있다.
+ */
+class SeatCounter {
+
+    private final AtomicInteger lastSeat;
+    private final Queue<Integer> released = new ConcurrentLinkedQueue<>();
+
+    /**
+     * @param takenSeats DB 에 저장된 좌석 번호. 중간에 빈 좌석은 돌려받은 좌석으로 시작한다.
+     */
+    SeatCounter(Collection<Integer> takenSeats) {
+        BitSet taken = new BitSet();
+        takenSeats.forEach(taken::set);
+        int last = taken.length() - 1;
+        this.lastSeat = new AtomicInteger(Math.max(last, 0));
+        for (int seat = taken.nextClearBit(1); seat < last; seat = taken.nextClearBit(seat + 1)) {
+            this.released.add(seat);
+        }
+    }
+
+    /**
+     * @param limit 좌석 수
+     * @return 좌석 번호. 남은 좌석이 없으면 0
+     */
+    int acquire(int limit) {
+        Integer seat;
+        // 좌석 수가 줄어든 경우 범위를 넘는 돌려받은 좌석은 버린다.
+        while ((seat = this.released.poll()) != null) {
+            if (seat <= limit) {
+                return seat;
+            }
+        }
+        while (true) {
+            int last = this.lastSeat.get();
+            if (last >= limit) {
+                return 0;
+            }
+            if (this.lastSeat.compareAndSet(last, last + 1)) {
+                return last + 1;
+            }
+        }
+    }
+
+    void release(int seat) {
+        this.released.add(seat);
+    }
+
+    /**
+     * 다른 서버가 나눠준 좌석까지 건너뛴다.
+     *
+     * @param seat DB 에 저장된 마지막 좌석 번호
+     */
+    void advanceTo(int seat) {
+        this.lastSeat.accumulateAndGet(seat, Math::max);
+    }
+}
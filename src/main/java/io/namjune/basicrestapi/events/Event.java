@@ -1,14 +1,21 @@
 package io.namjune.basicrestapi.events;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import io.namjune.basicrestapi.accounts.Account;
 import java.time.LocalDateTime;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
+import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import javax.persistence.Version;
 
 import io.namjune.basicrestapi.accounts.AccountSerializer;
 import lombok.AllArgsConstructor;
@@ -17,6 +24,9 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Builder
 @AllArgsConstructor
@@ -25,10 +35,28 @@ import lombok.Setter;
 @Setter
 @EqualsAndHashCode(of = "id")
 @Entity
+// 목록 조회 조건(EventSpecifications)용 복합 인덱스. 등호 조건 컬럼을 앞에, 범위 조건 컬럼을 뒤에 둔다.
+// 복합 인덱스는 선두 컬럼 조건이 없으면 사용할 수 없으므로, 뒤쪽 컬럼만으로 조회하는 조건(free, maxPrice, eventTo, enrollmentTo)은 인덱스를 따로 둔다.
+@Table(indexes = {
+    @Index(name = "idx_event_status_begin_event", columnList = "eventStatus, beginEventDateTime"),
+    @Index(name = "idx_event_offline_free_price", columnList = "offline, free, basePrice"),
+    @Index(name = "idx_event_free_price", columnList = "free, basePrice"),
+    @Index(name = "idx_event_price", columnList = "basePrice, maxPrice"),
+    @Index(name = "idx_event_max_price", columnList = "maxPrice"),
+    @Index(name = "idx_event_event_period", columnList = "beginEventDateTime, endEventDateTime"),
+    @Index(name = "idx_event_end_event", columnList = "endEventDateTime"),
+    @Index(name = "idx_event_enrollment_period", columnList = "beginEnrollmentDateTime, closeEnrollmentDateTime"),
+    @Index(name = "idx_event_close_enrollment", columnList = "closeEnrollmentDateTime")
+})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "events")   // 조회가 대부분이므로 2차 캐시 적용, 크기와 TTL 은 ehcache.xml
+@DynamicUpdate  // 부분 수정(PATCH)에서 바뀐 컬럼만 UPDATE 한다.
 public class Event {
 
+    // IDENTITY 나 increment 1 짜리 시퀀스는 insert 배치가 되지 않기 때문에, 50개씩 미리 할당받는 pooled 시퀀스를 사용한다.
+    // 시퀀스를 지원하지 않는 MySQL 에서는 Hibernate 가 event_seq 테이블로 대신한다.
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_seq")
+    @SequenceGenerator(name = "event_seq", sequenceName = "event_seq", allocationSize = 50)
     private Long id;
     private String name;
     private String description;
@@ -45,10 +73,29 @@ public class Event {
     @Enumerated(EnumType.STRING)
     private EventStatus eventStatus = EventStatus.DRAFT;
 
-    @ManyToOne
+    // 수정될 때마다 증가하는 버전. 응답 본문 대신 ETag 헤더로 내려준다.
+    @Version
+    @JsonIgnore
+    private Long version;
+
+    // 응답에는 manager.id 만 내려가므로 LAZY 로 두고 FK(id) 만 가진 프록시로 사용한다.
+    // EAGER 면 목록 조회시 매니저 수 만큼 Account(+ roles) 조회가 추가로 발생한다.(N+1)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonSerialize(using = AccountSerializer.class)
     private Account manager;
 
+    /**
+     * 매니저 여부 확인
+     * equals 를 사용하면 LAZY 프록시가 초기화 되기 때문에 프록시에서 바로 꺼낼 수 있는 id 로만 비교한다.
+     *
+     * @param account 현재 사용자
+     * @return 이벤트의 매니저인지 여부
+     */
+    public boolean isManagedBy(Account account) {
+        return account != null && this.manager != null
+            && this.manager.getId().equals(account.getId());
+    }
+
     public void updateDynamicField() {
         this.updateFree();
         this.updateOffline();
@@ -58,9 +105,8 @@ public class Event {
         this.free = this.basePrice == 0 && this.maxPrice == 0;
     }
 
+    // 부분 수정으로 장소를 지우면 다시 온라인 이벤트가 된다.
     public void updateOffline() {
-        if (this.location != null && !this.location.trim().isEmpty()) {
-            this.offline = true;
-        }
+        this.offline = this.location != null && !this.location.trim().isEmpty();
     }
 }
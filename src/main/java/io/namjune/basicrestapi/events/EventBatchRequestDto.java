@@ -0,0 +1,27 @@
+package io.namjune.basicrestapi.events;
+
+import java.util.List;
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 이벤트 일괄 생성 요청
+ *
+ * 각 항목의 검증 에러는 events[인덱스].필드 경로로 담긴다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventBatchRequestDto {
+
+    @NotEmpty
+    @Size(max = 1000)
+    @Valid
+    private List<EventRequestDto> events;
+}
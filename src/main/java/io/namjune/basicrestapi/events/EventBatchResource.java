@@ -0,0 +1,31 @@
+package io.namjune.basicrestapi.events;
+
+import io.namjune.basicrestapi.common.LinkTemplates;
+import java.util.List;
+import java.util.stream.Collectors;
+import lombok.Getter;
+import org.springframework.hateoas.ResourceSupport;
+import org.springframework.validation.Errors;
+
+/**
+ * 이벤트 일괄 생성 결과
+ *
+ * 생성된 이벤트는 본문 전체 대신 id 와 created-events 링크만 내려준다.
+ * 검증에 실패해서 저장하지 않은 항목은 errors 에 ErrorSerializer 형식으로 담긴다.
+ */
+@Getter
+public class EventBatchResource extends ResourceSupport {
+
+    private final List<Long> ids;
+
+    private final Errors errors;
+
+    public EventBatchResource(List<Event> createdEvents, Errors errors) {
+        this.ids = createdEvents.stream()
+            .map(Event::getId)
+            .collect(Collectors.toList());
+        this.errors = errors;
+
+        createdEvents.forEach(e -> add(LinkTemplates.link(EventController.class, e.getId(), "created-events")));
+    }
+}
@@ -0,0 +1,247 @@
+package io.namjune.basicrestapi.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.namjune.basicrestapi.config.AppProperties;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 이벤트 생성, 수정을 Server-Sent Events 로 보내는 변경 스트림
+ *
+ * 변경마다 순번(SSE id)을 붙여서 크기가 정해진 링 버퍼에 보관한다. 다시 연결한 클라이언트가 Last-Event-ID 를 보내면
+ * 버퍼에 남아있는 이후 변경부터 이어서 보내고, 이미 버퍼에서 밀려났거나 재시작 전의 순번이면(현재 순번보다 큰 id)
+ * reset 이벤트를 보내서 목록을 다시 조회하게 한다.
+ *
+ * 구독자마다 크기가 정해진 대기열을 두고 별도 스레드에서 보낸다. 변경을 발행하는 쪽(요청 처리 스레드)은 대기열에 넣기만 하고,
+ * 느린 구독자의 대기열이 가득 차면 메모리가 늘어나지 않도록 그 구독자의 연결을 끊는다. 클라이언트는 Last-Event-ID 로 다시 연결하면 된다.
+ */
+@Slf4j
+@Component
+public class EventChangeFeed implements MeterBinder, DisposableBean {
+
+    static final String RESET = "reset";
+
+    private final ObjectMapper objectMapper;
+    private final int queueCapacity;
+    private final long timeout;
+
+    // 링 버퍼. 순번 n 인 변경은 buffer[(n - 1) % length] 에 있다.
+    private final Entry[] buffer;
+    private long lastSequence;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService sender;
+    private volatile Counter dropped;
+
+    public EventChangeFeed(ObjectMapper objectMapper, AppProperties appProperties) {
+        this.objectMapper = objectMapper;
+        this.queueCapacity = appProperties.getEventStreamQueueCapacity();
+        this.timeout = appProperties.getEventStreamTimeout().toMillis();
+        this.buffer = new Entry[appProperties.getEventStreamBufferSize()];
+        this.sender = Executors.newFixedThreadPool(appProperties.getEventStreamSenderThreads(),
+            new CustomizableThreadFactory("event-stream-"));
+    }
+
+    /**
+     * SSE id, 이벤트 이름, JSON 데이터. 구독자 모두에게 같은 문자열을 보낸다.
+     */
+    @Value
+    static class Entry {
+        private final long id;
+        private final String name;
+        private final String data;
+    }
+
+    /**
+     * @param lastEventId 클라이언트가 마지막으로 받은 SSE id. 처음 연결이면 null
+     * @return 응답으로 사용할 SseEmitter
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        return subscribe(lastEventId, new SseEmitter(this.timeout));
+    }
+
+    SseEmitter subscribe(Long lastEventId, SseEmitter emitter) {
+        Subscriber subscriber;
+        synchronized (this) {
+            List<Entry> missed = lastEventId == null ? new ArrayList<>() : entriesAfter(lastEventId);
+            if (missed == null) {
+                missed = new ArrayList<>();
+                missed.add(new Entry(this.lastSequence, RESET, "{}"));
+            }
+            // 놓친 변경은 대기열 크기와 상관없이 모두 넣는다. (최대 버퍼 크기)
+            subscriber = new Subscriber(emitter, new ArrayBlockingQueue<>(this.queueCapacity + missed.size()));
+            subscriber.queue.addAll(missed);
+            this.subscribers.add(subscriber);
+        }
+        Subscriber registered = subscriber;
+        emitter.onCompletion(() -> remove(registered));
+        emitter.onTimeout(() -> remove(registered));
+        emitter.onError(e -> remove(registered));
+        schedule(subscriber);
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent changedEvent) {
+        if (changedEvent.getType() == EventChangedEvent.Type.UPDATED && changedEvent.getChanges().isEmpty()) {
+            return;
+        }
+        Event event = changedEvent.getEvent();
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("id", event.getId());
+        data.put("version", event.getVersion());
+        data.put("changes", changedEvent.getChanges());
+        String json;
+        try {
+            json = this.objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize change of event {}", event.getId(), e);
+            return;
+        }
+        publish(changedEvent.getType().name().toLowerCase(), json);
+    }
+
+    void publish(String name, String data) {
+        Entry entry;
+        synchronized (this) {
+            entry = new Entry(++this.lastSequence, name, data);
+            this.buffer[(int) ((entry.getId() - 1) % this.buffer.length)] = entry;
+            for (Subscriber subscriber : this.subscribers) {
+                if (!subscriber.queue.offer(entry)) {
+                    drop(subscriber);
+                }
+            }
+        }
+        this.subscribers.forEach(this::schedule);
+    }
+
+    synchronized long getLastEventId() {
+        return this.lastSequence;
+    }
+
+    public int getSubscriberCount() {
+        return this.subscribers.size();
+    }
+
+    // 버퍼에서 lastEventId 이후의 변경. 이미 버퍼에서 밀려난 변경이 있거나 이 프로세스가 발행한 적 없는 id 이면 null
+    private List<Entry> entriesAfter(long lastEventId) {
+        List<Entry> entries = new ArrayList<>();
+        if (lastEventId == this.lastSequence) {
+            return entries;
+        }
+        // 순번은 프로세스가 시작될 때 0 부터 다시 센다. 재시작 전에 받은 id 이면 그 사이 변경을 알 수 없다.
+        if (lastEventId > this.lastSequence) {
+            return null;
+        }
+        long oldest = Math.max(1, this.lastSequence - this.buffer.length + 1);
+        if (lastEventId + 1 < oldest) {
+            return null;
+        }
+        for (long id = lastEventId + 1; id <= this.lastSequence; id++) {
+            entries.add(this.buffer[(int) ((id - 1) % this.buffer.length)]);
+        }
+        return entries;
+    }
+
+    // 보내는 중인 SseEmitter 를 다른 스레드에서 완료하면 send 가 끝날 때까지 기다리게 되므로, 보내는 스레드에서 완료한다.
+    private void drop(Subscriber subscriber) {
+        this.subscribers.remove(subscriber);
+        subscriber.closed = true;
+        subscriber.queue.clear();
+        if (this.dropped != null) {
+            this.dropped.increment();
+        }
+        log.debug("Dropped slow event stream subscriber");
+        schedule(subscriber);
+    }
+
+    private void remove(Subscriber subscriber) {
+        this.subscribers.remove(subscriber);
+        subscriber.done = true;
+        subscriber.queue.clear();
+    }
+
+    // 구독자 하나는 한 스레드에서만 보내도록 sending 플래그로 순서를 지킨다.
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.done || (subscriber.queue.isEmpty() && !subscriber.closed)
+            || !subscriber.sending.compareAndSet(false, true)) {
+            return;
+        }
+        this.sender.execute(() -> {
+            try {
+                Entry entry;
+                while (!subscriber.closed && (entry = subscriber.queue.poll()) != null) {
+                    subscriber.emitter.send(SseEmitter.event()
+                        .id(String.valueOf(entry.getId()))
+                        .name(entry.getName())
+                        .data(entry.getData()));
+                }
+                if (subscriber.closed) {
+                    subscriber.done = true;
+                    subscriber.emitter.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                // 클라이언트가 연결을 끊었거나 이미 완료된 구독
+                remove(subscriber);
+            } finally {
+                subscriber.sending.set(false);
+            }
+            schedule(subscriber);
+        });
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("events.stream.subscribers", this, EventChangeFeed::getSubscriberCount)
+            .description("The number of connected event stream subscribers")
+            .register(registry);
+        this.dropped = Counter.builder("events.stream.dropped")
+            .description("The number of subscribers disconnected because their queue was full")
+            .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        this.subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        this.sender.shutdownNow();
+    }
+
+    private static class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Queue<Entry> queue;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        // 대기열이 가득 차서 끊어야 하는 구독
+        private volatile boolean closed;
+        // 연결이 끝난 구독
+        private volatile boolean done;
+
+        Subscriber(SseEmitter emitter, Queue<Entry> queue) {
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+    }
+}
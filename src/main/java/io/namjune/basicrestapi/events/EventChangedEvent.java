@@ -0,0 +1,76 @@
+package io.namjune.basicrestapi.events;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 이벤트가 생성되거나 수정된 뒤 발행하는 애플리케이션 이벤트
+ * 검색 인덱스(EventSearchIndex), 변경 스트림(EventChangeFeed) 처럼 저장된 이벤트를 따라가야 하는 곳에서 받는다.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class EventChangedEvent {
+
+    public enum Type {
+        CREATED, UPDATED
+    }
+
+    private final Type type;
+    private final Event event;
+    // 바뀐 필드 이름 -> 바뀐 값. 생성이면 전체 필드
+    private final Map<String, Object> changes;
+
+    public static EventChangedEvent created(Event event) {
+        return new EventChangedEvent(Type.CREATED, event, Collections.unmodifiableMap(fieldsOf(event)));
+    }
+
+    /**
+     * @param event  수정된 이벤트
+     * @param before 수정하기 전에 fieldsOf 로 저장해둔 필드 값
+     */
+    public static EventChangedEvent updated(Event event, Map<String, Object> before) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        fieldsOf(event).forEach((field, value) -> {
+            if (!Objects.equals(before.get(field), value)) {
+                changes.put(field, value);
+            }
+        });
+        return new EventChangedEvent(Type.UPDATED, event, Collections.unmodifiableMap(changes));
+    }
+
+    /**
+     * 수정하기 전 값을 읽지 않은 경우(If-Match 수정) 전체 필드를 바뀐 것으로 본다.
+     *
+     * @param event 수정된 이벤트
+     */
+    public static EventChangedEvent updated(Event event) {
+        return new EventChangedEvent(Type.UPDATED, event, Collections.unmodifiableMap(fieldsOf(event)));
+    }
+
+    /**
+     * 클라이언트가 수정할 수 있거나 수정에 따라 바뀌는 필드 값
+     */
+    static Map<String, Object> fieldsOf(Event event) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("name", event.getName());
+        fields.put("description", event.getDescription());
+        fields.put("beginEnrollmentDateTime", event.getBeginEnrollmentDateTime());
+        fields.put("closeEnrollmentDateTime", event.getCloseEnrollmentDateTime());
+        fields.put("beginEventDateTime", event.getBeginEventDateTime());
+        fields.put("endEventDateTime", event.getEndEventDateTime());
+        fields.put("location", event.getLocation());
+        fields.put("basePrice", event.getBasePrice());
+        fields.put("maxPrice", event.getMaxPrice());
+        fields.put("limitOfEnrollment", event.getLimitOfEnrollment());
+        fields.put("offline", event.isOffline());
+        fields.put("free", event.isFree());
+        fields.put("eventStatus", event.getEventStatus());
+        return fields;
+    }
+}
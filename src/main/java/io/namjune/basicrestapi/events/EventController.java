@@ -1,45 +1,81 @@
 package io.namjune.basicrestapi.events;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import io.namjune.basicrestapi.accounts.Account;
 import io.namjune.basicrestapi.accounts.CurrentUser;
 import io.namjune.basicrestapi.common.ErrorsResource;
+import io.namjune.basicrestapi.common.JpaExecutor;
+import io.namjune.basicrestapi.common.LinkTemplates;
+import io.namjune.basicrestapi.common.ReadYourWrites;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.web.PagedResourcesAssembler;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.MediaTypes;
 import org.springframework.hateoas.PagedResources;
 import org.springframework.hateoas.Resource;
-import org.springframework.hateoas.mvc.ControllerLinkBuilder;
+import org.springframework.hateoas.Resources;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.Errors;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-
-import static org.springframework.hateoas.mvc.ControllerLinkBuilder.linkTo;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Controller
 @RequestMapping(value = "/api/events", produces = MediaTypes.HAL_JSON_UTF8_VALUE)
 @RequiredArgsConstructor
 public class EventController {
 
-    private static final ControllerLinkBuilder ROOT_LINK_BUILDER = linkTo(EventController.class);
-
     private final EventRepository eventRepository;
-    private final ModelMapper modelMapper;
+    private final EventMapper eventMapper;
     private final EventValidator eventValidator;
+    private final EventMergePatch eventMergePatch;
+    private final EventExporter eventExporter;
+    private final EventSearchIndex eventSearchIndex;
+    private final EventChangeFeed eventChangeFeed;
+    private final RenderedEventCache renderedEventCache;
+    private final ApplicationEventPublisher eventPublisher;
+    // 핸들러의 DB 작업은 Tomcat 워커 대신 커넥션 풀 크기의 JpaExecutor 에서 실행하고 CompletableFuture 로 응답한다.
+    // 조회 핸들러는 supplyReadOnly 로 실행해서 복제 DB 가 있으면 복제 DB 에서 읽는다.
+    private final JpaExecutor jpaExecutor;
+    // 생성, 수정한 사용자는 잠시 동안 주 DB 에서 조회한다.
+    private final ReadYourWrites readYourWrites;
 
     /**
      * 이벤트 생성
@@ -49,117 +85,396 @@ public class EventController {
      * @return ResponseEntity
      */
     @PostMapping
-    public ResponseEntity createEvent(@RequestBody @Valid EventRequestDto eventRequestDto,
-                                      Errors errors,
-                                      @CurrentUser Account account) {
-        if (errors.hasErrors()) {
-            return badRequest(errors);
-        }
+    public CompletableFuture<ResponseEntity> createEvent(@RequestBody @Valid EventRequestDto eventRequestDto,
+                                                         Errors errors,
+                                                         @CurrentUser Account account) {
+        return this.jpaExecutor.supply(() -> {
+            if (errors.hasErrors()) {
+                return badRequest(errors);
+            }
 
-        eventValidator.validate(eventRequestDto, errors);
-        if (errors.hasErrors()) {
-            return badRequest(errors);
-        }
+            eventValidator.validate(eventRequestDto, errors);
+            if (errors.hasErrors()) {
+                return badRequest(errors);
+            }
 
-        Event event = modelMapper.map(eventRequestDto, Event.class);
-        event.updateDynamicField();
-        event.setManager(account);  // 현재 유저를 이벤트의 매니저로 등록
-        Event savedEvent = this.eventRepository.save(event);
+            Event event = this.eventMapper.toEvent(eventRequestDto);
+            event.updateDynamicField();
+            event.setManager(account);  // 현재 유저를 이벤트의 매니저로 등록
+            Event savedEvent = this.eventRepository.save(event);
+            this.eventPublisher.publishEvent(EventChangedEvent.created(savedEvent));
+            this.readYourWrites.wrote(account.getEmail());
 
-        //HATEOAS link 추가
-        ControllerLinkBuilder selfLinkBuilder = ROOT_LINK_BUILDER.slash(savedEvent.getId());
-        URI createdUri = selfLinkBuilder.toUri();
+            //HATEOAS link 추가
+            URI createdUri = LinkTemplates.uri(EventController.class, savedEvent.getId());
 
-        EventResource eventResource = new EventResource(event);
-        //self link는 매번 API 마다 추가 해야하므로 EventResource에서 공통 처리
-        eventResource.add(ROOT_LINK_BUILDER.withRel("query-events"));
-        eventResource.add(selfLinkBuilder.withRel("update-event"));
-        eventResource.add(new Link("/docs/index.html#resources-events-create").withRel("profile"));
+            EventResource eventResource = new EventResource(event);
+            //self link는 매번 API 마다 추가 해야하므로 EventResource에서 공통 처리
+            eventResource.add(LinkTemplates.link(EventController.class, "query-events"));
+            eventResource.add(LinkTemplates.link(EventController.class, savedEvent.getId(), "update-event"));
+            eventResource.add(new Link("/docs/index.html#resources-events-create").withRel("profile"));
 
-        return ResponseEntity.created(createdUri).body(eventResource);
+            return ResponseEntity.created(createdUri).body(eventResource);
+        });
+    }
+
+    /**
+     * 이벤트 일괄 생성
+     *
+     * 모든 항목을 검증한 뒤, 검증을 통과한 이벤트만 한 트랜잭션에서 JDBC 배치 insert 로 저장한다.
+     * 검증에 실패한 항목은 저장하지 않고 events[인덱스].필드 경로의 에러로 함께 내려준다.
+     *
+     * @param batchRequestDto 요청 객체
+     * @param errors          에러 객체
+     * @return ResponseEntity 하나라도 저장되면 201, 모두 실패하면 400
+     */
+    @PostMapping("/batch")
+    public CompletableFuture<ResponseEntity> createEvents(@RequestBody @Valid EventBatchRequestDto batchRequestDto,
+                                                          Errors errors,
+                                                          @CurrentUser Account account) {
+        return this.jpaExecutor.supply(() -> {
+            // 목록 자체가 비었거나 너무 큰 경우
+            if (errors.hasFieldErrors("events")) {
+                return badRequest(errors);
+            }
+
+            List<EventRequestDto> eventRequestDtos = batchRequestDto.getEvents();
+            List<Event> events = new ArrayList<>(eventRequestDtos.size());
+            for (int i = 0; i < eventRequestDtos.size(); i++) {
+                String path = "events[" + i + "]";
+                EventRequestDto eventRequestDto = eventRequestDtos.get(i);
+                if (eventRequestDto == null) {
+                    errors.rejectValue(path, "NotNull", "must not be null");
+                    continue;
+                }
+                // 필수값이 없는 항목은 EventValidator 에서 NPE 가 나므로 바로 건너뛴다.
+                if (errors.hasFieldErrors(path + ".*")) {
+                    continue;
+                }
+
+                int errorCount = errors.getErrorCount();
+                errors.pushNestedPath(path);
+                this.eventValidator.validate(eventRequestDto, errors);
+                errors.popNestedPath();
+                if (errors.getErrorCount() > errorCount) {
+                    continue;
+                }
+
+                Event event = this.eventMapper.toEvent(eventRequestDto);
+                event.updateDynamicField();
+                event.setManager(account);
+                events.add(event);
+            }
+
+            if (events.isEmpty()) {
+                return badRequest(errors);
+            }
+
+            List<Event> savedEvents = this.eventRepository.saveAll(events);
+            savedEvents.forEach(e -> this.eventPublisher.publishEvent(EventChangedEvent.created(e)));
+            this.readYourWrites.wrote(account.getEmail());
+
+            EventBatchResource eventBatchResource = new EventBatchResource(savedEvents, errors);
+            eventBatchResource.add(LinkTemplates.link(EventController.class, "query-events"));
+            eventBatchResource.add(new Link("/docs/index.html#resources-events-create-batch").withRel("profile"));
+
+            return ResponseEntity.status(HttpStatus.CREATED).body(eventBatchResource);
+        });
     }
 
     /**
      * 이벤트 목록 조회
      *
+     * cursor 파라미터가 있으면 키셋(커서) 페이징으로, 없으면 기존의 page/size 페이징으로 조회한다.
+     *
      * @param pageable  페이징 요청 객체
      * @param assembler 페이지를 리소스 객체로 바꿔서 링크정보를 추가할 때 유용하게 사용되는 Spring-Data-JPA가 제공하는 객체
+     * @param condition 조회 조건(eventStatus, free, offline, 가격 범위, 이벤트/등록 기간). 없으면 전체
+     * @param cursor    이전 응답의 next/prev 링크로 받은 커서. 빈 값이면 첫 페이지
+     * @param ifNoneMatch 이전 응답에서 받은 ETag. 목록이 바뀌지 않았으면 304 응답
      * @return ResponseEntity
      */
     @GetMapping
-    public ResponseEntity queryEvents(Pageable pageable, PagedResourcesAssembler<Event> assembler,
-                                      @CurrentUser Account account) {
-        // Spring Expression Language 를 사용하면 @AuthenticationPrincipal 를 사용해서 스프링 시큐리티의 User를 받는 과정에서
-        // 시큐리티의 User를 상속 받은 AccountAdapter의 필드인 account를 바로 받을 수 있다.
+    public CompletableFuture<ResponseEntity> queryEvents(Pageable pageable, PagedResourcesAssembler<Event> assembler,
+                                                         @ModelAttribute EventSearchCondition condition,
+                                                         @RequestParam(required = false) String cursor,
+                                                         @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) List<String> ifNoneMatch,
+                                                         @CurrentUser Account account) {
+        return this.jpaExecutor.supplyReadOnly(() -> {
+            Specification<Event> spec = EventSpecifications.of(condition);
+            if (cursor != null) {
+                return queryEventsByCursor(cursor, spec, pageable.getPageSize(), ifNoneMatch, account);
+            }
 
-        // 테스트코드를 디버거로 잡아서 Authentication 안에 있는 스프링 시큐리티가 제공하는 User(스프링 시큐리티의 유저)
-        // 정보를 통해서 username을 접근할 수 도 있다. 우리의 목표는 사용자를 우리의 Entity인 Account로 받는 것이다.
-//        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-//        User principal = (User) authentication.getPrincipal();
+            // Spring Expression Language 를 사용하면 @AuthenticationPrincipal 를 사용해서 스프링 시큐리티의 User를 받는 과정에서
+            // 시큐리티의 User를 상속 받은 AccountAdapter의 필드인 account를 바로 받을 수 있다.
 
-        Page<Event> page = this.eventRepository.findAll(pageable);
+            // 테스트코드를 디버거로 잡아서 Authentication 안에 있는 스프링 시큐리티가 제공하는 User(스프링 시큐리티의 유저)
+            // 정보를 통해서 username을 접근할 수 도 있다. 우리의 목표는 사용자를 우리의 Entity인 Account로 받는 것이다.
+    //        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    //        User principal = (User) authentication.getPrincipal();
 
-        // repository에서 받아온 page를 리소스 객체로 변경
-        PagedResources<Resource<Event>> pagedResources = assembler.toResource(page, e -> new EventResource(e));
-        pagedResources.add(new Link("/docs/index.html#resources-events-list").withRel("profile"));
+            Page<Event> page;
+            if (spec != null) {
+                // 조회 조건이 있으면 Event 테이블의 복합 인덱스로 조회한다.
+                page = this.eventRepository.findAll(spec, pageable);
+            } else if (ifNoneMatch != null) {
+                // 조건부 요청이면 id, version 만 먼저 조회해서 ETag 를 비교하고, 바뀌었을 때만 이벤트를 조회한다.
+                Page<EventVersion> versions = this.eventRepository.findAllProjectedBy(pageable);
+                String eTag = EventETag.ofVersions(versions, account != null);
+                if (EventETag.matches(ifNoneMatch, eTag)) {
+                    return notModified(eTag);
+                }
+                page = findEventsOf(versions);
+            } else {
+                page = this.eventRepository.findAll(pageable);
+            }
+            String eTag = EventETag.ofEvents(page, account != null);
+            if (EventETag.matches(ifNoneMatch, eTag)) {
+                return notModified(eTag);
+            }
 
-        // 하지만 @AuthenticationPrincipal 를 사용하면 스프링 시큐리티의 User를 바로 받을 수 있다.
-        // 스프링 시큐리티의 유저를 받아서 로그인 사용자일 경우 이벤트 생성 링크를 넣어준다.
-        if (account != null) {
-            pagedResources.add(linkTo(EventController.class).withRel("create-event"));
+            // repository에서 받아온 page를 리소스 객체로 변경
+            PagedResources<Resource<Event>> pagedResources = assembler.toResource(page, e -> new EventResource(e));
+            pagedResources.add(new Link("/docs/index.html#resources-events-list").withRel("profile"));
+
+            // 하지만 @AuthenticationPrincipal 를 사용하면 스프링 시큐리티의 User를 바로 받을 수 있다.
+            // 스프링 시큐리티의 유저를 받아서 로그인 사용자일 경우 이벤트 생성 링크를 넣어준다.
+            if (account != null) {
+                pagedResources.add(LinkTemplates.link(EventController.class, "create-event"));
+            }
+
+            return ResponseEntity.ok()
+                .eTag(eTag)
+                .header("Location", LinkTemplates.href(EventController.class))
+                .body(pagedResources);
+        });
+    }
+
+    // id, version 으로 조회한 페이지의 이벤트들을 id 목록으로 한번에 조회해서 같은 순서의 페이지로 만든다.
+    private Page<Event> findEventsOf(Page<EventVersion> versions) {
+        List<Long> ids = versions.getContent().stream()
+            .map(EventVersion::getId)
+            .collect(Collectors.toList());
+        Map<Long, Event> eventsById = this.eventRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(Event::getId, Function.identity()));
+        List<Event> events = ids.stream()
+            .map(eventsById::get)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+        return new PageImpl<>(events, versions.getPageable(), versions.getTotalElements());
+    }
+
+    /**
+     * 이벤트 검색
+     *
+     * name, description, location 에 검색어의 모든 단어가 들어있는 이벤트를 관련도 순서로 조회한다.
+     * DB 를 LIKE 로 읽지 않고 메모리 역색인(EventSearchIndex)에서 찾은 뒤, 해당 페이지의 이벤트만 id 로 조회한다.
+     *
+     * @param q         검색어
+     * @param pageable  페이징 요청 객체. 정렬은 관련도 순서로 고정
+     * @param assembler 페이지를 리소스 객체로 바꾸는 객체
+     * @return 검색어가 비어있으면 400
+     */
+    @GetMapping("/search")
+    public CompletableFuture<ResponseEntity> searchEvents(@RequestParam(defaultValue = "") String q,
+                                                          Pageable pageable, PagedResourcesAssembler<Event> assembler) {
+        return this.jpaExecutor.supplyReadOnly(() -> {
+            if (q.trim().isEmpty()) {
+                return ResponseEntity.badRequest().build();
+            }
+
+            List<EventSearchIndex.Hit> hits = this.eventSearchIndex.search(q);
+
+            int from = (int) Math.min(pageable.getOffset(), hits.size());
+            int to = Math.min(from + pageable.getPageSize(), hits.size());
+            List<Long> ids = hits.subList(from, to).stream()
+                .map(EventSearchIndex.Hit::getEventId)
+                .collect(Collectors.toList());
+            Map<Long, Event> eventsById = this.eventRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Event::getId, Function.identity()));
+            List<Event> events = ids.stream()
+                .map(eventsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+            Page<Event> page = new PageImpl<>(events, PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()),
+                hits.size());
+            PagedResources<Resource<Event>> pagedResources = assembler.toResource(page, e -> new EventResource(e));
+            pagedResources.add(new Link("/docs/index.html#resources-events-search").withRel("profile"));
+            return ResponseEntity.ok(pagedResources);
+        });
+    }
+
+    /**
+     * 이벤트 변경 스트림
+     *
+     * 이벤트가 생성(created), 수정(updated) 될 때마다 id, version, 바뀐 필드 값을 Server-Sent Events 로 보낸다.
+     * 목록을 주기적으로 다시 조회(polling)하는 대신 사용한다. DB 를 사용하지 않으므로 요청 스레드에서 바로 응답한다.
+     *
+     * @param lastEventId 다시 연결할 때 마지막으로 받은 이벤트의 id. 그 이후 변경부터 이어서 받는다.
+     * @return SseEmitter
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return this.eventChangeFeed.subscribe(lastEventId);
+    }
+
+    /**
+     * 이벤트 내보내기
+     *
+     * 전체 이벤트를 id 순서로 NDJSON(한 줄에 이벤트 하나) 또는 CSV 로 응답 본문에 바로 쓴다.
+     * 페이징, count 쿼리, HAL 링크 없이 전체 데이터를 가져가야 하는 분석용 API
+     * 응답을 쓰는 동안 커넥션을 계속 사용하므로 JpaExecutor 를 오래 점유하지 않도록 요청 스레드에서 실행한다.
+     *
+     * @param format ndjson(기본값) 또는 csv
+     * @return 잘못된 format 인 경우에만 400 응답, 나머지는 응답 본문에 직접 쓴다.
+     */
+    @GetMapping(value = "/export", produces = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity exportEvents(@RequestParam(defaultValue = "ndjson") String format,
+                                       HttpServletResponse response) throws IOException {
+        Optional<EventExportFormat> exportFormat = EventExportFormat.of(format);
+        if (!exportFormat.isPresent()) {
+            return ResponseEntity.badRequest().build();
         }
 
-        return ResponseEntity.ok()
-            .header("Location", String.valueOf(ROOT_LINK_BUILDER.toUri()))
-            .body(pagedResources);
+        response.setContentType(exportFormat.get().getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        this.eventExporter.export(exportFormat.get(), response.getOutputStream());
+        return null;
     }
 
     /**
      * 이벤트 조회
      *
-     * @param id 이벤트 id
+     * @param id             이벤트 id
+     * @param ifNoneMatch    이전 응답에서 받은 ETag. 이벤트가 바뀌지 않았으면 304 응답
+     * @param acceptEncoding gzip 을 받을 수 있으면 미리 압축해둔 본문과 gzip ETag 로 응답
      * @return ResponseEntity
      */
     @GetMapping("/{id}")
-    public ResponseEntity getEvent(@PathVariable Long id,
-                                   @CurrentUser Account currentUser) {
-        Optional<Event> optionalEvent = this.eventRepository.findById(id);
-        if (!optionalEvent.isPresent()) {
-            return ResponseEntity.notFound().build();
-        }
+    public CompletableFuture<ResponseEntity> getEvent(@PathVariable Long id,
+                                                      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) List<String> ifNoneMatch,
+                                                      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                                      @CurrentUser Account currentUser) {
+        return this.jpaExecutor.supplyReadOnly(() -> {
+            Optional<Event> optionalEvent = this.eventRepository.findById(id);
+            if (!optionalEvent.isPresent()) {
+                return ResponseEntity.notFound().build();
+            }
+
+            Event event = optionalEvent.get();
+            boolean managedByCurrentUser = event.isManagedBy(currentUser);
+
+            // 클라이언트가 가진 버전과 같으면 리소스를 만들거나 직렬화하지 않고 바로 304 응답
+            // 압축 여부와 상관없이 같은 버전이므로 gzip ETag 도 확인한다.
+            String eTag = EventETag.of(event, managedByCurrentUser);
+            if (EventETag.matches(ifNoneMatch, eTag)) {
+                return notModified(eTag);
+            }
+            String gzipETag = EventETag.gzip(eTag);
+            if (EventETag.matches(ifNoneMatch, gzipETag)) {
+                return notModified(gzipETag);
+            }
 
-        Event event = optionalEvent.get();
+            // 직렬화한 본문을 캐시에서 꺼내서 그대로 쓴다. 링크는 요청의 기준 주소에 따라 달라지므로 키에 포함한다.
+            // 컨트롤러가 HAL 만 만들기 때문에(produces) Accept 가 HAL 을 받을 수 없는 요청은 여기까지 오지 않고 406 응답을 받는다.
+            String baseHref = LinkTemplates.href(EventController.class);
+            RenderedEventCache.Rendered rendered = this.renderedEventCache.get(event,
+                (managedByCurrentUser ? "manager|" : "|") + baseHref, MediaTypes.HAL_JSON_UTF8,
+                () -> eventResource(event, managedByCurrentUser));
+
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header("Location", String.valueOf(LinkTemplates.uri(EventController.class, id)))
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaTypes.HAL_JSON_UTF8);
+            if (rendered.getGzipBody() != null && RenderedEventCache.acceptsGzip(acceptEncoding)) {
+                return response.eTag(gzipETag).header(HttpHeaders.CONTENT_ENCODING, "gzip").body(rendered.getGzipBody());
+            }
+            return response.eTag(eTag).body(rendered.getBody());
+        });
+    }
+
+    private EventResource eventResource(Event event, boolean managedByCurrentUser) {
         EventResource eventResource = new EventResource(event);
-        eventResource.add(ROOT_LINK_BUILDER.withRel("query-events"));
+        eventResource.add(LinkTemplates.link(EventController.class, "query-events"));
         eventResource.add(new Link("/docs/index.html#resources-events-get").withRel("profile"));
 
         // 현재 사용자와 이벤트의 매니저가 같은 경우에만 업데이트 링크 제공
-        if (event.getManager().equals(currentUser)) {
-            eventResource.add(ROOT_LINK_BUILDER.slash(id).withRel("update-event"));
+        if (managedByCurrentUser) {
+            eventResource.add(LinkTemplates.link(EventController.class, event.getId(), "update-event"));
         }
-
-        return ResponseEntity.ok()
-            .header("Location", String.valueOf(ROOT_LINK_BUILDER.slash(id).toUri()))
-            .body(eventResource);
+        return eventResource;
     }
 
     /**
      * 이벤트 수정
      *
+     * If-Match 헤더가 있으면 이벤트를 먼저 읽지 않고 UPDATE 한번으로 수정한다.(updateEventIfMatch)
+     * 없으면 이벤트를 읽어서 매니저를 확인한 뒤 수정한다.
+     *
      * @param id              이벤트 id
      * @param eventRequestDto 수정 요청 정보
+     * @param ifMatch         조회 응답에서 받은 ETag. 그 사이에 이벤트가 바뀌었으면 412 응답. * 이면 버전과 상관없이 수정
      * @return ResponseEntity
      */
     @PutMapping("/{id}")
-    public ResponseEntity updateEvent(@PathVariable Long id,
-                                      @RequestBody @Valid EventRequestDto eventRequestDto,
-                                      Errors errors,
-                                      @CurrentUser Account currentUser) {
-        Optional<Event> optionalEvent = this.eventRepository.findById(id);
-        if (!optionalEvent.isPresent()) {
-            return ResponseEntity.notFound().build();
+    public CompletableFuture<ResponseEntity> updateEvent(@PathVariable Long id,
+                                                         @RequestBody @Valid EventRequestDto eventRequestDto,
+                                                         Errors errors,
+                                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) List<String> ifMatch,
+                                                         @CurrentUser Account currentUser) {
+        if (ifMatch != null) {
+            return this.jpaExecutor.supply(() -> updateEventIfMatch(id, eventRequestDto, errors, ifMatch, currentUser));
         }
+        return this.jpaExecutor.supply(() -> {
+            Optional<Event> optionalEvent = this.eventRepository.findById(id);
+            if (!optionalEvent.isPresent()) {
+                return ResponseEntity.notFound().build();
+            }
+
+            if (errors.hasErrors()) {
+                return badRequest(errors);
+            }
+
+            this.eventValidator.validate(eventRequestDto, errors);
+            if (errors.hasErrors()) {
+                return badRequest(errors);
+            }
+
+            // @Transactional 범위에 들어있지 않기 때문에, 명시적으로 save 호출
+            Event existingEvent = optionalEvent.get();
+
+            // 이벤트를 가져왔는데, 이벤트 매니저가 현재 유저가 아니다. 예외 처리
+            if (!existingEvent.isManagedBy(currentUser)) {
+                return new ResponseEntity(HttpStatus.UNAUTHORIZED);
+            }
+
+            Map<String, Object> before = EventChangedEvent.fieldsOf(existingEvent);
+            this.eventMapper.updateEvent(eventRequestDto, existingEvent);
+            // If-Match 수정과 같이 가격, 장소로 free, offline 을 다시 계산한다.
+            existingEvent.updateDynamicField();
+
+            Event updatedEvent = this.eventRepository.save(existingEvent);
+            this.eventPublisher.publishEvent(EventChangedEvent.updated(updatedEvent, before));
+            this.readYourWrites.wrote(currentUser.getEmail());
+            return updated(updatedEvent);
+        });
+    }
 
+    /**
+     * If-Match 수정
+     *
+     * id, 매니저, version 을 조건으로 UPDATE 하고, 바뀐 행이 없을 때만 원인을 조회한다.
+     * 이벤트가 없으면 404, 매니저가 아니면 403, 버전이 다르면(다른 요청이 먼저 수정) 현재 ETag 와 함께 412 로 응답한다.
+     * If-Match 가 * 이면 version 은 비교하지 않고 이벤트가 있고 매니저인지만 확인한다.
+     * 수정 전 값을 읽지 않으므로 EventChangedEvent 에는 전체 필드가 바뀐 것으로 담는다.
+     *
+     * 응답과 EventChangedEvent 에는 요청에 없는 eventStatus(상태 자동 변경이 바꾼다)와, * 인 경우 version 이 필요하므로
+     * 수정에 성공하면 id 로 한번 더 읽는다.(UPDATE 1번 + SELECT 1번)
+     */
+    private ResponseEntity updateEventIfMatch(Long id, EventRequestDto eventRequestDto, Errors errors,
+                                              List<String> ifMatch, Account currentUser) {
         if (errors.hasErrors()) {
             return badRequest(errors);
         }
@@ -169,27 +484,193 @@ public class EventController {
             return badRequest(errors);
         }
 
-        // @Transactional 범위에 들어있지 않기 때문에, 명시적으로 save 호출
-        Event existingEvent = optionalEvent.get();
-
-        // 이벤트를 가져왔는데, 이벤트 매니저가 현재 유저가 아니다. 예외 처리
-        if (!existingEvent.getManager().equals(currentUser)) {
-            return new ResponseEntity(HttpStatus.UNAUTHORIZED);
+        boolean any = EventETag.matchesAny(ifMatch);
+        Long version = any ? null : EventETag.versionOf(ifMatch, id);
+        Event values = this.eventMapper.toEvent(eventRequestDto);
+        values.updateDynamicField();
+        if ((version == null && !any) || currentUser == null
+            || this.eventRepository.updateIfMatch(id, currentUser.getId(), version, values) == 0) {
+            return this.eventRepository.findOwnershipById(id)
+                .map(current -> {
+                    if (currentUser == null || !currentUser.getId().equals(current.getManagerId())) {
+                        return new ResponseEntity(HttpStatus.FORBIDDEN);
+                    }
+                    return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                        .eTag(EventETag.of(id, current.getVersion(), true))
+                        .build();
+                })
+                .orElseGet(() -> ResponseEntity.notFound().build());
         }
 
-        this.modelMapper.map(eventRequestDto, existingEvent);
+        // 수정된 이벤트의 2차 캐시 항목은 무효화되었으므로 DB 에서 읽는다.(읽으면서 새 값이 캐시에 들어간다)
+        Event updatedEvent = this.eventRepository.findById(id)
+            .orElseThrow(() -> new IllegalStateException("updated event not found: " + id));
+        this.eventPublisher.publishEvent(EventChangedEvent.updated(updatedEvent));
+        this.readYourWrites.wrote(currentUser.getEmail());
+        return updated(updatedEvent);
+    }
+
+    /**
+     * 이벤트 부분 수정(JSON Merge Patch)
+     *
+     * 바꿀 필드만 보내면 그 필드와 관련된 검증만 하고, 바뀐 컬럼만 UPDATE 한다. null 을 보내면 값을 지운다.
+     * 바뀐 값이 없으면 UPDATE 하지 않고 version 도 그대로다.
+     *
+     * @param id      이벤트 id
+     * @param patch   바꿀 필드만 담은 JSON 객체
+     * @param ifMatch 조회 응답에서 받은 ETag. 있으면 그 버전일 때만 수정하고, 아니면 412 응답. * 이면 버전과 상관없이 수정
+     * @return ResponseEntity
+     */
+    @PatchMapping(value = "/{id}", consumes = EventMergePatch.MEDIA_TYPE)
+    public CompletableFuture<ResponseEntity> patchEvent(@PathVariable Long id,
+                                                        @RequestBody JsonNode patch,
+                                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) List<String> ifMatch,
+                                                        @CurrentUser Account currentUser) {
+        return this.jpaExecutor.supply(() -> {
+            Optional<Event> optionalEvent = this.eventRepository.findById(id);
+            if (!optionalEvent.isPresent()) {
+                return ResponseEntity.notFound().build();
+            }
+
+            Event event = optionalEvent.get();
+            if (!event.isManagedBy(currentUser)) {
+                return new ResponseEntity(HttpStatus.FORBIDDEN);
+            }
+            if (ifMatch != null && !EventETag.matchesAny(ifMatch)
+                && !event.getVersion().equals(EventETag.versionOf(ifMatch, id))) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                    .eTag(EventETag.of(event, true))
+                    .build();
+            }
 
-        Event updatedEvent = this.eventRepository.save(existingEvent);
+            Map<String, Object> before = EventChangedEvent.fieldsOf(event);
+            Errors errors = this.eventMergePatch.apply(event, patch);
+            if (errors.hasErrors()) {
+                return badRequest(errors);
+            }
+            if (before.equals(EventChangedEvent.fieldsOf(event))) {
+                return updated(event);
+            }
+
+            // 버전을 확인한 뒤 저장하기 전에 다른 요청이 먼저 수정하면 @Version 조건으로 UPDATE 가 실패한다.
+            Event updatedEvent;
+            try {
+                updatedEvent = this.eventRepository.save(event);
+            } catch (ObjectOptimisticLockingFailureException e) {
+                if (ifMatch == null) {
+                    throw e;
+                }
+                return preconditionFailed(id);
+            }
+            this.eventPublisher.publishEvent(EventChangedEvent.updated(updatedEvent, before));
+            this.readYourWrites.wrote(currentUser.getEmail());
+            return updated(updatedEvent);
+        });
+    }
+
+    // 현재 버전의 ETag 와 함께 412 응답. 그 사이에 삭제되었으면 404
+    private ResponseEntity preconditionFailed(Long id) {
+        return this.eventRepository.findOwnershipById(id)
+            .map(current -> (ResponseEntity) ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .eTag(EventETag.of(id, current.getVersion(), true))
+                .build())
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    private ResponseEntity updated(Event updatedEvent) {
+        Long id = updatedEvent.getId();
         EventResource eventResource = new EventResource(updatedEvent);
-        eventResource.add(ROOT_LINK_BUILDER.withRel("query-events"));
-        eventResource.add(ROOT_LINK_BUILDER.slash(id).withRel("get-event"));
+        eventResource.add(LinkTemplates.link(EventController.class, "query-events"));
+        eventResource.add(LinkTemplates.link(EventController.class, id, "get-event"));
         eventResource.add(new Link("/docs/index.html#resources-events-update").withRel("profile"));
 
+        // 다음 수정의 If-Match 에 쓸 수 있도록 수정된 버전의 ETag 를 내려준다.
         return ResponseEntity.ok()
-            .header("Location", String.valueOf(ROOT_LINK_BUILDER.slash(id).toUri()))
+            .eTag(EventETag.of(updatedEvent, true))
+            .header("Location", String.valueOf(LinkTemplates.uri(EventController.class, id)))
             .body(eventResource);
     }
 
+    /**
+     * 키셋(커서) 페이징 조회
+     *
+     * OFFSET 스캔과 count 쿼리 없이 PK 인덱스를 id 기준으로 탐색하기 때문에 페이지가 깊어져도 비용이 일정하다.
+     * 대신 정렬은 id 오름차순으로 고정되고, 전체 페이지 정보(page) 는 내려주지 않는다.
+     */
+    private ResponseEntity queryEventsByCursor(String cursor, Specification<Event> spec, int size,
+                                               List<String> ifNoneMatch, Account account) {
+        EventCursor eventCursor;
+        try {
+            eventCursor = EventCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        List<Event> events;
+        boolean hasNext;
+        boolean hasPrev;
+        if (eventCursor.isNext()) {
+            Slice<Event> slice = this.eventRepository.findSlice(
+                Specification.where(spec).and(EventSpecifications.idGreaterThan(eventCursor.getId())),
+                PageRequest.of(0, size, Sort.by(Sort.Direction.ASC, "id")));
+            events = slice.getContent();
+            hasNext = slice.hasNext();
+            hasPrev = !eventCursor.isFirst();
+        } else {
+            // 이전 페이지는 역순으로 읽은 뒤 다시 뒤집어서 항상 id 오름차순으로 내려준다.
+            Slice<Event> slice = this.eventRepository.findSlice(
+                Specification.where(spec).and(EventSpecifications.idLessThan(eventCursor.getId())),
+                PageRequest.of(0, size, Sort.by(Sort.Direction.DESC, "id")));
+            events = new ArrayList<>(slice.getContent());
+            Collections.reverse(events);
+            hasNext = true;
+            hasPrev = slice.hasNext();
+        }
+
+        String eTag = EventETag.ofCursor(cursor, size, events, account != null);
+        if (EventETag.matches(ifNoneMatch, eTag)) {
+            return notModified(eTag);
+        }
+
+        List<Resource<Event>> content = events.stream()
+            .map(EventResource::new)
+            .collect(Collectors.toList());
+        Resources<Resource<Event>> resources = new Resources<>(content);
+        resources.add(cursorLink(cursor, Link.REL_SELF));
+        if (!events.isEmpty()) {
+            if (hasNext) {
+                resources.add(cursorLink(EventCursor.after(events.get(events.size() - 1).getId()).encode(), Link.REL_NEXT));
+            }
+            if (hasPrev) {
+                resources.add(cursorLink(EventCursor.before(events.get(0).getId()).encode(), Link.REL_PREVIOUS));
+            }
+        }
+        resources.add(new Link("/docs/index.html#resources-events-list-cursor").withRel("profile"));
+
+        if (account != null) {
+            resources.add(LinkTemplates.link(EventController.class, "create-event"));
+        }
+
+        return ResponseEntity.ok()
+            .eTag(eTag)
+            .header("Location", LinkTemplates.href(EventController.class))
+            .body(resources);
+    }
+
+    // 현재 요청 URI 에서 커서만 바꿔서 링크를 만든다. page, sort 는 커서 페이징에서 의미가 없으므로 제거
+    private Link cursorLink(String cursor, String rel) {
+        String href = ServletUriComponentsBuilder.fromCurrentRequest()
+            .replaceQueryParam("page")
+            .replaceQueryParam("sort")
+            .replaceQueryParam("cursor", cursor)
+            .toUriString();
+        return new Link(href, rel);
+    }
+
+    private ResponseEntity notModified(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+    }
+
     private ResponseEntity badRequest(Errors errors) {
         //에러 발생시 errors객체만 던지지 않고,API index가 포함된 리소스 객체 리턴
         return ResponseEntity.badRequest().body(new ErrorsResource(errors));
@@ -0,0 +1,69 @@
+package io.namjune.basicrestapi.events;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 키셋(커서) 기반 페이징에서 사용하는 커서
+ *
+ * OFFSET 으로 건너뛰는 대신 마지막으로 조회한 이벤트의 id 를 기준으로 PK 인덱스를 바로 탐색(seek)한다.
+ * 클라이언트는 커서의 내부 구조를 알 필요가 없도록 방향과 id 를 Base64 로 감싼 불투명한 문자열로만 주고 받는다.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class EventCursor {
+
+    private static final String NEXT_PREFIX = "n:";
+    private static final String PREV_PREFIX = "p:";
+
+    private final boolean next;
+    private final long id;
+
+    /**
+     * 빈 커서는 첫 페이지를 의미한다.
+     */
+    public static EventCursor first() {
+        return new EventCursor(true, 0L);
+    }
+
+    public static EventCursor after(long id) {
+        return new EventCursor(true, id);
+    }
+
+    public static EventCursor before(long id) {
+        return new EventCursor(false, id);
+    }
+
+    public boolean isFirst() {
+        return this.next && this.id == 0L;
+    }
+
+    /**
+     * @param cursor 클라이언트가 보낸 커서 문자열
+     * @return EventCursor
+     * @throws IllegalArgumentException 해석할 수 없는 커서인 경우
+     */
+    public static EventCursor decode(String cursor) {
+        if (cursor == null || cursor.trim().isEmpty()) {
+            return first();
+        }
+
+        String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        if (decoded.startsWith(NEXT_PREFIX)) {
+            return after(Long.parseLong(decoded.substring(NEXT_PREFIX.length())));
+        }
+        if (decoded.startsWith(PREV_PREFIX)) {
+            return before(Long.parseLong(decoded.substring(PREV_PREFIX.length())));
+        }
+        throw new IllegalArgumentException("Unknown cursor: " + cursor);
+    }
+
+    public String encode() {
+        String raw = (this.next ? NEXT_PREFIX : PREV_PREFIX) + this.id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,141 @@
+package io.namjune.basicrestapi.events;
+
+import org.springframework.data.domain.Page;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 이벤트 리소스의 ETag
+ *
+ * 이벤트 하나는 id 와 version 컬럼으로 강한(strong) ETag 를 만든다.
+ * 응답 본문은 매니저인지 여부(update-event 링크)에 따라 달라지므로 그 구분도 ETag 에 포함한다.
+ * gzip 으로 압축한 본문은 -gzip 을 붙인 다른 ETag 를 쓴다.
+ * 목록은 페이지에 담긴 이벤트들의 id, version 과 페이지 정보를 모아서 하나의 ETag 로 만든다.
+ * 수정 요청의 If-Match 는 이벤트 ETag 에서 version 을 꺼내서 조건부 UPDATE 에 사용한다.(versionOf)
+ */
+final class EventETag {
+
+    private static final String MANAGER_VIEW_SUFFIX = ".m";
+    private static final String GZIP_SUFFIX = "-gzip";
+
+    private EventETag() {
+    }
+
+    static String of(Event event, boolean managerView) {
+        return of(event.getId(), event.getVersion(), managerView);
+    }
+
+    static String of(Long id, Long version, boolean managerView) {
+        return "\"" + id + "." + version + (managerView ? MANAGER_VIEW_SUFFIX : "") + "\"";
+    }
+
+    // gzip 으로 압축한 본문은 바이트가 다른 표현이므로 강한 ETag 도 달라야 한다. ex) "1.3.m-gzip"
+    static String gzip(String eTag) {
+        return eTag.substring(0, eTag.length() - 1) + GZIP_SUFFIX + "\"";
+    }
+
+    static String ofEvents(Page<Event> page, boolean authenticated) {
+        return ofPage(page, Event::getId, Event::getVersion, authenticated);
+    }
+
+    static String ofVersions(Page<EventVersion> page, boolean authenticated) {
+        return ofPage(page, EventVersion::getId, EventVersion::getVersion, authenticated);
+    }
+
+    static String ofCursor(String cursor, int size, List<Event> events, boolean authenticated) {
+        StringBuilder source = new StringBuilder()
+            .append(cursor).append('|')
+            .append(size).append('|');
+        return ofContent(source, events, Event::getId, Event::getVersion, authenticated);
+    }
+
+    private static <T> String ofPage(Page<T> page, Function<T, Long> id, Function<T, Long> version,
+                                     boolean authenticated) {
+        StringBuilder source = new StringBuilder()
+            .append(page.getNumber()).append('|')
+            .append(page.getSize()).append('|')
+            .append(page.getSort()).append('|')
+            .append(page.getTotalElements()).append('|');
+        return ofContent(source, page.getContent(), id, version, authenticated);
+    }
+
+    private static <T> String ofContent(StringBuilder source, List<T> events,
+                                        Function<T, Long> id, Function<T, Long> version,
+                                        boolean authenticated) {
+        source.append(authenticated);
+        events.forEach(e -> source.append('|').append(id.apply(e)).append(':').append(version.apply(e)));
+        return "\"" + DigestUtils.md5DigestAsHex(source.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * If-None-Match 헤더의 ETag 목록 중에 현재 ETag 가 있는지 확인한다.
+     * If-None-Match 는 약한 비교를 하므로 W/ 접두어는 무시한다.
+     *
+     * @param ifNoneMatch If-None-Match 헤더 값들
+     * @param eTag        현재 리소스의 ETag
+     * @return 일치하면 true
+     */
+    static boolean matches(List<String> ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * If-Match 헤더가 * 인지 확인한다. * 는 이벤트가 있기만 하면 version 과 상관없이 일치한다.
+     *
+     * @param ifMatch If-Match 헤더 값들
+     * @return * 하나만 있으면 true
+     */
+    static boolean matchesAny(List<String> ifMatch) {
+        return ifMatch != null && ifMatch.size() == 1 && ifMatch.get(0).trim().equals("*");
+    }
+
+    /**
+     * If-Match 헤더의 ETag 에서 이벤트 version 을 꺼낸다. * 는 matchesAny 로 따로 확인한다.
+     * 조회 응답의 gzip ETag 도 같은 version 이므로 받아준다.
+     * If-Match 는 강한 비교를 하므로 W/ 로 시작하는 약한 ETag 나 다른 이벤트의 ETag 는 일치하지 않는 것으로 본다.
+     *
+     * @param ifMatch If-Match 헤더 값들
+     * @param id      수정할 이벤트 id
+     * @return ETag 가 하나이고 이 이벤트의 것이면 version, 아니면 null
+     */
+    static Long versionOf(List<String> ifMatch, Long id) {
+        if (ifMatch == null || ifMatch.size() != 1) {
+            return null;
+        }
+        String tag = ifMatch.get(0).trim();
+        if (tag.length() < 2 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            return null;
+        }
+        tag = tag.substring(1, tag.length() - 1);
+        if (tag.endsWith(GZIP_SUFFIX)) {
+            tag = tag.substring(0, tag.length() - GZIP_SUFFIX.length());
+        }
+        if (tag.endsWith(MANAGER_VIEW_SUFFIX)) {
+            tag = tag.substring(0, tag.length() - MANAGER_VIEW_SUFFIX.length());
+        }
+        String prefix = id + ".";
+        if (!tag.startsWith(prefix)) {
+            return null;
+        }
+        try {
+            return Long.valueOf(tag.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
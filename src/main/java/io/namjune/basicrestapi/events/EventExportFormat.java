@@ -0,0 +1,25 @@
+package io.namjune.basicrestapi.events;
+
+import java.util.Arrays;
+import java.util.Optional;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 이벤트 내보내기 형식
+ */
+@Getter
+@RequiredArgsConstructor
+public enum EventExportFormat {
+
+    NDJSON("application/x-ndjson"),
+    CSV("text/csv");
+
+    private final String contentType;
+
+    public static Optional<EventExportFormat> of(String format) {
+        return Arrays.stream(values())
+            .filter(f -> f.name().equalsIgnoreCase(format))
+            .findFirst();
+    }
+}
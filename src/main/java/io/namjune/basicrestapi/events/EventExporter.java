@@ -0,0 +1,125 @@
+package io.namjune.basicrestapi.events;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * 전체 이벤트를 NDJSON 또는 CSV 로 내보낸다.
+ *
+ * 목록 API 처럼 페이지마다 count 쿼리와 HAL 링크를 만들지 않고, 한번의 쿼리 결과를 읽는 대로 출력 스트림에 바로 쓴다.
+ * 읽은 이벤트는 EXPORT_FETCH_SIZE 건마다 영속성 컨텍스트에서 비우기 때문에 건수와 상관없이 메모리 사용량이 일정하다.
+ */
+@Service
+@RequiredArgsConstructor
+public class EventExporter {
+
+    static final String EXPORT_FETCH_SIZE = "500";
+
+    private static final int CLEAR_INTERVAL = Integer.parseInt(EXPORT_FETCH_SIZE);
+
+    private static final String CSV_HEADER = "id,name,description,beginEnrollmentDateTime,closeEnrollmentDateTime,"
+        + "beginEventDateTime,endEventDateTime,location,basePrice,maxPrice,limitOfEnrollment,offline,free,eventStatus,managerId";
+
+    private final EventRepository eventRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @param format 내보내기 형식
+     * @param out    응답 출력 스트림. 닫지 않는다.
+     * @return 내보낸 이벤트 수
+     */
+    @Transactional(readOnly = true)
+    public long export(EventExportFormat format, OutputStream out) throws IOException {
+        try (Stream<Event> events = this.eventRepository.streamAllByOrderByIdAsc()) {
+            return format == EventExportFormat.CSV
+                ? writeCsv(events.iterator(), out)
+                : writeNdjson(events.iterator(), out);
+        }
+    }
+
+    private long writeNdjson(Iterator<Event> events, OutputStream out) throws IOException {
+        ObjectWriter writer = this.objectMapper.writerFor(Event.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long count = 0;
+        try (JsonGenerator generator = this.objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            while (events.hasNext()) {
+                writer.writeValue(generator, events.next());
+                generator.writeRaw('\n');
+                clearPeriodically(++count);
+            }
+        }
+        return count;
+    }
+
+    private long writeCsv(Iterator<Event> events, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+
+        long count = 0;
+        while (events.hasNext()) {
+            Event event = events.next();
+            writer.write(String.valueOf(event.getId()));
+            writeCsvField(writer, event.getName());
+            writeCsvField(writer, event.getDescription());
+            writeCsvField(writer, event.getBeginEnrollmentDateTime());
+            writeCsvField(writer, event.getCloseEnrollmentDateTime());
+            writeCsvField(writer, event.getBeginEventDateTime());
+            writeCsvField(writer, event.getEndEventDateTime());
+            writeCsvField(writer, event.getLocation());
+            writeCsvField(writer, event.getBasePrice());
+            writeCsvField(writer, event.getMaxPrice());
+            writeCsvField(writer, event.getLimitOfEnrollment());
+            writeCsvField(writer, event.isOffline());
+            writeCsvField(writer, event.isFree());
+            writeCsvField(writer, event.getEventStatus());
+            // 매니저는 프록시의 id 만 읽기 때문에 Account 를 조회하지 않는다.
+            writeCsvField(writer, event.getManager() == null ? null : event.getManager().getId());
+            writer.write('\n');
+            clearPeriodically(++count);
+        }
+        writer.flush();
+        return count;
+    }
+
+    // 쉼표, 따옴표, 줄바꿈이 들어있는 값은 따옴표로 감싸고 따옴표는 두번 쓴다.(RFC 4180)
+    private static void writeCsvField(Writer writer, Object value) throws IOException {
+        writer.write(',');
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    // 이미 쓴 이벤트와 매니저 프록시가 영속성 컨텍스트에 쌓이지 않도록 비운다.
+    private void clearPeriodically(long count) {
+        if (count % CLEAR_INTERVAL == 0) {
+            this.entityManager.clear();
+        }
+    }
+}
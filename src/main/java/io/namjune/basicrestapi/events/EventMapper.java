@@ -0,0 +1,36 @@
+package io.namjune.basicrestapi.events;
+
+import org.mapstruct.Builder;
+import org.mapstruct.InheritConfiguration;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.ReportingPolicy;
+
+/**
+ * EventRequestDto <-> Event 매핑
+ *
+ * ModelMapper 는 요청마다 리플렉션으로 프로퍼티를 찾아서 복사하기 때문에, 쓰기 요청에서는 컴파일 타임에
+ * getter/setter 호출 코드로 생성되는 MapStruct 매퍼를 사용한다.
+ * 빌더를 쓰면 eventStatus 의 기본값(DRAFT)이 빠지기 때문에 ModelMapper 처럼 기본 생성자로 만든다.
+ * 요청 DTO 에 없는 필드는 명시적으로 제외하고, 새 필드가 생기면 컴파일 에러가 나도록 한다.
+ */
+@Mapper(componentModel = "spring",
+    builder = @Builder(disableBuilder = true),
+    unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface EventMapper {
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "free", ignore = true)
+    @Mapping(target = "offline", ignore = true)
+    @Mapping(target = "eventStatus", ignore = true)
+    @Mapping(target = "manager", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    Event toEvent(EventRequestDto eventRequestDto);
+
+    @InheritConfiguration
+    void updateEvent(EventRequestDto eventRequestDto, @MappingTarget Event event);
+
+    // 부분 수정(EventMergePatch)에서 현재 값에 패치를 덮어쓰기 위해 사용한다.
+    EventRequestDto toRequestDto(Event event);
+}
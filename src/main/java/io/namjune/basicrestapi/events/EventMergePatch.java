@@ -0,0 +1,102 @@
+package io.namjune.basicrestapi.events;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+
+import javax.validation.Validator;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * JSON Merge Patch(RFC 7386) 로 받은 이벤트 부분 수정
+ *
+ * 이벤트 필드는 모두 값 타입이므로 패치에 있는 필드를 덮어쓰는 것으로 병합하고, null 은 값을 지우는 것으로 본다.
+ * 패치에 있는 필드만 Bean Validation 으로 검증하고, 필드 사이의 규칙(EventValidator)도 관련된 필드가 바뀐 경우에만 검사한다.
+ * free, offline 도 가격이나 장소가 바뀐 경우에만 다시 계산한다.
+ * 바뀐 컬럼만 UPDATE 되도록 Event 에 @DynamicUpdate 를 적용했다.
+ */
+@Component
+@RequiredArgsConstructor
+class EventMergePatch {
+
+    static final String MEDIA_TYPE = "application/merge-patch+json";
+
+    private static final Set<String> PRICE_FIELDS = new HashSet<>(Arrays.asList("basePrice", "maxPrice"));
+    private static final Set<String> DATE_FIELDS = new HashSet<>(Arrays.asList(
+        "beginEnrollmentDateTime", "closeEnrollmentDateTime", "beginEventDateTime", "endEventDateTime"));
+    // null 을 넣으면 Jackson 이 0 으로 바꾸는 필드. 지울 수 없는 필드이므로 에러로 처리한다.
+    private static final Set<String> PRIMITIVE_FIELDS = new HashSet<>(Arrays.asList(
+        "basePrice", "maxPrice", "limitOfEnrollment"));
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final EventMapper eventMapper;
+    private final EventValidator eventValidator;
+
+    /**
+     * @param event 수정할 이벤트. 검증에 성공한 경우에만 바뀐다.
+     * @param patch 요청 본문
+     * @return 검증 에러. 대상은 패치를 적용한 EventRequestDto
+     */
+    Errors apply(Event event, JsonNode patch) {
+        EventRequestDto eventRequestDto = this.eventMapper.toRequestDto(event);
+        Errors errors = new BeanPropertyBindingResult(eventRequestDto, "eventRequestDto");
+        if (!patch.isObject()) {
+            errors.reject("wrongValue", "merge patch must be a JSON object");
+            return errors;
+        }
+
+        try {
+            this.objectMapper.readerForUpdating(eventRequestDto).readValue(patch);
+        } catch (JsonMappingException e) {
+            errors.reject("wrongValue", e.getOriginalMessage());
+            return errors;
+        } catch (IOException e) {
+            errors.reject("wrongValue", e.getMessage());
+            return errors;
+        }
+
+        Set<String> fields = new HashSet<>();
+        patch.fieldNames().forEachRemaining(fields::add);
+        for (String field : fields) {
+            if (PRIMITIVE_FIELDS.contains(field) && patch.get(field).isNull()) {
+                errors.rejectValue(field, "NotNull", field + " must not be null");
+                continue;
+            }
+            this.validator.validateProperty(eventRequestDto, field).forEach(violation -> errors.rejectValue(field,
+                violation.getConstraintDescriptor().getAnnotation().annotationType().getSimpleName(),
+                violation.getMessage()));
+        }
+        if (errors.hasErrors()) {
+            return errors;
+        }
+
+        boolean pricesChanged = !Collections.disjoint(fields, PRICE_FIELDS);
+        if (pricesChanged) {
+            this.eventValidator.validatePrices(eventRequestDto, errors);
+        }
+        if (!Collections.disjoint(fields, DATE_FIELDS)) {
+            this.eventValidator.validateDates(eventRequestDto, errors);
+        }
+        if (errors.hasErrors()) {
+            return errors;
+        }
+
+        this.eventMapper.updateEvent(eventRequestDto, event);
+        if (pricesChanged) {
+            event.updateFree();
+        }
+        if (fields.contains("location")) {
+            event.updateOffline();
+        }
+        return errors;
+    }
+}
@@ -0,0 +1,12 @@
+package io.namjune.basicrestapi.events;
+
+/**
+ * 이벤트의 id, version 과 매니저 id 만 조회하는 프로젝션
+ *
+ * If-Match 수정(EventRepositoryCustom#updateIfMatch)이 아무 행도 바꾸지 못했을 때
+ * 이벤트가 없는지(404), 매니저가 아닌지(403), 버전이 다른지(412) 가리는 데 사용한다.
+ */
+public interface EventOwnership extends EventVersion {
+
+    Long getManagerId();
+}
@@ -1,6 +1,52 @@
 package io.namjune.basicrestapi.events;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.stream.Stream;
+import javax.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+// 목록 조회 조건은 EventSpecifications, 키셋 페이징은 EventRepositoryCustom#findSlice
+public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event>,
+    EventRepositoryCustom {
+
+    // 조건부 목록 조회(If-None-Match)에서 ETag 를 계산하기 위해 id, version 만 조회한다.
+    Page<EventVersion> findAllProjectedBy(Pageable pageable);
+
+    // 내보내기용 전체 조회. 결과를 한번에 메모리에 올리지 않고 EXPORT_FETCH_SIZE 건씩 읽는다.
+    // 읽기 전용으로 dirty checking 스냅샷을 만들지 않고, 2차 캐시에도 넣지 않는다. 트랜잭션 안에서만 사용할 수 있다.
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = EventExporter.EXPORT_FETCH_SIZE),
+        @QueryHint(name = HINT_READONLY, value = "true"),
+        @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE")
+    })
+    Stream<Event> streamAllByOrderByIdAsc();
+
+    // 검색 인덱스를 처음 만들 때 사용한다. 엔티티가 아닌 값만 읽으므로 영속성 컨텍스트에 쌓이지 않는다. 트랜잭션 안에서만 사용할 수 있다.
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = EventExporter.EXPORT_FETCH_SIZE))
+    @Query("select e.id as id, e.version as version, e.name as name, e.description as description, e.location as location"
+        + " from Event e order by e.id")
+    Stream<EventSearchDocument> streamSearchDocuments();
+
+    // 상태 자동 변경(EventStatusScheduler)을 시작할 때 아직 변경이 남은 이벤트만 읽는다.
+    // 엔티티 대신 상태와 시각만 스트림으로 읽는다. 트랜잭션 안에서만 사용할 수 있다.
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = EventExporter.EXPORT_FETCH_SIZE))
+    @Query("select e.id as id, e.eventStatus as eventStatus, e.beginEnrollmentDateTime as beginEnrollmentDateTime,"
+        + " e.closeEnrollmentDateTime as closeEnrollmentDateTime, e.beginEventDateTime as beginEventDateTime,"
+        + " e.endEventDateTime as endEventDateTime from Event e where e.eventStatus in :eventStatuses")
+    Stream<EventSchedule> streamSchedulesByEventStatusIn(@Param("eventStatuses") Collection<EventStatus> eventStatuses);
 
-public interface EventRepository extends JpaRepository<Event, Long> {
+    // If-Match 수정이 실패한 원인을 가리기 위해 엔티티 대신 version 과 매니저 FK 만 조회한다.(Account 조인 없음)
+    @Query("select e.id as id, e.version as version, e.manager.id as managerId from Event e where e.id = :id")
+    Optional<EventOwnership> findOwnershipById(@Param("id") Long id);
 }
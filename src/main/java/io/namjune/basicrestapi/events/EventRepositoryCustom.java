@@ -0,0 +1,54 @@
+package io.namjune.basicrestapi.events;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface EventRepositoryCustom {
+
+    /**
+     * JpaSpecificationExecutor#findAll(Specification, Pageable) 와 같지만 count 쿼리 없이 size + 1 건만 읽는다.
+     * 조회 조건이 있는 키셋 페이징에서 사용한다.
+     *
+     * @param spec     조회 조건. null 이면 전체
+     * @param pageable 페이지 크기와 정렬
+     * @return 다음 데이터가 있는지만 알려주는 Slice
+     */
+    Slice<Event> findSlice(Specification<Event> spec, Pageable pageable);
+
+    /**
+     * 이벤트 상태를 UPDATE 한번으로 바꾸고 version 을 1 증가시킨다. 상태 자동 변경(EventStatusScheduler)에서 사용한다.
+     * 여러 서버가 같은 변경을 실행하거나 그 사이에 일정이 바뀌어도 안전하도록, 상태가 from 중 하나이고
+     * dateAttribute 시각이 now 이전인 이벤트만 바꾼다.
+     *
+     * UPDATE 는 영속성 컨텍스트를 거치지 않으므로 실행 후 영속성 컨텍스트를 비운다.
+     * events 2차 캐시 영역 전체를 비우지 않고 ids 의 캐시 항목만 트랜잭션이 끝날 때까지 잠근다.
+     *
+     * @param ids           이벤트 id
+     * @param from          바꾸기 전 상태
+     * @param to            바꿀 상태
+     * @param dateAttribute 바꿀 상태가 시작되는 시각 필드. ex) beginEnrollmentDateTime
+     * @param now           현재 시각
+     * @return 바뀐 이벤트 수
+     */
+    int updateEventStatus(Collection<Long> ids, Collection<EventStatus> from, EventStatus to, String dateAttribute,
+                          LocalDateTime now);
+
+    /**
+     * 이벤트를 읽지 않고 UPDATE 한번으로 수정한다. 수정 요청(PUT)에 If-Match 가 있을 때 사용한다.
+     * id 와 매니저, version 이 모두 일치하는 경우에만 values 의 필드 값으로 바꾸고 version 을 1 증가시킨다.
+     * 동시에 들어온 수정 중에서는 하나만 성공하고 나머지는 0 을 돌려받는다.(낙관적 잠금)
+     * version 이 null 이면(If-Match: *) version 은 비교하지 않고 id 와 매니저만 확인한다.
+     *
+     * 벌크 UPDATE 와 달리 events 2차 캐시 영역 전체를 비우지 않고 이 이벤트의 캐시 항목만 트랜잭션이 끝날 때까지 잠근다.
+     *
+     * @param id        이벤트 id
+     * @param managerId 수정하는 사용자 id
+     * @param version   클라이언트가 가진 version. null 이면 비교하지 않는다.
+     * @param values    바꿀 필드 값. eventStatus, manager 는 사용하지 않는다.
+     * @return 바뀐 이벤트 수(0 또는 1)
+     */
+    int updateIfMatch(Long id, Long managerId, Long version, Event values);
+}
@@ -0,0 +1,146 @@
+package io.namjune.basicrestapi.events;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StringType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+@RequiredArgsConstructor
+class EventRepositoryImpl implements EventRepositoryCustom {
+
+    // JPQL UPDATE 는 Hibernate 가 events 2차 캐시 영역 전체를 비우기 때문에 SQL 로 실행한다.
+    // 컬럼 이름은 스프링 부트 기본 네이밍 전략(SpringPhysicalNamingStrategy)을 따른다.
+    private static final String UPDATE_IF_MATCH = "update event set"
+        + " name = :name, description = :description,"
+        + " begin_enrollment_date_time = :beginEnrollmentDateTime,"
+        + " close_enrollment_date_time = :closeEnrollmentDateTime,"
+        + " begin_event_date_time = :beginEventDateTime, end_event_date_time = :endEventDateTime,"
+        + " location = :location, base_price = :basePrice, max_price = :maxPrice,"
+        + " limit_of_enrollment = :limitOfEnrollment, offline = :offline, free = :free,"
+        + " version = version + 1"
+        + " where id = :id and manager_id = :managerId";
+
+    private static final String UPDATE_EVENT_STATUS = "update event set"
+        + " event_status = :to, version = version + 1"
+        + " where id in (:ids) and event_status in (:from) and %s <= :now";
+
+    // 상태가 시작되는 시각 필드 -> 컬럼. SQL 에 직접 넣으므로 정해진 필드만 받는다.
+    private static final Map<String, String> STATUS_DATE_COLUMNS = new HashMap<>();
+
+    static {
+        STATUS_DATE_COLUMNS.put("beginEnrollmentDateTime", "begin_enrollment_date_time");
+        STATUS_DATE_COLUMNS.put("closeEnrollmentDateTime", "close_enrollment_date_time");
+        STATUS_DATE_COLUMNS.put("beginEventDateTime", "begin_event_date_time");
+        STATUS_DATE_COLUMNS.put("endEventDateTime", "end_event_date_time");
+    }
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Slice<Event> findSlice(Specification<Event> spec, Pageable pageable) {
+        CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<Event> query = cb.createQuery(Event.class);
+        Root<Event> root = query.from(Event.class);
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        int size = pageable.getPageSize();
+        List<Event> content = this.entityManager.createQuery(query)
+            .setFirstResult((int) pageable.getOffset())
+            .setMaxResults(size + 1)
+            .getResultList();
+        boolean hasNext = content.size() > size;
+        return new SliceImpl<>(hasNext ? content.subList(0, size) : content, pageable, hasNext);
+    }
+
+    @Override
+    public int updateEventStatus(Collection<Long> ids, Collection<EventStatus> from, EventStatus to,
+                                 String dateAttribute, LocalDateTime now) {
+        String dateColumn = STATUS_DATE_COLUMNS.get(dateAttribute);
+        if (dateColumn == null) {
+            throw new IllegalArgumentException("Unknown status date attribute: " + dateAttribute);
+        }
+
+        SessionImplementor session = this.entityManager.unwrap(SessionImplementor.class);
+        lockCacheEntries(session, ids);
+        int updated = session.createNativeQuery(String.format(UPDATE_EVENT_STATUS, dateColumn))
+            .addSynchronizedQuerySpace("")
+            .setParameter("to", to.name())
+            .setParameterList("ids", ids)
+            .setParameterList("from", from.stream().map(Enum::name).collect(Collectors.toList()))
+            .setParameter("now", now)
+            .executeUpdate();
+        this.entityManager.clear();
+        return updated;
+    }
+
+    @Override
+    @Transactional
+    public int updateIfMatch(Long id, Long managerId, Long version, Event values) {
+        SessionImplementor session = this.entityManager.unwrap(SessionImplementor.class);
+        lockCacheEntries(session, Collections.singleton(id));
+        NativeQuery<?> query = session.createNativeQuery(version == null ? UPDATE_IF_MATCH : UPDATE_IF_MATCH + " and version = :version");
+        if (version != null) {
+            query.setParameter("version", version);
+        }
+        return query
+            // 동기화할 테이블을 빈 이름 하나로 지정해서, Hibernate 가 2차 캐시 영역을 비우지 않게 한다.
+            .addSynchronizedQuerySpace("")
+            .setParameter("name", values.getName())
+            .setParameter("description", values.getDescription())
+            .setParameter("beginEnrollmentDateTime", values.getBeginEnrollmentDateTime())
+            .setParameter("closeEnrollmentDateTime", values.getCloseEnrollmentDateTime())
+            .setParameter("beginEventDateTime", values.getBeginEventDateTime())
+            .setParameter("endEventDateTime", values.getEndEventDateTime())
+            .setParameter("location", values.getLocation(), StringType.INSTANCE)
+            .setParameter("basePrice", values.getBasePrice())
+            .setParameter("maxPrice", values.getMaxPrice())
+            .setParameter("limitOfEnrollment", values.getLimitOfEnrollment())
+            .setParameter("offline", values.isOffline())
+            .setParameter("free", values.isFree())
+            .setParameter("id", id)
+            .setParameter("managerId", managerId)
+            .executeUpdate();
+    }
+
+    // 엔티티를 수정할 때 Hibernate 가 하는 것처럼 캐시 항목을 잠가서, 커밋 전에 다른 트랜잭션이 읽은 이전 값이 캐시에 들어가지 않게 한다.
+    // 트랜잭션이 끝나면 잠금을 풀고, 다음 조회에서 DB 의 새 값을 캐시에 넣는다.
+    private static void lockCacheEntries(SessionImplementor session, Collection<Long> ids) {
+        EntityPersister persister = session.getFactory().getMetamodel().entityPersister(Event.class);
+        if (!persister.canWriteToCache()) {
+            return;
+        }
+        EntityDataAccess cache = persister.getCacheAccessStrategy();
+        for (Long id : ids) {
+            Object key = cache.generateCacheKey(id, persister, session.getFactory(), session.getTenantIdentifier());
+            SoftLock lock = cache.lockItem(session, key, null);
+            session.getActionQueue().registerProcess((success, s) -> cache.unlockItem(s, key, lock));
+        }
+    }
+}
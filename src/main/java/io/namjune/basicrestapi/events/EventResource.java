@@ -1,7 +1,6 @@
 package io.namjune.basicrestapi.events;
 
-import static org.springframework.hateoas.mvc.ControllerLinkBuilder.linkTo;
-
+import io.namjune.basicrestapi.common.LinkTemplates;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.Resource;
 
@@ -14,8 +13,9 @@ public class EventResource extends Resource<Event> {
         super(event, links);
 
         //EventController 의 mappingUrl + / + event.getId로 Self link relation 을 만든다.
-        add(linkTo(EventController.class).slash(event.getId()).withSelfRel());
+        add(LinkTemplates.link(EventController.class, event.getId(), Link.REL_SELF));
         // == add(new Link("http://localhost:8080/api/events" + event.getId()))
         // linkTo 를 이용해서 만드는 것이 new Link()로 만드는 것 보다 더 Type safe 하고, 컨트롤러의 변경에 대응할 수 있다.
+        // 목록 조회에서는 이벤트마다 linkTo 를 다시 해석하지 않도록 LinkTemplates 로 요청당 한번만 만든 href 에 id 만 붙인다.
     }
 }
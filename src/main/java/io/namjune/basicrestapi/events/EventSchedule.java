@@ -0,0 +1,58 @@
+package io.namjune.basicrestapi.events;
+
+import java.time.LocalDateTime;
+
+/**
+ * 상태 자동 변경(EventStatusScheduler)에 필요한 id, 상태와 네 시각만 조회하는 프로젝션
+ *
+ * 시작할 때 변경이 남은 이벤트 전체를 읽으므로 엔티티를 영속성 컨텍스트에 쌓지 않도록 이 값만 읽는다.
+ */
+public interface EventSchedule {
+
+    Long getId();
+
+    EventStatus getEventStatus();
+
+    LocalDateTime getBeginEnrollmentDateTime();
+
+    LocalDateTime getCloseEnrollmentDateTime();
+
+    LocalDateTime getBeginEventDateTime();
+
+    LocalDateTime getEndEventDateTime();
+
+    // 엔티티를 같은 인터페이스로 사용한다. Event 가 직접 구현하면 Spring Data 가 프로젝션 대신 엔티티를 조회하므로 감싼다.
+    static EventSchedule of(Event event) {
+        return new EventSchedule() {
+            @Override
+            public Long getId() {
+                return event.getId();
+            }
+
+            @Override
+            public EventStatus getEventStatus() {
+                return event.getEventStatus();
+            }
+
+            @Override
+            public LocalDateTime getBeginEnrollmentDateTime() {
+                return event.getBeginEnrollmentDateTime();
+            }
+
+            @Override
+            public LocalDateTime getCloseEnrollmentDateTime() {
+                return event.getCloseEnrollmentDateTime();
+            }
+
+            @Override
+            public LocalDateTime getBeginEventDateTime() {
+                return event.getBeginEventDateTime();
+            }
+
+            @Override
+            public LocalDateTime getEndEventDateTime() {
+                return event.getEndEventDateTime();
+            }
+        };
+    }
+}
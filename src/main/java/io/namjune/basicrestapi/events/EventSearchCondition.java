@@ -0,0 +1,40 @@
+package io.namjune.basicrestapi.events;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+
+/**
+ * 이벤트 목록 조회 조건. 값이 없는 조건은 무시한다.
+ *
+ * 기간 조건은 이벤트(또는 등록) 기간이 주어진 범위 안에 들어가는 이벤트를 찾는다.
+ * ex) eventFrom=2019-05-01T00:00:00&eventTo=2019-05-31T23:59:59 이면 5월 안에 시작해서 끝나는 이벤트
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventSearchCondition {
+
+    private EventStatus eventStatus;
+    private Boolean free;
+    private Boolean offline;
+
+    private Integer basePriceFrom;
+    private Integer basePriceTo;
+    private Integer maxPriceFrom;
+    private Integer maxPriceTo;
+
+    @DateTimeFormat(iso = ISO.DATE_TIME)
+    private LocalDateTime eventFrom;
+    @DateTimeFormat(iso = ISO.DATE_TIME)
+    private LocalDateTime eventTo;
+    @DateTimeFormat(iso = ISO.DATE_TIME)
+    private LocalDateTime enrollmentFrom;
+    @DateTimeFormat(iso = ISO.DATE_TIME)
+    private LocalDateTime enrollmentTo;
+}
@@ -0,0 +1,15 @@
+package io.namjune.basicrestapi.events;
+
+/**
+ * 검색 인덱스(EventSearchIndex)에 필요한 컬럼만 조회하는 프로젝션
+ *
+ * 시작할 때 전체 이벤트를 색인하면서 엔티티를 영속성 컨텍스트에 쌓지 않도록 엔티티 대신 이 값만 읽는다.
+ */
+public interface EventSearchDocument extends EventVersion {
+
+    String getName();
+
+    String getDescription();
+
+    String getLocation();
+}
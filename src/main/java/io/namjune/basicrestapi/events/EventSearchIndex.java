@@ -0,0 +1,287 @@
+package io.namjune.basicrestapi.events;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * 이벤트 name, description, location 에 대한 메모리 역색인(inverted index)
+ *
+ * 단어(소문자, 글자와 숫자 외의 문자로 분리) 마다 그 단어가 들어있는 이벤트 id 와 가중치를 저장해두고,
+ * 검색할 때는 검색어 단어들의 목록만 읽는다. LIKE '%q%' 처럼 테이블 전체를 읽지 않기 때문에
+ * 검색 시간은 전체 이벤트 수가 아니라 검색어가 들어있는 이벤트 수에 비례한다.
+ *
+ * 한글 단어는 조사가 붙어서 저장되므로("캐시와", "강남역에서") 두 글자 이상의 앞부분도 함께 색인해서 "캐시", "강남역" 으로 찾을 수 있게 한다.
+ * 모든 검색어 단어가 들어있는 이벤트만 찾고, TF-IDF 점수(name 3배, location 2배 가중치) 순으로 정렬한다.
+ * 애플리케이션 시작시 별도 스레드에서 전체 이벤트로 만들고, 이후에는 EventChangedEvent 를 받아서 바뀐 이벤트만 다시 색인한다.
+ */
+@Slf4j
+@Component
+public class EventSearchIndex implements DisposableBean {
+
+    static final float NAME_WEIGHT = 3f;
+    static final float LOCATION_WEIGHT = 2f;
+    static final float DESCRIPTION_WEIGHT = 1f;
+
+    private static final int MIN_PREFIX_LENGTH = 2;
+
+    private final EventRepository eventRepository;
+    private final TransactionTemplate transactionTemplate;
+    // 시작할 때 한번 전체를 색인하는 스레드. 색인이 끝나면 종료된다.
+    private final ExecutorService rebuilder =
+        Executors.newSingleThreadExecutor(new CustomizableThreadFactory("event-search-index-"));
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 단어 -> (이벤트 id -> 필드 가중치를 곱한 단어 빈도)
+    private final Map<String, Map<Long, Float>> postings = new HashMap<>();
+    // 이벤트 id -> 색인한 단어들. 다시 색인할 때 이전 단어를 지우기 위해 사용
+    private final Map<Long, Set<String>> termsByEvent = new HashMap<>();
+    // 이벤트 id -> 색인한 version. 재색인 중에 이전 version 으로 덮어쓰지 않기 위해 사용
+    private final Map<Long, Long> versions = new HashMap<>();
+
+    public EventSearchIndex(EventRepository eventRepository, PlatformTransactionManager transactionManager) {
+        this.eventRepository = eventRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * 검색 결과 하나. 이벤트 id 와 점수
+     */
+    @Value
+    public static class Hit {
+        private final long eventId;
+        private final double score;
+    }
+
+    /**
+     * @param query 검색어. 공백 등으로 구분된 단어들
+     * @return 모든 단어가 들어있는 이벤트를 점수 내림차순(같으면 id 오름차순)으로
+     */
+    public List<Hit> search(String query) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        this.lock.readLock().lock();
+        try {
+            // 가장 짧은 목록부터 교집합을 구한다.
+            List<Map<Long, Float>> lists = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                Map<Long, Float> list = this.postings.get(term);
+                if (list == null) {
+                    return Collections.emptyList();
+                }
+                lists.add(list);
+            }
+            lists.sort((a, b) -> Integer.compare(a.size(), b.size()));
+
+            int documentCount = this.termsByEvent.size();
+            List<Hit> hits = new ArrayList<>();
+            for (Map.Entry<Long, Float> candidate : lists.get(0).entrySet()) {
+                Long eventId = candidate.getKey();
+                double score = 0;
+                boolean matchesAll = true;
+                for (Map<Long, Float> list : lists) {
+                    Float tf = list.get(eventId);
+                    if (tf == null) {
+                        matchesAll = false;
+                        break;
+                    }
+                    score += tf * idf(documentCount, list.size());
+                }
+                if (matchesAll) {
+                    hits.add(new Hit(eventId, score));
+                }
+            }
+            hits.sort((a, b) -> a.getScore() != b.getScore()
+                ? Double.compare(b.getScore(), a.getScore())
+                : Long.compare(a.getEventId(), b.getEventId()));
+            return hits;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent changedEvent) {
+        index(changedEvent.getEvent());
+    }
+
+    /**
+     * 전체 색인은 이벤트 수에 비례해서 오래 걸리므로 시작(ApplicationReadyEvent)을 늦추지 않도록 별도 스레드에서 실행한다.
+     * 색인이 끝나기 전에는 그때까지 색인한 이벤트와 새로 바뀐 이벤트만 검색된다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildInBackground() {
+        this.rebuilder.execute(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                log.error("Event search index build failed", e);
+            }
+        });
+        this.rebuilder.shutdown();
+    }
+
+    /**
+     * 저장된 전체 이벤트를 색인한다.
+     * 엔티티 대신 색인에 필요한 컬럼만 스트림으로 읽으므로 이벤트가 많아도 영속성 컨텍스트에 엔티티가 쌓이지 않는다.
+     * 요청을 받는 중에 실행되므로 이미 더 최신 version 으로 색인된 이벤트는 건너뛴다.
+     */
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        this.transactionTemplate.execute(status -> {
+            try (Stream<EventSearchDocument> documents = this.eventRepository.streamSearchDocuments()) {
+                documents.forEach(document -> index(document.getId(), document.getVersion(),
+                    document.getName(), document.getLocation(), document.getDescription()));
+            }
+            return null;
+        });
+        log.info("Event search index built: {} events, {} terms in {} ms",
+            size(), termCount(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 이벤트 하나를 색인한다. 이미 색인된 이벤트는 이전 단어를 지우고 다시 색인한다.
+     */
+    public void index(Event event) {
+        index(event.getId(), event.getVersion(), event.getName(), event.getLocation(), event.getDescription());
+    }
+
+    private void index(Long id, Long version, String name, String location, String description) {
+        if (id == null) {
+            return;
+        }
+        Map<String, Float> frequencies = new HashMap<>();
+        addTerms(frequencies, name, NAME_WEIGHT);
+        addTerms(frequencies, location, LOCATION_WEIGHT);
+        addTerms(frequencies, description, DESCRIPTION_WEIGHT);
+
+        this.lock.writeLock().lock();
+        try {
+            Long indexedVersion = this.versions.get(id);
+            if (indexedVersion != null && version != null && indexedVersion > version) {
+                return;
+            }
+            removeTerms(id);
+            frequencies.forEach((term, tf) ->
+                this.postings.computeIfAbsent(term, t -> new HashMap<>()).put(id, tf));
+            this.termsByEvent.put(id, frequencies.keySet());
+            if (version != null) {
+                this.versions.put(id, version);
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long eventId) {
+        this.lock.writeLock().lock();
+        try {
+            removeTerms(eventId);
+            this.versions.remove(eventId);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        this.lock.readLock().lock();
+        try {
+            return this.termsByEvent.size();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    int termCount() {
+        this.lock.readLock().lock();
+        try {
+            return this.postings.size();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        this.rebuilder.shutdownNow();
+    }
+
+    private void removeTerms(Long eventId) {
+        Set<String> terms = this.termsByEvent.remove(eventId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, Float> list = this.postings.get(term);
+            list.remove(eventId);
+            if (list.isEmpty()) {
+                this.postings.remove(term);
+            }
+        }
+    }
+
+    private static double idf(int documentCount, int documentFrequency) {
+        return Math.log(1 + (double) documentCount / documentFrequency);
+    }
+
+    private static void addTerms(Map<String, Float> frequencies, String text, float weight) {
+        for (String term : tokenize(text)) {
+            frequencies.merge(term, weight, Float::sum);
+            if (isHangul(term)) {
+                for (int length = MIN_PREFIX_LENGTH; length < term.length(); length++) {
+                    frequencies.merge(term.substring(0, length), weight, Float::sum);
+                }
+            }
+        }
+    }
+
+    private static boolean isHangul(String term) {
+        return Character.UnicodeScript.of(term.codePointAt(0)) == Character.UnicodeScript.HANGUL;
+    }
+
+    /**
+     * 소문자로 바꾸고 글자, 숫자가 아닌 문자로 분리한다.
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> terms = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean letterOrDigit = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (letterOrDigit && start < 0) {
+                start = i;
+            } else if (!letterOrDigit && start >= 0) {
+                terms.add(text.substring(start, i).toLowerCase());
+                start = -1;
+            }
+        }
+        return terms;
+    }
+}
@@ -0,0 +1,69 @@
+package io.namjune.basicrestapi.events;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * 이벤트 목록 조회 조건을 Specification 으로 만든다.
+ *
+ * 각 조건은 하나만 있어도 Event 테이블의 인덱스(Event 의 @Table 참고)의 선두 컬럼에 걸리도록 만들었다.
+ * 조건을 추가할 때는 인덱스도 같이 확인해야 한다. (EventRepositoryTest 에서 실행 계획을 검증한다)
+ */
+final class EventSpecifications {
+
+    private EventSpecifications() {
+    }
+
+    /**
+     * @param condition 조회 조건
+     * @return 조건이 하나도 없으면 null
+     */
+    static Specification<Event> of(EventSearchCondition condition) {
+        List<Specification<Event>> specs = new ArrayList<>();
+        addIfPresent(specs, condition.getEventStatus(), v -> (root, query, cb) -> cb.equal(root.get("eventStatus"), v));
+        addIfPresent(specs, condition.getOffline(), v -> (root, query, cb) -> cb.equal(root.get("offline"), v));
+        addIfPresent(specs, condition.getFree(), v -> (root, query, cb) -> cb.equal(root.get("free"), v));
+        addIfPresent(specs, condition.getBasePriceFrom(), v -> (root, query, cb) -> cb.ge(root.get("basePrice"), v));
+        addIfPresent(specs, condition.getBasePriceTo(), v -> (root, query, cb) -> cb.le(root.get("basePrice"), v));
+        addIfPresent(specs, condition.getMaxPriceFrom(), v -> (root, query, cb) -> cb.ge(root.get("maxPrice"), v));
+        addIfPresent(specs, condition.getMaxPriceTo(), v -> (root, query, cb) -> cb.le(root.get("maxPrice"), v));
+        addIfPresent(specs, condition.getEventFrom(),
+            v -> (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("beginEventDateTime"), v));
+        addIfPresent(specs, condition.getEventTo(),
+            v -> (root, query, cb) -> cb.lessThanOrEqualTo(root.get("endEventDateTime"), v));
+        addIfPresent(specs, condition.getEnrollmentFrom(),
+            v -> (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("beginEnrollmentDateTime"), v));
+        addIfPresent(specs, condition.getEnrollmentTo(),
+            v -> (root, query, cb) -> cb.lessThanOrEqualTo(root.get("closeEnrollmentDateTime"), v));
+
+        return specs.stream()
+            .reduce(Specification::and)
+            .orElse(null);
+    }
+
+    /**
+     * 키셋 페이징 조건. 필터 조건과 함께 사용한다.
+     */
+    static Specification<Event> idGreaterThan(Long id) {
+        return (root, query, cb) -> cb.gt(id(root), id);
+    }
+
+    static Specification<Event> idLessThan(Long id) {
+        return (root, query, cb) -> cb.lt(id(root), id);
+    }
+
+    private static Path<Long> id(Root<Event> root) {
+        return root.get("id");
+    }
+
+    private static <T> void addIfPresent(List<Specification<Event>> specs, T value,
+                                         Function<T, Specification<Event>> spec) {
+        if (value != null) {
+            specs.add(spec.apply(value));
+        }
+    }
+}
@@ -0,0 +1,345 @@
+package io.namjune.basicrestapi.events;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.namjune.basicrestapi.common.HierarchicalTimerWheel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * 등록 시작/마감, 이벤트 시작/종료 시각이 되면 이벤트 상태를 바꾸는 스케줄러
+ *
+ * PUBLISHED -> BEGAN_ENROLLMENT(beginEnrollmentDateTime) -> CLOSED_ENROLLMENT(closeEnrollmentDateTime)
+ * -> STARTED(beginEventDateTime) -> ENDED(endEventDateTime)
+ *
+ * 매분 테이블 전체를 조회하지 않도록, 시작할 때 변경이 남은 이벤트를 한번만 읽어서 이벤트마다 다음 변경 하나를
+ * 계층형 타이머 휠에 넣어둔다. 1초마다 시간을 진행하고, 만료된 변경을 바꿀 상태별로 모아서 UPDATE 한번으로 실행한다.
+ * 이벤트가 생성되거나 일정, 상태가 바뀌면(EventChangedEvent) 다음 변경을 다시 넣고, 이전에 넣은 변경은 만료될 때 버린다.
+ *
+ * UPDATE 는 상태와 시각을 조건으로 하므로 여러 서버에서 같은 변경을 실행해도 한번만 바뀐다.
+ *
+ * 메트릭: events.status.scheduled, events.status.transitions(status=바뀐 상태)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "my-app", name = "event-status-scheduler-enabled", matchIfMissing = true)
+public class EventStatusScheduler implements MeterBinder, DisposableBean {
+
+    static final long TICK_MILLIS = 1000;
+    // 64칸 4단: 64초, 약 68분, 약 3일, 약 194일. 더 먼 변경은 휠의 overflow 목록에 둔다.
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_LEVELS = 4;
+    // IN 절 하나에 넣는 최대 id 수
+    static final int BATCH_SIZE = 500;
+    // UPDATE 에 실패한 변경을 다시 실행할 때까지 기다리는 시간
+    private static final long RETRY_MILLIS = 10_000;
+
+    private final EventRepository eventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ZoneId zoneId = ZoneId.systemDefault();
+
+    private final HierarchicalTimerWheel<Transition> wheel;
+    // 이벤트 id -> 마지막으로 넣은 변경. 휠에서 만료된 변경이 이것과 다르면 그 사이에 다시 넣은 것이므로 버린다.
+    private final Map<Long, Transition> scheduled = new HashMap<>();
+    // 만료된 변경 실행은 한번에 하나만
+    private final Object advanceLock = new Object();
+    private final Map<EventStatus, LongAdder> transitions = new EnumMap<>(EventStatus.class);
+    private final ScheduledExecutorService ticker;
+
+    public EventStatusScheduler(EventRepository eventRepository, PlatformTransactionManager transactionManager,
+                                ApplicationEventPublisher eventPublisher) {
+        this.eventRepository = eventRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.wheel = new HierarchicalTimerWheel<>(TICK_MILLIS, WHEEL_BITS, WHEEL_LEVELS, System.currentTimeMillis());
+        for (Step step : Step.values()) {
+            this.transitions.put(step.status, new LongAdder());
+        }
+        this.ticker = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("event-status-"));
+    }
+
+    /**
+     * 자동으로 바뀌는 상태와 그 상태가 시작되는 시각 필드. 선언 순서가 상태가 바뀌는 순서
+     */
+    enum Step {
+        BEGAN_ENROLLMENT(EventStatus.BEGAN_ENROLLMENT, "beginEnrollmentDateTime", EventSchedule::getBeginEnrollmentDateTime),
+        CLOSED_ENROLLMENT(EventStatus.CLOSED_ENROLLMENT, "closeEnrollmentDateTime", EventSchedule::getCloseEnrollmentDateTime),
+        STARTED(EventStatus.STARTED, "beginEventDateTime", EventSchedule::getBeginEventDateTime),
+        ENDED(EventStatus.ENDED, "endEventDateTime", EventSchedule::getEndEventDateTime);
+
+        private final EventStatus status;
+        private final String dateAttribute;
+        private final Function<EventSchedule, LocalDateTime> date;
+
+        Step(EventStatus status, String dateAttribute, Function<EventSchedule, LocalDateTime> date) {
+            this.status = status;
+            this.dateAttribute = dateAttribute;
+            this.date = date;
+        }
+
+        static Step of(EventStatus status) {
+            return valueOf(status.name());
+        }
+
+        // updateEventStatus 의 조건과 같다. 상태가 from 중 하나이고 시각이 now 이전인지
+        boolean qualifies(EventSchedule event, LocalDateTime now) {
+            LocalDateTime dateTime = this.date.apply(event);
+            return from().contains(event.getEventStatus()) && dateTime != null && !dateTime.isAfter(now);
+        }
+
+        // 이 상태로 바꿀 수 있는 이전 상태. DRAFT 는 공개(PUBLISHED)되기 전이므로 바꾸지 않는다.
+        Set<EventStatus> from() {
+            return EnumSet.range(EventStatus.PUBLISHED, EventStatus.values()[this.status.ordinal() - 1]);
+        }
+    }
+
+    /**
+     * 이벤트 하나의 다음 상태 변경. 같은 내용이라도 다시 넣은 변경은 다른 변경으로 본다(참조 비교).
+     */
+    static final class Transition {
+        private final Long eventId;
+        private final EventStatus status;
+        private final long dueMillis;
+
+        Transition(Long eventId, EventStatus status, long dueMillis) {
+            this.eventId = eventId;
+            this.status = status;
+            this.dueMillis = dueMillis;
+        }
+
+        EventStatus getStatus() {
+            return this.status;
+        }
+
+        long getDueMillis() {
+            return this.dueMillis;
+        }
+    }
+
+    /**
+     * 변경이 남은 이벤트를 휠에 넣고 시간을 진행하기 시작한다.
+     * 엔티티 대신 상태와 시각만 스트림으로 읽어서 읽는 대로 휠에 넣는다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long now = System.currentTimeMillis();
+        this.transactionTemplate.execute(status -> {
+            try (Stream<EventSchedule> schedules = this.eventRepository.streamSchedulesByEventStatusIn(
+                EnumSet.range(EventStatus.PUBLISHED, EventStatus.STARTED))) {
+                schedules.forEach(schedule -> schedule(schedule, now));
+            }
+            return null;
+        });
+        log.info("Scheduled status transitions of {} events", scheduledCount());
+
+        this.ticker.scheduleAtFixedRate(() -> {
+            try {
+                advance(System.currentTimeMillis());
+            } catch (RuntimeException e) {
+                log.warn("Failed to advance event status transitions", e);
+            }
+        }, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 생성되거나 일정, 상태가 바뀐 이벤트의 다음 변경을 다시 넣는다.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent changedEvent) {
+        Map<String, Object> changes = changedEvent.getChanges();
+        boolean rescheduled = changedEvent.getType() == EventChangedEvent.Type.CREATED
+            || changes.containsKey("eventStatus");
+        for (Step step : Step.values()) {
+            rescheduled |= changes.containsKey(step.dateAttribute);
+        }
+        if (rescheduled) {
+            schedule(changedEvent.getEvent(), System.currentTimeMillis());
+        }
+    }
+
+    Transition schedule(Event event, long nowMillis) {
+        return schedule(EventSchedule.of(event), nowMillis);
+    }
+
+    /**
+     * @param event     이벤트의 상태와 시각
+     * @param nowMillis 현재 시각(epoch ms)
+     * @return 휠에 넣은 다음 변경. 남은 변경이 없으면 null
+     */
+    synchronized Transition schedule(EventSchedule event, long nowMillis) {
+        Transition transition = nextTransition(event, nowMillis);
+        if (transition == null) {
+            this.scheduled.remove(event.getId());
+            return null;
+        }
+        this.scheduled.put(event.getId(), transition);
+        this.wheel.schedule(transition.dueMillis, transition);
+        return transition;
+    }
+
+    /**
+     * nowMillis 까지 만료된 변경을 바꿀 상태별로 모아서 실행한다.
+     *
+     * @param nowMillis 현재 시각(epoch ms)
+     */
+    void advance(long nowMillis) {
+        synchronized (this.advanceLock) {
+            Map<EventStatus, List<Long>> due = new EnumMap<>(EventStatus.class);
+            synchronized (this) {
+                this.wheel.advance(nowMillis, transition -> {
+                    if (this.scheduled.get(transition.eventId) == transition) {
+                        this.scheduled.remove(transition.eventId);
+                        due.computeIfAbsent(transition.status, status -> new ArrayList<>()).add(transition.eventId);
+                    }
+                });
+            }
+
+            LocalDateTime now = LocalDateTime.ofInstant(Instant.ofEpochMilli(nowMillis), this.zoneId);
+            for (Map.Entry<EventStatus, List<Long>> entry : due.entrySet()) {
+                List<Long> ids = entry.getValue();
+                for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+                    List<Long> batch = ids.subList(from, Math.min(ids.size(), from + BATCH_SIZE));
+                    fire(Step.of(entry.getKey()), batch, now, nowMillis);
+                }
+            }
+        }
+    }
+
+    // 상태를 바꾸고, 바뀐 이벤트는 EventChangedEvent 를 발행한다(다음 변경은 onEventChanged 에서 넣는다).
+    // 조건에 맞지 않아 바뀌지 않은 이벤트는 바로 다음 변경을 다시 넣는다.
+    private void fire(Step step, List<Long> ids, LocalDateTime now, long nowMillis) {
+        try {
+            this.transactionTemplate.execute(status -> {
+                Map<Long, Map<String, Object>> before = new HashMap<>();
+                List<Event> events = this.eventRepository.findAllById(ids);
+                List<Event> qualifying = new ArrayList<>();
+                for (Event event : events) {
+                    before.put(event.getId(), EventChangedEvent.fieldsOf(event));
+                    if (step.qualifies(EventSchedule.of(event), now)) {
+                        qualifying.add(event);
+                    }
+                }
+                int count = this.eventRepository.updateEventStatus(ids, step.from(), step.status, step.dateAttribute, now);
+                if (count > 0) {
+                    this.transitions.get(step.status).add(count);
+                }
+
+                // 읽은 값으로 판단한 이벤트가 모두 바뀌었으면 다시 읽지 않고 UPDATE 한 값을 그대로 반영한다.
+                // 그 사이 다른 서버나 수정 요청이 끼어들어 수가 다르면 DB 에서 다시 읽는다.
+                // (UPDATE 후 영속성 컨텍스트를 비우므로 events 는 준영속 상태라 값을 바꿔도 UPDATE 되지 않는다)
+                if (count == qualifying.size()) {
+                    for (Event event : qualifying) {
+                        event.setEventStatus(step.status);
+                        event.setVersion(event.getVersion() + 1);
+                    }
+                } else {
+                    events = this.eventRepository.findAllById(ids);
+                }
+
+                for (Event event : events) {
+                    EventChangedEvent changedEvent = EventChangedEvent.updated(event, before.get(event.getId()));
+                    if (changedEvent.getChanges().isEmpty()) {
+                        schedule(event, nowMillis);
+                    } else {
+                        this.eventPublisher.publishEvent(changedEvent);
+                    }
+                }
+                return count;
+            });
+        } catch (RuntimeException e) {
+            log.warn("Failed to change status of events {} to {}, retrying in {}ms", ids, step.status, RETRY_MILLIS, e);
+            retry(step.status, ids, nowMillis + RETRY_MILLIS);
+        }
+    }
+
+    private synchronized void retry(EventStatus status, List<Long> ids, long dueMillis) {
+        for (Long id : ids) {
+            if (!this.scheduled.containsKey(id)) {
+                Transition transition = new Transition(id, status, dueMillis);
+                this.scheduled.put(id, transition);
+                this.wheel.schedule(dueMillis, transition);
+            }
+        }
+    }
+
+    /**
+     * 이미 시각이 지난 변경이 여러개면 가장 마지막 변경으로 바로 바꾸고(ex. PUBLISHED -> ENDED), 아니면 다음 변경 시각에 바꾼다.
+     * 시각이 없는(null) 변경은 건너뛴다.
+     *
+     * @return 다음 변경. DRAFT, ENDED 이거나 남은 변경이 없으면 null
+     */
+    Transition nextTransition(EventSchedule event, long nowMillis) {
+        EventStatus current = event.getEventStatus();
+        if (current == null || current.compareTo(EventStatus.PUBLISHED) < 0) {
+            return null;
+        }
+
+        Transition overdue = null;
+        for (Step step : Step.values()) {
+            LocalDateTime date = step.date.apply(event);
+            if (step.status.compareTo(current) <= 0 || date == null) {
+                continue;
+            }
+            long dueMillis = date.atZone(this.zoneId).toInstant().toEpochMilli();
+            if (dueMillis > nowMillis) {
+                return overdue != null ? overdue : new Transition(event.getId(), step.status, dueMillis);
+            }
+            overdue = new Transition(event.getId(), step.status, dueMillis);
+        }
+        return overdue;
+    }
+
+    synchronized int scheduledCount() {
+        return this.scheduled.size();
+    }
+
+    synchronized Transition scheduledTransition(Long eventId) {
+        return this.scheduled.get(eventId);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("events.status.scheduled", this, EventStatusScheduler::scheduledCount)
+            .description("The number of events waiting for a status transition")
+            .register(registry);
+        this.transitions.forEach((status, count) ->
+            FunctionCounter.builder("events.status.transitions", count, LongAdder::sum)
+                .tag("status", status.name())
+                .description("The number of automatic event status transitions")
+                .register(registry));
+    }
+
+    @Override
+    public void destroy() {
+        this.ticker.shutdownNow();
+    }
+}
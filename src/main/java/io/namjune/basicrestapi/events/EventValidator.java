@@ -5,21 +5,32 @@ import org.springframework.validation.Errors;
 
 import java.time.LocalDateTime;
 
+/**
+ * 필드 사이의 규칙 검증
+ * 부분 수정(EventMergePatch)에서는 바뀐 필드와 관련된 규칙만 검사할 수 있도록 가격과 일정 규칙을 나눠둔다.
+ */
 @Component
 public class EventValidator {
 
     public void validate(EventRequestDto eventRequestDto, Errors errors) {
+        validatePrices(eventRequestDto, errors);
+        validateDates(eventRequestDto, errors);
+    }
+
+    public void validatePrices(EventRequestDto eventRequestDto, Errors errors) {
         if (eventRequestDto.getBasePrice() > eventRequestDto.getMaxPrice()
             && eventRequestDto.getMaxPrice() != 0) {
             errors.rejectValue("basePrice", "wrongValue", "BasePrice is wrong");
             errors.rejectValue("maxPrice", "wrongValue", "maxPrice is wrong");
         }
+    }
 
-        LocalDateTime endEventTime = eventRequestDto.getEndEventDateTime();
-        if (endEventTime.isBefore(eventRequestDto.getBeginEventDateTime())
-            || endEventTime.isBefore(eventRequestDto.getCloseEnrollmentDateTime())
-            || endEventTime.isBefore(eventRequestDto.getBeginEnrollmentDateTime())) {
-            errors.rejectValue("endEventTime", "wrongValue", "endEventTime is wrong");
+    public void validateDates(EventRequestDto eventRequestDto, Errors errors) {
+        LocalDateTime endEventDateTime = eventRequestDto.getEndEventDateTime();
+        if (endEventDateTime.isBefore(eventRequestDto.getBeginEventDateTime())
+            || endEventDateTime.isBefore(eventRequestDto.getCloseEnrollmentDateTime())
+            || endEventDateTime.isBefore(eventRequestDto.getBeginEnrollmentDateTime())) {
+            errors.rejectValue("endEventDateTime", "wrongValue", "endEventDateTime is wrong");
         }
 
         LocalDateTime closeEnrollmentDateTime = eventRequestDto.getCloseEnrollmentDateTime();
@@ -0,0 +1,13 @@
+package io.namjune.basicrestapi.events;
+
+/**
+ * 이벤트의 id 와 version 만 조회하는 프로젝션
+ *
+ * ETag 를 계산할 때는 엔티티 전체가 필요 없기 때문에 이 두 컬럼만 조회한다.
+ */
+public interface EventVersion {
+
+    Long getId();
+
+    Long getVersion();
+}
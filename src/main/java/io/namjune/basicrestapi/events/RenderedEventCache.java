@@ -0,0 +1,282 @@
+package io.namjune.basicrestapi.events;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.namjune.basicrestapi.config.AppProperties;
+import lombok.Getter;
+import lombok.Value;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 이벤트 하나 조회(GET /api/events/{id}) 응답 본문을 직렬화한 바이트로 보관하는 캐시
+ *
+ * 2차 캐시에서 이벤트를 꺼내도 매번 EventResource 와 링크를 만들고 JSON 으로 직렬화해야 하므로,
+ * 직렬화한 결과(와 gzip 으로 압축한 결과)를 id + version + 표현(매니저 여부, 링크의 기준 주소)을 키로 보관하고 그대로 응답한다.
+ * 키에 version 이 있으므로 수정된 이벤트의 이전 본문은 다시 쓰이지 않고, 수정되면 바로 지운다.
+ *
+ * 크기는 항목 수가 아니라 보관한 바이트 수(my-app.rendered-cache-max-size)로 제한한다.
+ * 락 경합을 줄이기 위해 이벤트 id 로 나눈 세그먼트마다 LRU 로 관리한다.
+ *
+ * 메트릭: events.rendered.cache.gets(result=hit/miss), events.rendered.cache.size, events.rendered.cache.bytes
+ */
+@Component
+public class RenderedEventCache implements MeterBinder {
+
+    static final int GZIP_MIN_LENGTH = 256;
+    private static final int SEGMENTS = 16;
+    // 키, 배열 헤더 등 본문 밖에 쓰는 메모리 추정치
+    private static final int ENTRY_OVERHEAD = 128;
+
+    private final ObjectProvider<RequestMappingHandlerAdapter> handlerAdapter;
+    private final boolean gzip;
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public RenderedEventCache(ObjectProvider<RequestMappingHandlerAdapter> handlerAdapter, AppProperties appProperties) {
+        this.handlerAdapter = handlerAdapter;
+        this.gzip = appProperties.isRenderedCacheGzip();
+        long segmentMaxBytes = appProperties.getRenderedCacheMaxSize().toBytes() / SEGMENTS;
+        for (int i = 0; i < SEGMENTS; i++) {
+            this.segments[i] = new Segment(segmentMaxBytes);
+        }
+    }
+
+    @Value
+    static class Key {
+        private final Long id;
+        private final Long version;
+        // 매니저 여부, 링크의 기준 주소
+        private final String variant;
+    }
+
+    /**
+     * 직렬화한 응답 본문. gzip 은 압축할 만큼 크지 않거나 압축을 끈 경우 null
+     */
+    @Getter
+    public static class Rendered {
+        private final byte[] body;
+        private final byte[] gzipBody;
+
+        Rendered(byte[] body, byte[] gzipBody) {
+            this.body = body;
+            this.gzipBody = gzipBody;
+        }
+
+        long weight() {
+            return ENTRY_OVERHEAD + this.body.length + (this.gzipBody == null ? 0 : this.gzipBody.length);
+        }
+    }
+
+    /**
+     * @param event     이벤트
+     * @param variant   같은 이벤트라도 응답 본문이 달라지는 조건(매니저 여부, 링크의 기준 주소)
+     * @param mediaType 응답 미디어 타입
+     * @param resource  캐시에 없을 때 응답 본문을 만드는 함수
+     * @return 직렬화한 응답 본문
+     */
+    public Rendered get(Event event, String variant, MediaType mediaType, Supplier<?> resource) {
+        Key key = new Key(event.getId(), event.getVersion(), variant);
+        Segment segment = segmentFor(event.getId());
+        Rendered rendered = segment.get(key);
+        if (rendered != null) {
+            this.hits.increment();
+            return rendered;
+        }
+        this.misses.increment();
+
+        byte[] body = render(resource.get(), mediaType);
+        rendered = new Rendered(body, this.gzip && body.length >= GZIP_MIN_LENGTH ? gzip(body) : null);
+        segment.put(key, rendered);
+        return rendered;
+    }
+
+    /**
+     * 수정된 이벤트의 모든 표현을 지운다.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent changedEvent) {
+        if (changedEvent.getType() == EventChangedEvent.Type.UPDATED) {
+            evict(changedEvent.getEvent().getId());
+        }
+    }
+
+    void evict(Long id) {
+        segmentFor(id).evict(id);
+    }
+
+    /**
+     * @param acceptEncoding Accept-Encoding 헤더
+     * @return gzip 으로 응답해도 되면 true
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].trim().replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : this.segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    public long bytes() {
+        long bytes = 0;
+        for (Segment segment : this.segments) {
+            bytes += segment.bytes();
+        }
+        return bytes;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("events.rendered.cache.gets", this.hits, LongAdder::sum)
+            .tag("result", "hit")
+            .description("The number of rendered event lookups")
+            .register(registry);
+        FunctionCounter.builder("events.rendered.cache.gets", this.misses, LongAdder::sum)
+            .tag("result", "miss")
+            .description("The number of rendered event lookups")
+            .register(registry);
+        Gauge.builder("events.rendered.cache.size", this, RenderedEventCache::size)
+            .description("The number of rendered event bodies")
+            .register(registry);
+        Gauge.builder("events.rendered.cache.bytes", this, RenderedEventCache::bytes)
+            .description("The estimated bytes held by rendered event bodies")
+            .baseUnit("bytes")
+            .register(registry);
+    }
+
+    private Segment segmentFor(Long id) {
+        int hash = Long.hashCode(id);
+        return this.segments[(hash ^ (hash >>> 16)) & (SEGMENTS - 1)];
+    }
+
+    // 컨트롤러의 응답과 같은 결과가 나오도록 스프링 MVC 가 사용하는 메시지 컨버터(HAL)로 직렬화한다.
+    @SuppressWarnings("unchecked")
+    private byte[] render(Object resource, MediaType mediaType) {
+        for (HttpMessageConverter<?> converter : this.handlerAdapter.getObject().getMessageConverters()) {
+            if (converter.canWrite(resource.getClass(), mediaType)) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream(2048);
+                try {
+                    ((HttpMessageConverter<Object>) converter).write(resource, mediaType, new BufferedOutputMessage(out));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return out.toByteArray();
+            }
+        }
+        throw new IllegalStateException("No converter for " + resource.getClass() + " and " + mediaType);
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 2);
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+            gzipOut.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static class BufferedOutputMessage implements HttpOutputMessage {
+
+        private final HttpHeaders headers = new HttpHeaders();
+        private final OutputStream body;
+
+        BufferedOutputMessage(OutputStream body) {
+            this.body = body;
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return this.body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return this.headers;
+        }
+    }
+
+    private static class Segment {
+
+        private final long maxBytes;
+        private final LinkedHashMap<Key, Rendered> entries = new LinkedHashMap<>(64, 0.75f, true);
+        private long bytes;
+
+        Segment(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        synchronized Rendered get(Key key) {
+            return this.entries.get(key);
+        }
+
+        synchronized void put(Key key, Rendered rendered) {
+            if (rendered.weight() > this.maxBytes) {
+                return;
+            }
+            Rendered previous = this.entries.put(key, rendered);
+            if (previous != null) {
+                this.bytes -= previous.weight();
+            }
+            this.bytes += rendered.weight();
+
+            Iterator<Map.Entry<Key, Rendered>> eldest = this.entries.entrySet().iterator();
+            while (this.bytes > this.maxBytes && eldest.hasNext()) {
+                this.bytes -= eldest.next().getValue().weight();
+                eldest.remove();
+            }
+        }
+
+        synchronized void evict(Long id) {
+            Iterator<Map.Entry<Key, Rendered>> iterator = this.entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<Key, Rendered> entry = iterator.next();
+                if (entry.getKey().getId().equals(id)) {
+                    this.bytes -= entry.getValue().weight();
+                    iterator.remove();
+                }
+            }
+        }
+
+        synchronized int size() {
+            return this.entries.size();
+        }
+
+        synchronized long bytes() {
+            return this.bytes;
+        }
+    }
+}
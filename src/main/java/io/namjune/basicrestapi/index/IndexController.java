@@ -1,8 +1,6 @@
 package io.namjune.basicrestapi.index;
 
-
-import static org.springframework.hateoas.mvc.ControllerLinkBuilder.linkTo;
-
+import io.namjune.basicrestapi.common.LinkTemplates;
 import io.namjune.basicrestapi.events.EventController;
 import org.springframework.hateoas.ResourceSupport;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -19,7 +17,7 @@ public class IndexController {
     @GetMapping("/api")
     public ResourceSupport index() {
         ResourceSupport resourceSupport = new ResourceSupport();
-        resourceSupport.add(linkTo(EventController.class).withRel("events"));
+        resourceSupport.add(LinkTemplates.link(EventController.class, "events"));
         return resourceSupport;
     }
 }
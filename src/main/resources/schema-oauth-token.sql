@@ -0,0 +1,16 @@
+-- JdbcTokenStore 가 사용하는 테이블. H2, MySQL 모두에서 동작하도록 작성
+create table if not exists oauth_access_token (
+  token_id          varchar(256) unique,
+  token             blob,
+  authentication_id varchar(256) primary key,
+  user_name         varchar(256),
+  client_id         varchar(256),
+  authentication    blob,
+  refresh_token     varchar(256)
+);
+
+create table if not exists oauth_refresh_token (
+  token_id       varchar(256) primary key,
+  token          blob,
+  authentication blob
+);
@@ -2,15 +2,20 @@ package io.namjune.basicrestapi.accounts;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import javax.persistence.EntityManagerFactory;
 import org.hamcrest.Matchers;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -29,9 +34,21 @@ public class AccountServiceTest {
     @Autowired
     AccountService accountService;
 
+    @Autowired
+    AccountRepository accountRepository;
+
     @Autowired
     PasswordEncoder passwordEncoder;
 
+    @Autowired
+    CacheManager cacheManager;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
     @Test
     public void findByUsername() {
         // Given
@@ -84,4 +101,62 @@ public class AccountServiceTest {
         // When
         this.accountService.loadUserByUsername(username);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void loadUserByUsername_캐시() {
+        // Given
+        String email = "cached@gmail.com";
+        Account account = Account.builder()
+            .email(email)
+            .password("1234")
+            .roles(Stream.of(AccountRole.ADMIN, AccountRole.USER).collect(Collectors.toSet()))
+            .build();
+        this.accountService.savePasswordEncodedAccount(account);
+        this.cacheManager.getCache(AccountRepository.PRINCIPALS_CACHE).clear();
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When & Then - 처음에는 account 와 roles 를 조인 쿼리 한번으로, 두번째는 캐시에서 조회
+        UserDetails userDetails = this.accountService.loadUserByUsername(email);
+        assertThat(userDetails.getAuthorities()).hasSize(2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        this.accountService.loadUserByUsername(email);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(this.meterRegistry.find("cache.hit.ratio").tag("cache", AccountRepository.PRINCIPALS_CACHE).gauge())
+            .isNotNull();
+
+        // 꺼낸 계정을 바꿔도 캐시된 계정은 바뀌지 않는다.
+        ((AccountAdapter) userDetails).getAccount().setPassword("changed");
+        assertThat(this.passwordEncoder.matches("1234", this.accountService.loadUserByUsername(email).getPassword())).isTrue();
+
+        // 패스워드를 바꾸면 캐시가 지워져서 바뀐 패스워드로 인증한다. 캐시된 계정이 아니라 DB 에서 읽은 사본을 바꾼다.
+        Account savedAccount = this.accountRepository.findByEmail(email).get();
+        savedAccount.setPassword("5678");
+        this.accountService.savePasswordEncodedAccount(savedAccount);
+        assertThat(this.passwordEncoder.matches("5678", this.accountService.loadUserByUsername(email).getPassword())).isTrue();
+    }
+
+    @Test
+    public void savePasswordEncodedAccount_이메일변경() {
+        // Given
+        String email = "before@gmail.com";
+        Account account = Account.builder()
+            .email(email)
+            .password("1234")
+            .roles(Stream.of(AccountRole.USER).collect(Collectors.toSet()))
+            .build();
+        this.accountService.savePasswordEncodedAccount(account);
+        this.accountService.loadUserByUsername(email);
+
+        // When
+        Account savedAccount = this.accountRepository.findByEmail(email).get();
+        savedAccount.setEmail("after@gmail.com");
+        this.accountService.savePasswordEncodedAccount(savedAccount);
+
+        // Then - 이전 이메일로 캐시된 계정도 지워져서 더 이상 인증할 수 없다.
+        assertThat(this.accountService.loadUserByUsername("after@gmail.com").getUsername()).isEqualTo("after@gmail.com");
+        expectedException.expect(UsernameNotFoundException.class);
+        this.accountService.loadUserByUsername(email);
+    }
+}
@@ -0,0 +1,133 @@
+package io.namjune.basicrestapi.accounts;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.oauth2.common.DefaultExpiringOAuth2RefreshToken;
+import org.springframework.security.oauth2.common.DefaultOAuth2AccessToken;
+import org.springframework.security.oauth2.common.OAuth2RefreshToken;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Request;
+
+public class BoundedTokenStoreTest {
+
+    @Test
+    public void storeAndRead() {
+        // Given
+        BoundedTokenStore tokenStore = new BoundedTokenStore(10);
+        OAuth2Authentication authentication = authentication("user@gmail.com");
+        OAuth2RefreshToken refreshToken = new DefaultExpiringOAuth2RefreshToken("refresh", expiresIn(60));
+        DefaultOAuth2AccessToken accessToken = accessToken("access", expiresIn(10));
+        accessToken.setRefreshToken(refreshToken);
+
+        // When
+        tokenStore.storeAccessToken(accessToken, authentication);
+        tokenStore.storeRefreshToken(refreshToken, authentication);
+
+        // Then
+        assertThat(tokenStore.readAccessToken("access")).isEqualTo(accessToken);
+        assertThat(tokenStore.readAuthentication("access")).isEqualTo(authentication);
+        assertThat(tokenStore.getAccessToken(authentication)).isEqualTo(accessToken);
+        assertThat(tokenStore.readAuthenticationForRefreshToken(refreshToken)).isEqualTo(authentication);
+        assertThat(tokenStore.findTokensByClientIdAndUserName("myApp", "user@gmail.com")).containsExactly(accessToken);
+
+        // 리프레시 토큰으로 액세스 토큰을 지우면 연결된 정보도 함께 지워진다.
+        tokenStore.removeAccessTokenUsingRefreshToken(refreshToken);
+        assertThat(tokenStore.readAccessToken("access")).isNull();
+        assertThat(tokenStore.getAccessToken(authentication)).isNull();
+        assertThat(tokenStore.readRefreshToken("refresh")).isNotNull();
+
+        tokenStore.removeRefreshToken(refreshToken);
+        assertThat(tokenStore.readRefreshToken("refresh")).isNull();
+        assertThat(tokenStore.getAccessTokenCount()).isZero();
+        assertThat(tokenStore.getRefreshTokenCount()).isZero();
+    }
+
+    @Test
+    public void 만료된_토큰은_저장할때마다_조금씩_지운다() throws Exception {
+        // Given
+        BoundedTokenStore tokenStore = new BoundedTokenStore(1000);
+        int expiringCount = BoundedTokenStore.SWEEP_BATCH_SIZE * 2 + 1;
+        Date expiration = expiresIn(1);
+        for (int i = 0; i < expiringCount; i++) {
+            tokenStore.storeAccessToken(accessToken("expiring" + i, expiration), authentication("user" + i));
+        }
+        Thread.sleep(1100);
+
+        // When - 토큰을 한번 저장할 때는 SWEEP_BATCH_SIZE 개까지만 지운다.
+        tokenStore.storeAccessToken(accessToken("valid", expiresIn(60)), authentication("valid"));
+
+        // Then
+        assertThat(tokenStore.getAccessTokenCount()).isEqualTo(expiringCount - BoundedTokenStore.SWEEP_BATCH_SIZE + 1);
+
+        tokenStore.sweepExpiredTokens();
+        tokenStore.sweepExpiredTokens();
+        assertThat(tokenStore.getAccessTokenCount()).isEqualTo(1);
+        assertThat(tokenStore.readAccessToken("valid")).isNotNull();
+    }
+
+    @Test
+    public void 상한을_넘으면_가장_먼저_만료될_토큰부터_지운다() {
+        // Given
+        BoundedTokenStore tokenStore = new BoundedTokenStore(3);
+
+        // When - 나중에 저장할수록 먼저 만료되는 토큰
+        for (int i = 0; i < 5; i++) {
+            tokenStore.storeAccessToken(accessToken("token" + i, expiresIn(100 - i)), authentication("user" + i));
+        }
+
+        // Then
+        assertThat(tokenStore.getAccessTokenCount()).isEqualTo(3);
+        assertThat(tokenStore.readAccessToken("token0")).isNotNull();
+        assertThat(tokenStore.readAccessToken("token1")).isNotNull();
+        assertThat(tokenStore.readAccessToken("token2")).isNotNull();
+        assertThat(tokenStore.readAccessToken("token3")).isNull();
+        assertThat(tokenStore.readAccessToken("token4")).isNull();
+    }
+
+    @Test
+    public void 동시에_저장해도_상한을_지킨다() throws Exception {
+        // Given
+        int maxTokens = 100;
+        BoundedTokenStore tokenStore = new BoundedTokenStore(maxTokens);
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+
+        // When
+        for (int i = 0; i < 5000; i++) {
+            int index = i;
+            executorService.execute(() -> tokenStore.storeAccessToken(
+                accessToken(UUID.randomUUID().toString(), expiresIn(index % 120)), authentication("user" + index)));
+        }
+        executorService.shutdown();
+        assertThat(executorService.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        // Then
+        assertThat(tokenStore.getAccessTokenCount()).isLessThanOrEqualTo(maxTokens);
+    }
+
+    private static DefaultOAuth2AccessToken accessToken(String value, Date expiration) {
+        DefaultOAuth2AccessToken accessToken = new DefaultOAuth2AccessToken(value);
+        accessToken.setExpiration(expiration);
+        return accessToken;
+    }
+
+    private static Date expiresIn(int seconds) {
+        return new Date(System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(seconds));
+    }
+
+    private static OAuth2Authentication authentication(String username) {
+        OAuth2Request request = new OAuth2Request(Collections.emptyMap(), "myApp",
+            AuthorityUtils.createAuthorityList("ROLE_USER"), true, Collections.singleton("read"),
+            Collections.singleton("event"), null, null, null);
+        return new OAuth2Authentication(request,
+            new UsernamePasswordAuthenticationToken(username, "N/A", AuthorityUtils.createAuthorityList("ROLE_USER")));
+    }
+}
@@ -12,12 +12,17 @@ import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 
 @RunWith(SpringRunner.class)
 @SpringBootTest
 @AutoConfigureMockMvc
 @AutoConfigureRestDocs
-@Import(RestDocsConfiguration.class)    //REST Docs prettyPrint
+@Import({RestDocsConfiguration.class, SqlStatementsConfiguration.class})    //REST Docs prettyPrint, SQL 실행 수 검증
 @ActiveProfiles("test")
 @Ignore //테스트를 가지고있는 클래스가 아니기 때문에, 무시하도록
 public class BaseControllerTest {
@@ -30,4 +35,20 @@ public class BaseControllerTest {
 
     @Autowired
     protected ModelMapper modelMapper;
+
+    @Autowired
+    protected SqlStatements sqlStatements;
+
+    /**
+     * 비동기(CompletableFuture) 로 응답하는 핸들러는 결과를 기다렸다가 다시 디스패치한 결과로 검증한다.
+     * 동기 핸들러는 mockMvc.perform 과 같다.
+     */
+    protected ResultActions perform(RequestBuilder requestBuilder) throws Exception {
+        ResultActions resultActions = this.mockMvc.perform(requestBuilder);
+        MvcResult mvcResult = resultActions.andReturn();
+        if (mvcResult.getRequest().isAsyncStarted()) {
+            return this.mockMvc.perform(asyncDispatch(mvcResult));
+        }
+        return resultActions;
+    }
 }
@@ -0,0 +1,67 @@
+package io.namjune.basicrestapi.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+public class HierarchicalTimerWheelTest {
+
+    @Test
+    @TestDescription("아래 단, 위 단, overflow 에 들어간 항목 모두 만료 시각이 지난 첫 advance 에서 꺼낸다")
+    public void advance_만료시각() {
+        // 4칸 2단(16 tick)짜리 작은 휠로 cascade 와 overflow 를 모두 거치게 한다.
+        long start = 1_000;
+        HierarchicalTimerWheel<Long> wheel = new HierarchicalTimerWheel<>(10, 2, 2, start);
+        Random random = new Random(42);
+        List<Long> deadlines = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            // 같은 tick 안에서는 순서를 보장하지 않으므로 tick 단위로 만든다.
+            long deadline = start + 10 * (1 + random.nextInt(200));
+            deadlines.add(deadline);
+            wheel.schedule(deadline, deadline);
+        }
+        assertThat(wheel.size()).isEqualTo(1_000);
+
+        List<Long> expired = new ArrayList<>();
+        for (long now = start; now <= start + 2_010; now += 1 + random.nextInt(25)) {
+            long current = now;
+            wheel.advance(now, deadline -> {
+                // 일찍 꺼내지 않고, tick 하나(10ms) 넘게 늦지도 않는다.
+                assertThat(deadline).isLessThanOrEqualTo(current);
+                expired.add(deadline);
+            });
+            for (Long deadline : deadlines) {
+                if (deadline <= current - 10) {
+                    assertThat(expired).contains(deadline);
+                }
+            }
+        }
+        wheel.advance(start + 3_000, expired::add);
+
+        assertThat(expired).hasSize(1_000).isSorted();
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @TestDescription("이미 지난 시각으로 넣은 항목은 다음 advance 에서 꺼내고, 시간을 되돌리면 아무것도 꺼내지 않는다")
+    public void schedule_지난시각() {
+        HierarchicalTimerWheel<String> wheel = new HierarchicalTimerWheel<>(1_000, 6, 4, 10_000);
+        List<String> expired = new ArrayList<>();
+
+        wheel.schedule(5_000, "overdue");
+        wheel.schedule(12_500, "later");
+        wheel.advance(9_000, expired::add);
+        assertThat(expired).isEmpty();
+
+        wheel.advance(11_000, expired::add);
+        assertThat(expired).containsExactly("overdue");
+
+        wheel.advance(12_999, expired::add);
+        assertThat(expired).containsExactly("overdue");
+        wheel.advance(13_000, expired::add);
+        assertThat(expired).containsExactly("overdue", "later");
+    }
+}
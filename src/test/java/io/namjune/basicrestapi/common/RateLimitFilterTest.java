@@ -0,0 +1,117 @@
+package io.namjune.basicrestapi.common;
+
+import static org.hamcrest.Matchers.hasEntry;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import io.namjune.basicrestapi.config.AppProperties;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.json.JacksonJsonParser;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+@TestPropertySource(properties = {
+    "my-app.rate-limit-requests-per-second=0.1",
+    "my-app.rate-limit-burst=3"
+})
+public class RateLimitFilterTest extends BaseControllerTest {
+
+    @Autowired
+    AppProperties appProperties;
+
+    @Autowired
+    RateLimiter rateLimiter;
+
+    @Before
+    public void setUp() {
+        this.rateLimiter.clear();
+    }
+
+    @Test
+    @TestDescription("인증 없이 요청하면 IP 별로 제한하고, 넘으면 429 와 Retry-After")
+    public void anonymous_429() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            this.mockMvc.perform(get("/api/").with(remoteAddr("10.0.0.1")))
+                .andExpect(status().isOk());
+        }
+        this.mockMvc.perform(get("/api/").with(remoteAddr("10.0.0.1")))
+            .andExpect(status().isTooManyRequests())
+            .andExpect(header().string(HttpHeaders.RETRY_AFTER, "10"));
+
+        // 다른 IP 와 /api 밖의 요청은 영향 없음
+        this.mockMvc.perform(get("/api/").with(remoteAddr("10.0.0.2")))
+            .andExpect(status().isOk());
+        this.mockMvc.perform(get("/actuator/health").with(remoteAddr("10.0.0.1")))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    @TestDescription("토큰으로 하는 요청은 클라이언트, 사용자별로 제한하고 거절 수를 키별로 조회할 수 있다")
+    public void clientAndUser_429() throws Exception {
+        // 토큰 발급은 클라이언트 키, API 요청 3번은 클라이언트+사용자 키
+        String accessToken = getAccessToken();
+        for (int i = 0; i < 3; i++) {
+            this.perform(get("/api/events")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .with(remoteAddr("10.0.0.3")))
+                .andExpect(status().isOk());
+        }
+        this.mockMvc.perform(get("/api/events")
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+            .with(remoteAddr("10.0.0.4")))
+            .andExpect(status().isTooManyRequests())
+            .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+
+        // 같은 IP 라도 인증 없는 요청은 다른 키
+        this.mockMvc.perform(get("/api/").with(remoteAddr("10.0.0.3")))
+            .andExpect(status().isOk());
+
+        String key = "client:" + this.appProperties.getClientId() + ",user:" + this.appProperties.getUserUsername();
+        this.mockMvc.perform(get("/actuator/ratelimits"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("rejected").isNumber())
+            .andExpect(jsonPath("rejectedByKey").value(hasEntry(key, 1)));
+    }
+
+    @Test
+    @TestDescription("토큰 발급은 username 을 바꿔가며 요청해도 클라이언트별로 제한한다")
+    public void token_usernameRotation_429() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            this.mockMvc.perform(tokenRequest("nobody" + i + "@email.com"))
+                .andExpect(status().isBadRequest());
+        }
+        this.mockMvc.perform(tokenRequest("nobody3@email.com"))
+            .andExpect(status().isTooManyRequests())
+            .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+    }
+
+    private String getAccessToken() throws Exception {
+        String response = this.mockMvc.perform(tokenRequest(this.appProperties.getUserUsername()))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        return new JacksonJsonParser().parseMap(response).get("access_token").toString();
+    }
+
+    private MockHttpServletRequestBuilder tokenRequest(String username) {
+        return post("/oauth/token")
+            .with(httpBasic(this.appProperties.getClientId(), this.appProperties.getClientSecret()))
+            .param("username", username)
+            .param("password", this.appProperties.getUserPassword())
+            .param("grant_type", "password");
+    }
+
+    private static RequestPostProcessor remoteAddr(String remoteAddr) {
+        return request -> {
+            request.setRemoteAddr(remoteAddr);
+            return request;
+        };
+    }
+}
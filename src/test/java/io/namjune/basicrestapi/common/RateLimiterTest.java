@@ -0,0 +1,84 @@
+package io.namjune.basicrestapi.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.Test;
+
+public class RateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    @TestDescription("버킷 크기만큼 한번에 허용하고, 초당 요청 수만큼 다시 채워진다")
+    public void burstAndRefill() {
+        // 초당 2개, 한번에 3개
+        RateLimiter rateLimiter = new RateLimiter(2, 3, 10, this.now::get);
+
+        assertThat(rateLimiter.tryAcquire("a")).isZero();
+        assertThat(rateLimiter.tryAcquire("a")).isZero();
+        assertThat(rateLimiter.tryAcquire("a")).isZero();
+        assertThat(rateLimiter.tryAcquire("a")).isEqualTo(TimeUnit.MILLISECONDS.toNanos(500));
+
+        // 다른 키는 영향 없음
+        assertThat(rateLimiter.tryAcquire("b")).isZero();
+
+        // 0.5초 뒤에 하나가 채워진다.
+        this.now.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertThat(rateLimiter.tryAcquire("a")).isZero();
+        assertThat(rateLimiter.tryAcquire("a")).isPositive();
+
+        assertThat(rateLimiter.getRejectedCount()).isEqualTo(2);
+        assertThat(rateLimiter.rejectedByKey(10)).containsOnlyKeys("a").containsEntry("a", 2L);
+    }
+
+    @Test
+    @TestDescription("버킷 수가 최대에 이르면 유휴 버킷을 지우고, 그래도 가득 차면 공유 버킷을 사용한다")
+    public void maxKeys() {
+        RateLimiter rateLimiter = new RateLimiter(1, 1, 2, this.now::get);
+        rateLimiter.tryAcquire("a");
+        rateLimiter.tryAcquire("b");
+
+        // a, b 모두 사용 중이므로 c 는 공유 버킷
+        assertThat(rateLimiter.tryAcquire("c")).isZero();
+        assertThat(rateLimiter.tryAcquire("d")).isPositive();
+        assertThat(rateLimiter.rejectedByKey(10)).containsOnlyKeys(RateLimiter.OVERFLOW_KEY);
+
+        // 버킷이 다 채워지면(유휴) 지우고 새 키에 버킷을 만든다.
+        this.now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertThat(rateLimiter.tryAcquire("d")).isZero();
+        assertThat(rateLimiter.tryAcquire("d")).isPositive();
+        assertThat(rateLimiter.getKeyCount()).isEqualTo(1);
+        assertThat(rateLimiter.rejectedByKey(10)).containsOnlyKeys("d");
+    }
+
+    @Test
+    @TestDescription("여러 스레드가 동시에 요청해도 버킷 크기보다 많이 허용하지 않는다")
+    public void concurrent() throws Exception {
+        RateLimiter rateLimiter = new RateLimiter(1, 100, 10, this.now::get);
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Long>> futures = IntStream.range(0, 8)
+                .mapToObj(i -> executorService.submit(() -> IntStream.range(0, 1000)
+                    .filter(j -> rateLimiter.tryAcquire("a") == 0)
+                    .count()))
+                .collect(Collectors.toList());
+            long allowed = 0;
+            for (Future<Long> future : futures) {
+                allowed += future.get(10, TimeUnit.SECONDS);
+            }
+
+            assertThat(allowed).isEqualTo(100);
+            assertThat(rateLimiter.getRejectedCount()).isEqualTo(8 * 1000 - 100);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package io.namjune.basicrestapi.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Test;
+
+public class ReadYourWritesTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    @TestDescription("쓰기를 한 사용자만 정해진 시간 동안 주 DB 에서 읽는다")
+    public void isPinned() {
+        ReadYourWrites readYourWrites = new ReadYourWrites(TimeUnit.SECONDS.toNanos(5), this.now::get);
+
+        readYourWrites.wrote("writer@email.com");
+        assertThat(readYourWrites.isPinned("writer@email.com")).isTrue();
+        assertThat(readYourWrites.isPinned("reader@email.com")).isFalse();
+        assertThat(readYourWrites.isPinned(null)).isFalse();
+
+        // 다시 쓰면 시간이 늘어난다.
+        this.now.addAndGet(TimeUnit.SECONDS.toNanos(4));
+        readYourWrites.wrote("writer@email.com");
+        this.now.addAndGet(TimeUnit.SECONDS.toNanos(4));
+        assertThat(readYourWrites.isPinned("writer@email.com")).isTrue();
+
+        // 시간이 지나면 복제 DB 에서 읽고, 기억한 사용자도 지운다.
+        this.now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        assertThat(readYourWrites.isPinned("writer@email.com")).isFalse();
+        assertThat(readYourWrites.size()).isZero();
+    }
+}
@@ -0,0 +1,72 @@
+package io.namjune.basicrestapi.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+/**
+ * 테스트 중에 실행한 SQL 을 기록하고, 요청 하나가 실행한 SQL 수를 검증한다. (SqlStatementsConfiguration)
+ *
+ * <pre>
+ * sqlStatements.reset();
+ * perform(get("/api/events"));
+ * sqlStatements.assertSelects(2);   // select 는 최대 2번
+ * </pre>
+ *
+ * SqlCountingDataSource 에 등록해서, JpaExecutor 스레드나 요청 밖에서 실행한 SQL 까지 모든 SQL 을 기록한다.
+ * 검증은 reset 이후에 기록한 SQL 로 한다. (SqlCounter 의 수는 reset 하지 않는다)
+ */
+public class SqlStatements extends SqlCounter {
+
+    private final List<String> statements = new CopyOnWriteArrayList<>();
+
+    @Override
+    void statement(String sql) {
+        super.statement(sql);
+        this.statements.add(String.valueOf(sql));
+    }
+
+    public void reset() {
+        this.statements.clear();
+    }
+
+    public List<String> all() {
+        return new ArrayList<>(this.statements);
+    }
+
+    public List<String> of(Kind kind) {
+        return this.statements.stream()
+            .filter(sql -> Kind.of(sql) == kind)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * @param kind 검증할 SQL 종류
+     * @param max  허용하는 최대 실행 수
+     */
+    public void assertAtMost(Kind kind, int max) {
+        List<String> matched = of(kind);
+        assertThat(matched.size())
+            .as("%s statements (budget %d):%n%s", kind, max, String.join(System.lineSeparator(), matched))
+            .isLessThanOrEqualTo(max);
+    }
+
+    public void assertSelects(int max) {
+        assertAtMost(Kind.SELECT, max);
+    }
+
+    public void assertInserts(int max) {
+        assertAtMost(Kind.INSERT, max);
+    }
+
+    public void assertUpdates(int max) {
+        assertAtMost(Kind.UPDATE, max);
+    }
+
+    public void assertDeletes(int max) {
+        assertAtMost(Kind.DELETE, max);
+    }
+}
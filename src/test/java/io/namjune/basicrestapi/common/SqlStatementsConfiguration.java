@@ -0,0 +1,21 @@
+package io.namjune.basicrestapi.common;
+
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * 실행한 SQL 을 SqlStatements 에 기록하도록 SqlCountingDataSource 에 등록한다.
+ */
+@TestConfiguration
+public class SqlStatementsConfiguration {
+
+    private static final SqlStatements SQL_STATEMENTS = new SqlStatements();
+
+    @Bean
+    public SqlStatements sqlStatements(DataSource dataSource) throws SQLException {
+        dataSource.unwrap(SqlCountingDataSource.class).addCounter(SQL_STATEMENTS);
+        return SQL_STATEMENTS;
+    }
+}
@@ -0,0 +1,73 @@
+package io.namjune.basicrestapi.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItems;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import io.namjune.basicrestapi.accounts.AccountRepository;
+import io.namjune.basicrestapi.common.BaseControllerTest;
+import io.namjune.basicrestapi.common.StartupTimeline;
+import io.namjune.basicrestapi.common.TestDescription;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * fast-start 프로필. 테스트 DB 는 비어있을 수 있으므로 스키마는 다시 만든다.
+ */
+@ActiveProfiles("fast-start")
+@TestPropertySource(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+public class FastStartProfileTest extends BaseControllerTest {
+
+    @Autowired
+    ConfigurableApplicationContext applicationContext;
+
+    @Autowired
+    StartupTimeline startupTimeline;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    AppProperties appProperties;
+
+    @Test
+    @TestDescription("fast-start 프로필은 요청 처리에 바로 필요하지 않은 빈만 지연 초기화하고, 초기 계정은 별도 스레드에서 만든다")
+    public void fastStart() throws Exception {
+        // 지연 초기화
+        assertThat(isLazy("eventExporter")).isTrue();
+        assertThat(isLazy("eventController")).isFalse();
+        assertThat(isLazy("entityManagerFactory")).isFalse();
+
+        // 초기 계정
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!isSeeded() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+        assertThat(isSeeded()).isTrue();
+        assertThat(this.accountRepository.existsByEmail(this.appProperties.getAdminUsername())).isTrue();
+
+        // 기동 단계 기록
+        this.perform(get("/api/events"))
+            .andExpect(status().isOk());
+        this.mockMvc.perform(get("/actuator/startup"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("jvmStartTime").exists())
+            .andExpect(jsonPath("steps[*].name").value(hasItems(
+                "ContextRefreshedEvent", "ApplicationReadyEvent", "accountsSeeded", "firstRequest")))
+            .andExpect(jsonPath("slowestBeans[0].name").exists())
+            .andExpect(jsonPath("slowestBeans[0].millis").exists());
+    }
+
+    private boolean isLazy(String beanName) {
+        return this.applicationContext.getBeanFactory().getBeanDefinition(beanName).isLazyInit();
+    }
+
+    private boolean isSeeded() {
+        return this.startupTimeline.getSteps().stream().anyMatch(step -> step.getName().equals("accountsSeeded"));
+    }
+}
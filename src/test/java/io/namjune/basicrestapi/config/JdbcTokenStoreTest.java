@@ -0,0 +1,49 @@
+package io.namjune.basicrestapi.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import io.namjune.basicrestapi.common.BaseControllerTest;
+import io.namjune.basicrestapi.common.TestDescription;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.oauth2.provider.token.TokenStore;
+import org.springframework.security.oauth2.provider.token.store.JdbcTokenStore;
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = "my-app.token-store=jdbc")
+public class JdbcTokenStoreTest extends BaseControllerTest {
+
+    @Autowired
+    AppProperties appProperties;
+
+    @Autowired
+    TokenStore tokenStore;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    @TestDescription("my-app.token-store=jdbc 이면 발급한 토큰을 DB 에 저장한다")
+    public void getAuthToken() throws Exception {
+        assertThat(this.tokenStore).isInstanceOf(JdbcTokenStore.class);
+
+        this.mockMvc.perform(
+            post("/oauth/token")
+                .with(httpBasic(appProperties.getClientId(), appProperties.getClientSecret()))
+                .param("username", appProperties.getUserUsername())
+                .param("password", appProperties.getUserPassword())
+                .param("grant_type", "password")
+        )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("access_token").exists())
+            .andExpect(jsonPath("refresh_token").exists());
+
+        assertThat(this.jdbcTemplate.queryForObject("select count(*) from oauth_access_token", Integer.class)).isEqualTo(1);
+        assertThat(this.jdbcTemplate.queryForObject("select count(*) from oauth_refresh_token", Integer.class)).isEqualTo(1);
+    }
+}
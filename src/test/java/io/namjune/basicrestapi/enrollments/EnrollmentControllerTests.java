@@ -0,0 +1,181 @@
+package io.namjune.basicrestapi.enrollments;
+
+import static org.springframework.restdocs.headers.HeaderDocumentation.headerWithName;
+import static org.springframework.restdocs.headers.HeaderDocumentation.requestHeaders;
+import static org.springframework.restdocs.hypermedia.HypermediaDocumentation.linkWithRel;
+import static org.springframework.restdocs.hypermedia.HypermediaDocumentation.links;
+import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
+import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.post;
+import static org.springframework.restdocs.payload.PayloadDocumentation.fieldWithPath;
+import static org.springframework.restdocs.payload.PayloadDocumentation.responseFields;
+import static org.springframework.restdocs.request.RequestDocumentation.parameterWithName;
+import static org.springframework.restdocs.request.RequestDocumentation.pathParameters;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import io.namjune.basicrestapi.accounts.Account;
+import io.namjune.basicrestapi.accounts.AccountRepository;
+import io.namjune.basicrestapi.accounts.AccountRole;
+import io.namjune.basicrestapi.accounts.AccountService;
+import io.namjune.basicrestapi.common.BaseControllerTest;
+import io.namjune.basicrestapi.common.TestDescription;
+import io.namjune.basicrestapi.config.AppProperties;
+import io.namjune.basicrestapi.events.Event;
+import io.namjune.basicrestapi.events.EventRepository;
+import java.time.LocalDateTime;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.oauth2.common.util.Jackson2JsonParser;
+
+public class EnrollmentControllerTests extends BaseControllerTest {
+
+    @Autowired
+    EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    AccountService accountService;
+
+    @Autowired
+    AppProperties appProperties;
+
+    @Before
+    public void setUp() {
+        this.enrollmentRepository.deleteAllInBatch();
+        this.eventRepository.deleteAll();
+        this.accountRepository.deleteAll();
+    }
+
+    // 다른 테스트 클래스가 이벤트, 계정을 지울 수 있도록 신청을 남기지 않는다.
+    @After
+    public void tearDown() {
+        this.enrollmentRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @TestDescription("이벤트 참가 신청하면 좌석 번호를 받는다")
+    public void createEnrollment() throws Exception {
+        // Given
+        Event event = generateEvent(10);
+        String bearerToken = getBearerToken();
+        this.sqlStatements.reset();
+
+        // When & Then
+        this.perform(post("/api/events/{eventId}/enrollments", event.getId())
+            .header(HttpHeaders.AUTHORIZATION, bearerToken))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("seatNumber").value(1))
+            .andExpect(jsonPath("account.id").exists())
+            .andDo(document("create-enrollment",
+                pathParameters(
+                    parameterWithName("eventId").description("이벤트 ID")
+                ),
+                requestHeaders(
+                    headerWithName(HttpHeaders.AUTHORIZATION).description("Bearer access token")
+                ),
+                responseFields(
+                    fieldWithPath("id").description("Identifier of enrollment"),
+                    fieldWithPath("account.id").description("Account Id"),
+                    fieldWithPath("seatNumber").description("Seat number. 1 ~ limitOfEnrollment"),
+                    fieldWithPath("enrolledAt").description("date time of enrollment"),
+                    fieldWithPath("_links.event.href").description("link to event"),
+                    fieldWithPath("_links.profile.href").description("link to profile")
+                ),
+                links(
+                    linkWithRel("event").description("link to event"),
+                    linkWithRel("profile").description("link to profile")
+                )
+            ));
+
+        // SQL 예산 - 이벤트 조회(2차 캐시에 없을 때), 중복 확인, 좌석 카운터 초기화, 신청 insert. 이벤트 row 는 잠그거나 수정하지 않는다.
+        this.sqlStatements.assertSelects(3);
+        this.sqlStatements.assertInserts(1);
+        this.sqlStatements.assertUpdates(0);
+    }
+
+    @Test
+    @TestDescription("이미 신청했거나 좌석이 모두 찼으면 409")
+    public void createEnrollment_409() throws Exception {
+        // Given
+        Event event = generateEvent(1);
+        String bearerToken = getBearerToken();
+        this.perform(post("/api/events/{eventId}/enrollments", event.getId())
+            .header(HttpHeaders.AUTHORIZATION, bearerToken))
+            .andExpect(status().isCreated());
+
+        // When & Then - 중복 신청
+        this.perform(post("/api/events/{eventId}/enrollments", event.getId())
+            .header(HttpHeaders.AUTHORIZATION, bearerToken))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("content[0].code").value("alreadyEnrolled"))
+            .andExpect(jsonPath("_links.index").exists());
+
+        // 마감
+        Account other = createAccount("other@email.com");
+        String otherBearerToken = getBearerToken(other.getEmail());
+        this.perform(post("/api/events/{eventId}/enrollments", event.getId())
+            .header(HttpHeaders.AUTHORIZATION, otherBearerToken))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("content[0].code").value("full"));
+    }
+
+    @Test
+    @TestDescription("없는 이벤트에 신청하면 404, 인증 없이 신청하면 401")
+    public void createEnrollment_404_401() throws Exception {
+        String bearerToken = getBearerToken();
+        this.perform(post("/api/events/{eventId}/enrollments", 404404)
+            .header(HttpHeaders.AUTHORIZATION, bearerToken))
+            .andExpect(status().isNotFound());
+
+        Event event = generateEvent(10);
+        this.perform(post("/api/events/{eventId}/enrollments", event.getId()))
+            .andExpect(status().isUnauthorized());
+    }
+
+    private Event generateEvent(int limitOfEnrollment) {
+        return this.eventRepository.save(Event.builder()
+            .name("enrollment event")
+            .description("test event")
+            .beginEnrollmentDateTime(LocalDateTime.of(2019, 5, 6, 17, 0, 0))
+            .closeEnrollmentDateTime(LocalDateTime.of(2019, 5, 9, 17, 0, 0))
+            .beginEventDateTime(LocalDateTime.of(2019, 5, 10, 17, 0, 0))
+            .endEventDateTime(LocalDateTime.of(2019, 5, 13, 17, 0, 0))
+            .limitOfEnrollment(limitOfEnrollment)
+            .location("서울대입구")
+            .build());
+    }
+
+    private String getBearerToken() throws Exception {
+        return getBearerToken(createAccount(this.appProperties.getUserUsername()).getEmail());
+    }
+
+    private String getBearerToken(String username) throws Exception {
+        String response = this.perform(post("/oauth/token")
+            .with(httpBasic(this.appProperties.getClientId(), this.appProperties.getClientSecret()))
+            .param("username", username)
+            .param("password", this.appProperties.getUserPassword())
+            .param("grant_type", "password"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        return "Bearer " + new Jackson2JsonParser().parseMap(response).get("access_token");
+    }
+
+    private Account createAccount(String email) {
+        return this.accountService.savePasswordEncodedAccount(Account.builder()
+            .email(email)
+            .password(this.appProperties.getUserPassword())
+            .roles(Stream.of(AccountRole.USER).collect(Collectors.toSet()))
+            .build());
+    }
+}
@@ -0,0 +1,153 @@
+package io.namjune.basicrestapi.enrollments;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.namjune.basicrestapi.accounts.Account;
+import io.namjune.basicrestapi.accounts.AccountRepository;
+import io.namjune.basicrestapi.accounts.AccountRole;
+import io.namjune.basicrestapi.common.TestDescription;
+import io.namjune.basicrestapi.events.Event;
+import io.namjune.basicrestapi.events.EventChangedEvent;
+import io.namjune.basicrestapi.events.EventRepository;
+import io.namjune.basicrestapi.events.EventStatus;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles("test")
+public class EnrollmentServiceTest {
+
+    private static final int LIMIT = 50;
+    private static final int ACCOUNTS = 200;
+    private static final int THREADS = 32;
+
+    @Autowired
+    EnrollmentService enrollmentService;
+
+    @Autowired
+    EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    private final List<Account> accounts = new ArrayList<>();
+
+    @After
+    public void tearDown() {
+        this.enrollmentRepository.deleteAllInBatch();
+        this.eventRepository.deleteAll();
+        this.accountRepository.deleteAll(this.accounts);
+    }
+
+    @Test
+    @TestDescription("서버 두 대에서 좌석보다 많은 신청이 동시에 들어와도(같은 계정의 중복 신청 포함) 좌석 수만큼만 저장된다")
+    public void enroll_동시신청_초과판매없음() throws Exception {
+        // Given
+        Event event = this.eventRepository.save(Event.builder().name("popular event").limitOfEnrollment(LIMIT).build());
+        IntStream.range(0, ACCOUNTS).forEach(i -> this.accounts.add(this.accountRepository.save(Account.builder()
+            .email("enrollment" + i + "@email.com")
+            .password("pass")
+            .roles(Collections.singleton(AccountRole.USER))
+            .build())));
+        // 같은 DB 를 사용하는 다른 서버(좌석 카운터가 따로 있다)
+        EnrollmentService otherServer = new EnrollmentService(this.eventRepository, this.enrollmentRepository);
+
+        // When - 계정마다 두 서버에 한번씩, 동시에 신청
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<EnrollmentResult.Status>> futures = new ArrayList<>();
+        try {
+            for (Account account : this.accounts) {
+                for (EnrollmentService server : new EnrollmentService[]{this.enrollmentService, otherServer}) {
+                    futures.add(executorService.submit(() -> {
+                        start.await();
+                        return server.enroll(event.getId(), account).getStatus();
+                    }));
+                }
+            }
+            start.countDown();
+
+            List<EnrollmentResult.Status> statuses = new ArrayList<>();
+            for (Future<EnrollmentResult.Status> future : futures) {
+                statuses.add(future.get(60, TimeUnit.SECONDS));
+            }
+
+            // Then - 좌석 수만큼 성공하고, 저장된 좌석 번호는 1 부터 좌석 수까지 하나씩
+            Map<EnrollmentResult.Status, Long> counts = statuses.stream()
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+            assertThat(counts.get(EnrollmentResult.Status.ENROLLED)).isEqualTo(LIMIT);
+            assertThat(counts.get(EnrollmentResult.Status.FULL) + counts.getOrDefault(EnrollmentResult.Status.ALREADY_ENROLLED, 0L))
+                .isEqualTo(2 * ACCOUNTS - LIMIT);
+            assertThat(this.enrollmentRepository.countByEventId(event.getId())).isEqualTo(LIMIT);
+            assertThat(this.enrollmentRepository.findSeatNumbersByEventId(event.getId()))
+                .containsExactlyInAnyOrderElementsOf(IntStream.rangeClosed(1, LIMIT).boxed().collect(Collectors.toList()));
+
+            // 마감 후에는 DB 에 insert 하지 않고 거절
+            assertThat(this.enrollmentService.enroll(event.getId(), this.accounts.get(ACCOUNTS - 1)).getStatus())
+                .isIn(EnrollmentResult.Status.FULL, EnrollmentResult.Status.ALREADY_ENROLLED);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    @TestDescription("등록이 마감되면 좌석 카운터를 지우고, 마감된 이벤트의 신청은 카운터를 보관하지 않는다")
+    public void enroll_마감_카운터제거() {
+        // Given
+        Event event = this.eventRepository.save(Event.builder().name("closing event").limitOfEnrollment(LIMIT)
+            .eventStatus(EventStatus.BEGAN_ENROLLMENT).build());
+        Account first = account(0);
+        Account second = account(1);
+        int before = this.enrollmentService.seatCounterCount();
+        assertThat(this.enrollmentService.enroll(event.getId(), first).getStatus()).isEqualTo(EnrollmentResult.Status.ENROLLED);
+        assertThat(this.enrollmentService.seatCounterCount()).isEqualTo(before + 1);
+
+        // When - 등록 마감(EventStatusScheduler 가 상태를 바꾸고 발행한다)
+        Map<String, Object> fields = Collections.singletonMap("eventStatus", EventStatus.BEGAN_ENROLLMENT);
+        event.setEventStatus(EventStatus.CLOSED_ENROLLMENT);
+        this.eventRepository.save(event);
+        this.eventPublisher.publishEvent(EventChangedEvent.updated(event, fields));
+
+        // Then
+        assertThat(this.enrollmentService.seatCounterCount()).isEqualTo(before);
+        EnrollmentResult late = this.enrollmentService.enroll(event.getId(), second);
+        assertThat(late.getStatus()).isEqualTo(EnrollmentResult.Status.ENROLLED);
+        assertThat(late.getEnrollment().getSeatNumber()).isEqualTo(2);
+        assertThat(this.enrollmentService.seatCounterCount()).isEqualTo(before);
+    }
+
+    private Account account(int index) {
+        Account account = this.accountRepository.save(Account.builder()
+            .email("enrollment" + index + "@email.com")
+            .password("pass")
+            .roles(Collections.singleton(AccountRole.USER))
+            .build());
+        this.accounts.add(account);
+        return account;
+    }
+}
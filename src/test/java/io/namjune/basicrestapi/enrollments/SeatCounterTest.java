@@ -0,0 +1,46 @@
+package io.namjune.basicrestapi.enrollments;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.namjune.basicrestapi.common.TestDescription;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Test;
+
+public class SeatCounterTest {
+
+    @Test
+    @TestDescription("좌석 수까지만 좌석 번호를 나눠주고, 돌려받은 좌석을 먼저 준다")
+    public void acquire() {
+        SeatCounter seatCounter = new SeatCounter(Collections.emptyList());
+
+        assertThat(seatCounter.acquire(2)).isEqualTo(1);
+        assertThat(seatCounter.acquire(2)).isEqualTo(2);
+        assertThat(seatCounter.acquire(2)).isZero();
+
+        seatCounter.release(1);
+        assertThat(seatCounter.acquire(2)).isEqualTo(1);
+        assertThat(seatCounter.acquire(2)).isZero();
+
+        // 좌석 수가 늘어나면 이어서 나눠준다.
+        assertThat(seatCounter.acquire(3)).isEqualTo(3);
+    }
+
+    @Test
+    @TestDescription("DB 에 저장된 좌석으로 시작하고, 중간에 빈 좌석부터 나눠준다. 다른 서버가 나눠준 좌석은 건너뛴다")
+    public void takenSeats() {
+        SeatCounter seatCounter = new SeatCounter(Arrays.asList(1, 2, 4, 6));
+
+        assertThat(seatCounter.acquire(10)).isEqualTo(3);
+        assertThat(seatCounter.acquire(10)).isEqualTo(5);
+        assertThat(seatCounter.acquire(10)).isEqualTo(7);
+
+        seatCounter.advanceTo(9);
+        assertThat(seatCounter.acquire(10)).isEqualTo(10);
+        assertThat(seatCounter.acquire(10)).isZero();
+
+        // 뒤로는 옮기지 않는다.
+        seatCounter.advanceTo(1);
+        assertThat(seatCounter.acquire(10)).isZero();
+    }
+}
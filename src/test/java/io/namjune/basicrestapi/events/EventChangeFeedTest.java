@@ -0,0 +1,147 @@
+package io.namjune.basicrestapi.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.namjune.basicrestapi.common.TestDescription;
+import io.namjune.basicrestapi.config.AppProperties;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public class EventChangeFeedTest {
+
+    EventChangeFeed feed;
+
+    @Before
+    public void setUp() {
+        AppProperties appProperties = new AppProperties();
+        appProperties.setEventStreamBufferSize(4);
+        appProperties.setEventStreamQueueCapacity(2);
+        this.feed = new EventChangeFeed(new ObjectMapper(), appProperties);
+    }
+
+    @After
+    public void tearDown() {
+        this.feed.destroy();
+    }
+
+    @Test
+    @TestDescription("Last-Event-ID 이후의 변경부터 이어서 보낸다")
+    public void subscribe_LastEventId() throws Exception {
+        this.feed.publish("created", "{\"id\":1}");
+        this.feed.publish("created", "{\"id\":2}");
+        this.feed.publish("updated", "{\"id\":1}");
+
+        RecordingEmitter emitter = new RecordingEmitter(null);
+        this.feed.subscribe(1L, emitter);
+        this.feed.publish("updated", "{\"id\":2}");
+
+        assertThat(emitter.awaitEvents(3)).containsExactly("2:created", "3:updated", "4:updated");
+    }
+
+    @Test
+    @TestDescription("Last-Event-ID 가 이미 버퍼에서 밀려났으면 reset 을 보낸다")
+    public void subscribe_reset() throws Exception {
+        for (int i = 0; i < 6; i++) {
+            this.feed.publish("created", "{}");
+        }
+
+        RecordingEmitter emitter = new RecordingEmitter(null);
+        this.feed.subscribe(1L, emitter);
+
+        assertThat(emitter.awaitEvents(1)).containsExactly("6:" + EventChangeFeed.RESET);
+    }
+
+    @Test
+    @TestDescription("재시작 전에 받은 Last-Event-ID(현재 순번보다 큰 id)로 연결하면 reset 을 보낸다")
+    public void subscribe_reset_재시작() throws Exception {
+        this.feed.publish("created", "{}");
+        this.feed.publish("created", "{}");
+
+        RecordingEmitter emitter = new RecordingEmitter(null);
+        this.feed.subscribe(500L, emitter);
+
+        assertThat(emitter.awaitEvents(1)).containsExactly("2:" + EventChangeFeed.RESET);
+    }
+
+    @Test
+    @TestDescription("느린 구독자는 대기열이 가득 차면 연결을 끊고, 다른 구독자는 계속 받는다")
+    public void slowSubscriber_dropped() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(release);
+        RecordingEmitter fast = new RecordingEmitter(null);
+        this.feed.subscribe(null, slow);
+        this.feed.subscribe(null, fast);
+
+        // 첫번째 변경을 보내다가 멈춘 상태에서 대기열(2) 을 넘게 발행
+        this.feed.publish("created", "{}");
+        assertThat(slow.sending.await(5, TimeUnit.SECONDS)).isTrue();
+        // 빠른 구독자는 바로 받아가므로 대기열이 차지 않는다.
+        for (int i = 2; i <= 4; i++) {
+            this.feed.publish("created", "{}");
+            assertThat(fast.awaitEvents(i)).hasSize(i);
+        }
+
+        assertThat(this.feed.getSubscriberCount()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(slow.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(slow.events).containsExactly("1:created");
+    }
+
+    /**
+     * 보낸 이벤트를 "id:이름" 으로 기록하는 SseEmitter. release 가 있으면 보낼 때마다 기다린다.
+     */
+    static class RecordingEmitter extends SseEmitter {
+
+        final List<String> events = new CopyOnWriteArrayList<>();
+        final CountDownLatch sending = new CountDownLatch(1);
+        final CountDownLatch completed = new CountDownLatch(1);
+        final CountDownLatch release;
+
+        RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            this.sending.countDown();
+            if (this.release != null) {
+                try {
+                    this.release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            String text = builder.build().stream()
+                .map(data -> String.valueOf(data.getData()))
+                .collect(Collectors.joining());
+            this.events.add(field(text, "id:") + ":" + field(text, "event:"));
+        }
+
+        @Override
+        public void complete() {
+            this.completed.countDown();
+        }
+
+        List<String> awaitEvents(int count) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (this.events.size() < count && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            return this.events;
+        }
+
+        private static String field(String text, String prefix) {
+            int start = text.indexOf(prefix) + prefix.length();
+            return text.substring(start, text.indexOf('\n', start));
+        }
+    }
+}
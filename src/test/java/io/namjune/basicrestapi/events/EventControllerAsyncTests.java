@@ -0,0 +1,103 @@
+package io.namjune.basicrestapi.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.namjune.basicrestapi.common.BaseControllerTest;
+import io.namjune.basicrestapi.common.JpaExecutor;
+import io.namjune.basicrestapi.common.TestDescription;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MvcResult;
+
+@TestPropertySource(properties = {
+    "my-app.async-pool-size=1",
+    "my-app.async-queue-capacity=0"
+})
+public class EventControllerAsyncTests extends BaseControllerTest {
+
+    @Autowired
+    JpaExecutor jpaExecutor;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Test
+    @TestDescription("이벤트 API 는 JpaExecutor 에서 비동기로 처리한다")
+    public void queryEvents_비동기() throws Exception {
+        MvcResult mvcResult = this.mockMvc.perform(get("/api/events"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        this.mockMvc.perform(asyncDispatch(mvcResult))
+            .andExpect(status().isOk());
+        awaitIdle();
+    }
+
+    @Test
+    @TestDescription("JpaExecutor 의 스레드와 대기열이 모두 차면 기다리지 않고 503, 인덱스 API 는 영향 없음")
+    public void queryEvents_503() throws Exception {
+        // Given - 하나뿐인 스레드를 점유
+        awaitIdle();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Object> blocking = this.jpaExecutor.supply(() -> {
+            started.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        double rejectedBefore = rejectedCount();
+
+        try {
+            // When & Then
+            this.perform(get("/api/events"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+            this.mockMvc.perform(get("/api/"))
+                .andExpect(status().isOk());
+
+            assertThat(rejectedCount()).isEqualTo(rejectedBefore + 1);
+            assertThat(activeCount()).isEqualTo(1);
+        } finally {
+            release.countDown();
+        }
+        blocking.get(5, TimeUnit.SECONDS);
+        awaitIdle();
+
+        // 스레드가 비면 다시 처리
+        this.perform(get("/api/events"))
+            .andExpect(status().isOk());
+    }
+
+    // 작업이 끝나도 스레드가 풀로 돌아가기 전에는 대기열(0) 이 없어서 거절되므로, 스레드가 빌 때까지 기다린다.
+    private void awaitIdle() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (activeCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(10);
+    }
+
+    private double activeCount() {
+        return this.meterRegistry.get("executor.active").tag("name", JpaExecutor.NAME).gauge().value();
+    }
+
+    private double rejectedCount() {
+        return this.meterRegistry.get("executor.rejected").tag("name", JpaExecutor.NAME).counter().count();
+    }
+}
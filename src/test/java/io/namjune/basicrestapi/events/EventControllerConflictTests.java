@@ -0,0 +1,170 @@
+package io.namjune.basicrestapi.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import io.namjune.basicrestapi.accounts.Account;
+import io.namjune.basicrestapi.accounts.AccountRepository;
+import io.namjune.basicrestapi.accounts.AccountRole;
+import io.namjune.basicrestapi.accounts.AccountService;
+import io.namjune.basicrestapi.common.BaseControllerTest;
+import io.namjune.basicrestapi.common.TestDescription;
+import io.namjune.basicrestapi.config.AppProperties;
+import java.time.LocalDateTime;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.oauth2.common.util.Jackson2JsonParser;
+
+/**
+ * 이벤트를 읽은 뒤 저장하기 전에 다른 요청이 먼저 수정한 경우(낙관적 락 충돌)의 응답을 검증한다.
+ * 요청 처리 중간에 JdbcTemplate 으로 버전을 올려서 동시 수정을 흉내 낸다.
+ */
+public class EventControllerConflictTests extends BaseControllerTest {
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    AccountService accountService;
+
+    @Autowired
+    AppProperties appProperties;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @SpyBean
+    EventMergePatch eventMergePatch;
+
+    @SpyBean
+    EventValidator eventValidator;
+
+    @Before
+    public void setUp() {
+        this.eventRepository.deleteAll();
+        this.accountRepository.deleteAll();
+    }
+
+    @Test
+    @TestDescription("If-Match 를 확인한 뒤 저장하기 전에 다른 요청이 먼저 수정하면 PATCH 는 현재 ETag 와 함께 412")
+    public void patchEvent_동시수정_412() throws Exception {
+        // Given
+        Event event = this.generatedEvent(this.createAccount());
+        String bearerToken = this.getBearerToken();
+        doAnswer(invocation -> {
+            this.bumpVersion(event.getId());
+            return invocation.callRealMethod();
+        }).when(this.eventMergePatch).apply(any(), any());
+
+        // When & Then
+        this.perform(patch("/api/events/{id}", event.getId())
+            .header(HttpHeaders.AUTHORIZATION, bearerToken)
+            .header(HttpHeaders.IF_MATCH, "\"" + event.getId() + "." + event.getVersion() + ".m\"")
+            .contentType("application/merge-patch+json")
+            .content("{\"limitOfEnrollment\": 50}")
+        )
+            .andExpect(status().isPreconditionFailed())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + event.getId() + "." + (event.getVersion() + 1) + ".m\""));
+
+        assertThat(this.eventRepository.findOwnershipById(event.getId()).get().getVersion())
+            .isEqualTo(event.getVersion() + 1);
+    }
+
+    @Test
+    @TestDescription("If-Match 없이 보낸 PUT, PATCH 가 읽은 뒤 저장하기 전에 다른 요청이 먼저 수정하면 409")
+    public void updateEvent_동시수정_409() throws Exception {
+        // Given
+        Event event = this.generatedEvent(this.createAccount());
+        String bearerToken = this.getBearerToken();
+        doAnswer(invocation -> {
+            this.bumpVersion(event.getId());
+            return invocation.callRealMethod();
+        }).when(this.eventValidator).validate(any(), any());
+        doAnswer(invocation -> {
+            this.bumpVersion(event.getId());
+            return invocation.callRealMethod();
+        }).when(this.eventMergePatch).apply(any(), any());
+        EventRequestDto eventRequestDto = this.modelMapper.map(event, EventRequestDto.class);
+        eventRequestDto.setName("Updated Event");
+
+        // When & Then
+        this.perform(put("/api/events/{id}", event.getId())
+            .header(HttpHeaders.AUTHORIZATION, bearerToken)
+            .contentType(MediaType.APPLICATION_JSON_UTF8)
+            .content(this.objectMapper.writeValueAsString(eventRequestDto))
+        )
+            .andExpect(status().isConflict());
+
+        this.perform(patch("/api/events/{id}", event.getId())
+            .header(HttpHeaders.AUTHORIZATION, bearerToken)
+            .contentType("application/merge-patch+json")
+            .content("{\"limitOfEnrollment\": 50}")
+        )
+            .andExpect(status().isConflict());
+
+        Event current = this.eventRepository.findById(event.getId()).get();
+        assertThat(current.getName()).isEqualTo(event.getName());
+        assertThat(current.getLimitOfEnrollment()).isEqualTo(event.getLimitOfEnrollment());
+    }
+
+    // 다른 요청이 같은 이벤트를 먼저 수정해서 커밋한 것과 같다.
+    private void bumpVersion(Long id) {
+        this.jdbcTemplate.update("update event set version = version + 1 where id = ?", id);
+    }
+
+    private String getBearerToken() throws Exception {
+        String responseBody = this.perform(post("/oauth/token")
+            .with(httpBasic(this.appProperties.getClientId(), this.appProperties.getClientSecret()))
+            .param("username", this.appProperties.getUserUsername())
+            .param("password", this.appProperties.getUserPassword())
+            .param("grant_type", "password"))
+            .andReturn().getResponse().getContentAsString();
+        return "Bearer " + new Jackson2JsonParser().parseMap(responseBody).get("access_token");
+    }
+
+    private Account createAccount() {
+        Account account = Account.builder()
+            .email(this.appProperties.getUserUsername())
+            .password(this.appProperties.getUserPassword())
+            .roles(Stream.of(AccountRole.ADMIN, AccountRole.USER).collect(Collectors.toSet()))
+            .build();
+        return this.accountService.savePasswordEncodedAccount(account);
+    }
+
+    private Event generatedEvent(Account account) {
+        Event event = Event.builder()
+            .name("conflict event")
+            .description("test event")
+            .beginEnrollmentDateTime(LocalDateTime.of(2019, 5, 6, 17, 0, 0))
+            .closeEnrollmentDateTime(LocalDateTime.of(2019, 5, 9, 17, 0, 0))
+            .beginEventDateTime(LocalDateTime.of(2019, 5, 10, 17, 0, 0))
+            .endEventDateTime(LocalDateTime.of(2019, 5, 13, 17, 0, 0))
+            .basePrice(100)
+            .maxPrice(100)
+            .limitOfEnrollment(100)
+            .location("서울대입구")
+            .free(false)
+            .offline(true)
+            .eventStatus(EventStatus.DRAFT)
+            .manager(account)
+            .build();
+        return this.eventRepository.save(event);
+    }
+}
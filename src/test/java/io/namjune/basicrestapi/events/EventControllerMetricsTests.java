@@ -0,0 +1,117 @@
+package io.namjune.basicrestapi.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.namjune.basicrestapi.common.BaseControllerTest;
+import io.namjune.basicrestapi.common.MethodTimingAspect;
+import io.namjune.basicrestapi.common.SqlCountFilter;
+import io.namjune.basicrestapi.common.TestDescription;
+import java.time.LocalDateTime;
+import java.util.stream.IntStream;
+import javax.persistence.EntityManagerFactory;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = "my-app.sql-count-header=true")
+public class EventControllerMetricsTests extends BaseControllerTest {
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Before
+    public void setUp() {
+        this.eventRepository.deleteAll();
+    }
+
+    @Test
+    @TestDescription("요청마다 실행한 SQL 문과 행 수를 응답 헤더와 메트릭으로 기록한다")
+    public void sqlCount() throws Exception {
+        // Given
+        Event event = this.eventRepository.save(buildEvent(1));
+        IntStream.range(2, 6).forEach(i -> this.eventRepository.save(buildEvent(i)));
+        this.entityManagerFactory.getCache().evictAll();
+        long before = statementsSummaryCount("/api/events/{id}");
+
+        // When & Then - 2차 캐시를 비웠으므로 이벤트 조회 1번, 1행
+        this.perform(get("/api/events/{id}", event.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(SqlCountFilter.STATEMENTS_HEADER, "1"))
+            .andExpect(header().string(SqlCountFilter.ROWS_HEADER, "1"));
+
+        // 목록 조회는 이벤트 조회 + count
+        this.perform(get("/api/events").param("size", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("_embedded.eventList.length()").value(2))
+            .andExpect(header().string(SqlCountFilter.STATEMENTS_HEADER, "2"))
+            .andExpect(header().string(SqlCountFilter.ROWS_HEADER, "3"));
+
+        // 엔드포인트(uri 패턴)별로 요청당 SQL 수의 분포를 기록한다.
+        assertThat(statementsSummaryCount("/api/events/{id}")).isEqualTo(before + 1);
+        DistributionSummary summary = this.meterRegistry.find("sql.statements")
+            .tags("uri", "/api/events/{id}", "method", "GET").summary();
+        assertThat(summary.max()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    @TestDescription("컨트롤러, 리포지토리 메소드 실행 시간을 app.method 타이머로 기록한다")
+    public void methodTimers() throws Exception {
+        // Given
+        Event event = this.eventRepository.save(buildEvent(1));
+
+        // When
+        this.perform(get("/api/events/{id}", event.getId()))
+            .andExpect(status().isOk());
+
+        // Then
+        Timer repository = this.meterRegistry.find(MethodTimingAspect.METRIC_NAME)
+            .tags("layer", "repository", "class", "EventRepository", "method", "findById").timer();
+        assertThat(repository).isNotNull();
+        assertThat(repository.count()).isGreaterThanOrEqualTo(1);
+
+        // 비동기 핸들러는 CompletableFuture 가 끝날 때 기록한다.
+        Timer controller = this.meterRegistry.find(MethodTimingAspect.METRIC_NAME)
+            .tags("layer", "controller", "class", "EventController", "method", "getEvent", "exception", "none").timer();
+        assertThat(controller).isNotNull();
+        assertThat(controller.count()).isGreaterThanOrEqualTo(1);
+
+        this.perform(get("/actuator/metrics/" + MethodTimingAspect.METRIC_NAME).param("tag", "layer:repository"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("availableTags[?(@.tag == 'class')]").exists());
+    }
+
+    private long statementsSummaryCount(String uri) {
+        DistributionSummary summary = this.meterRegistry.find("sql.statements").tags("uri", uri).summary();
+        return summary == null ? 0 : summary.count();
+    }
+
+    private Event buildEvent(int index) {
+        return Event.builder()
+            .name("event " + index)
+            .description("test event")
+            .beginEnrollmentDateTime(LocalDateTime.of(2019, 5, 6, 17, 0, 0))
+            .closeEnrollmentDateTime(LocalDateTime.of(2019, 5, 9, 17, 0, 0))
+            .beginEventDateTime(LocalDateTime.of(2019, 5, 10, 17, 0, 0))
+            .endEventDateTime(LocalDateTime.of(2019, 5, 13, 17, 0, 0))
+            .basePrice(100)
+            .maxPrice(200)
+            .limitOfEnrollment(100)
+            .location("서울대입구")
+            .eventStatus(EventStatus.DRAFT)
+            .build();
+    }
+}
@@ -0,0 +1,174 @@
+package io.namjune.basicrestapi.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import io.namjune.basicrestapi.accounts.Account;
+import io.namjune.basicrestapi.accounts.AccountRepository;
+import io.namjune.basicrestapi.accounts.AccountRole;
+import io.namjune.basicrestapi.accounts.AccountService;
+import io.namjune.basicrestapi.common.BaseControllerTest;
+import io.namjune.basicrestapi.common.TestDescription;
+import io.namjune.basicrestapi.config.AppProperties;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.stream.IntStream;
+import javax.persistence.EntityManagerFactory;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.oauth2.common.util.Jackson2JsonParser;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * 주 DB(testdb)와 복제 DB(replica) 두 개의 H2 로 조회 라우팅을 검증한다.
+ * 복제는 replicate() 에서 주 DB 전체를 스크립트로 떠서 복제 DB 에 다시 만드는 것으로 대신한다.
+ */
+@TestPropertySource(properties = {
+    "spring.datasource.replica.url=" + EventControllerReplicaTests.REPLICA_URL,
+    "spring.datasource.replica.username=sa",
+    "spring.datasource.replica.password="
+})
+public class EventControllerReplicaTests extends BaseControllerTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:testdb";
+    static final String REPLICA_URL = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    AccountService accountService;
+
+    @Autowired
+    AppProperties appProperties;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Before
+    public void setUp() throws Exception {
+        this.eventRepository.deleteAll();
+        this.accountRepository.deleteAll();
+        replicate();
+    }
+
+    @Test
+    @TestDescription("목록 조회는 복제 DB 에서 읽으므로 복제되기 전의 이벤트는 보이지 않는다")
+    public void queryEvents_복제DB() throws Exception {
+        // Given - 주 DB 에만 저장
+        IntStream.range(0, 3).forEach(i -> this.eventRepository.save(Event.builder().name("event " + i).build()));
+
+        // When & Then
+        this.perform(get("/api/events"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("page.totalElements").value(0));
+
+        replicate();
+        this.perform(get("/api/events"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("page.totalElements").value(3));
+    }
+
+    @Test
+    @TestDescription("이벤트를 생성한 사용자는 복제되기 전에도 주 DB 에서 조회한다(read-your-writes)")
+    public void createEvent_직후조회_주DB() throws Exception {
+        // Given - 계정도 복제되기 전이지만 방금 저장한 계정이므로 주 DB 에서 읽어서 로그인한다.
+        String bearerToken = getBearerToken();
+        EventRequestDto event = EventRequestDto.builder()
+            .name("REST API with Spring")
+            .description("REST API Basic")
+            .beginEnrollmentDateTime(LocalDateTime.of(2019, 5, 6, 17, 0, 0))
+            .closeEnrollmentDateTime(LocalDateTime.of(2019, 5, 9, 17, 0, 0))
+            .beginEventDateTime(LocalDateTime.of(2019, 5, 10, 17, 0, 0))
+            .endEventDateTime(LocalDateTime.of(2019, 5, 13, 17, 0, 0))
+            .basePrice(100)
+            .maxPrice(100)
+            .limitOfEnrollment(100)
+            .location("서울대입구")
+            .build();
+
+        // When
+        this.perform(post("/api/events")
+            .header(HttpHeaders.AUTHORIZATION, bearerToken)
+            .contentType(MediaType.APPLICATION_JSON_UTF8)
+            .content(this.objectMapper.writeValueAsString(event)))
+            .andExpect(status().isCreated());
+
+        // Then - 생성한 사용자는 주 DB, 다른 사용자는 복제 DB
+        this.perform(get("/api/events")
+            .header(HttpHeaders.AUTHORIZATION, bearerToken))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("page.totalElements").value(1));
+        this.perform(get("/api/events"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("page.totalElements").value(0));
+    }
+
+    @Test
+    @TestDescription("복제 DB 에서 읽은 이벤트는 2차 캐시에 넣지 않는다")
+    public void getEvent_복제DB_2차캐시() throws Exception {
+        // Given
+        Event event = this.eventRepository.save(Event.builder().name("event").build());
+        replicate();
+        this.entityManagerFactory.getCache().evictAll();
+
+        // When & Then
+        this.perform(get("/api/events/{id}", event.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("name").value("event"));
+        assertThat(this.entityManagerFactory.getCache().contains(Event.class, event.getId())).isFalse();
+
+        // 주 DB 에서 읽으면 넣는다.
+        this.eventRepository.findById(event.getId());
+        assertThat(this.entityManagerFactory.getCache().contains(Event.class, event.getId())).isTrue();
+    }
+
+    private static void replicate() throws Exception {
+        Path script = Files.createTempFile("replica", ".sql");
+        try {
+            try (Connection primary = DriverManager.getConnection(PRIMARY_URL, "sa", "");
+                 Statement statement = primary.createStatement()) {
+                statement.execute("SCRIPT TO '" + script + "'");
+            }
+            try (Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "");
+                 Statement statement = replica.createStatement()) {
+                statement.execute("DROP ALL OBJECTS");
+                statement.execute("RUNSCRIPT FROM '" + script + "'");
+            }
+        } finally {
+            Files.delete(script);
+        }
+    }
+
+    private String getBearerToken() throws Exception {
+        Account account = this.accountService.savePasswordEncodedAccount(Account.builder()
+            .email(this.appProperties.getUserUsername())
+            .password(this.appProperties.getUserPassword())
+            .roles(Collections.singleton(AccountRole.USER))
+            .build());
+
+        String response = this.perform(post("/oauth/token")
+            .with(httpBasic(this.appProperties.getClientId(), this.appProperties.getClientSecret()))
+            .param("username", account.getEmail())
+            .param("password", this.appProperties.getUserPassword())
+            .param("grant_type", "password"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        return "Bearer " + new Jackson2JsonParser().parseMap(response).get("access_token");
+    }
+}
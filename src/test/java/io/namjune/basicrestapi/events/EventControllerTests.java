@@ -1,12 +1,16 @@
 package io.namjune.basicrestapi.events;
 
+import com.jayway.jsonpath.JsonPath;
 import io.namjune.basicrestapi.accounts.Account;
 import io.namjune.basicrestapi.accounts.AccountRepository;
 import io.namjune.basicrestapi.accounts.AccountRole;
 import io.namjune.basicrestapi.accounts.AccountService;
 import io.namjune.basicrestapi.common.BaseControllerTest;
+import io.namjune.basicrestapi.common.SqlCounter;
 import io.namjune.basicrestapi.common.TestDescription;
 import io.namjune.basicrestapi.config.AppProperties;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.Before;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,14 +19,25 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.security.oauth2.common.util.Jackson2JsonParser;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import javax.persistence.EntityManagerFactory;
+import java.io.ByteArrayInputStream;
 import java.time.LocalDateTime;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
 import static org.springframework.restdocs.headers.HeaderDocumentation.headerWithName;
 import static org.springframework.restdocs.headers.HeaderDocumentation.requestHeaders;
 import static org.springframework.restdocs.headers.HeaderDocumentation.responseHeaders;
@@ -30,6 +45,7 @@ import static org.springframework.restdocs.hypermedia.HypermediaDocumentation.li
 import static org.springframework.restdocs.hypermedia.HypermediaDocumentation.links;
 import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
 import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.get;
+import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.patch;
 import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.post;
 import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.put;
 import static org.springframework.restdocs.payload.PayloadDocumentation.fieldWithPath;
@@ -40,8 +56,10 @@ import static org.springframework.restdocs.request.RequestDocumentation.pathPara
 import static org.springframework.restdocs.request.RequestDocumentation.requestParameters;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 public class EventControllerTests extends BaseControllerTest {
@@ -58,6 +76,15 @@ public class EventControllerTests extends BaseControllerTest {
     @Autowired
     AppProperties appProperties;
 
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    EventChangeFeed eventChangeFeed;
+
+    @Autowired
+    RenderedEventCache renderedEventCache;
+
     @Before
     public void setUp() {
         this.eventRepository.deleteAll();
@@ -79,10 +106,12 @@ public class EventControllerTests extends BaseControllerTest {
             .limitOfEnrollment(100)
             .location("서울대입구")
             .build();
+        String bearerToken = getBearerToken(true);
+        this.sqlStatements.reset();
 
-        mockMvc.perform(
+        perform(
             post("/api/events")
-                .header(HttpHeaders.AUTHORIZATION, getBearerToken(true))
+                .header(HttpHeaders.AUTHORIZATION, bearerToken)
                 .contentType(MediaType.APPLICATION_JSON_UTF8)
                 .accept(MediaTypes.HAL_JSON)
                 .content(objectMapper.writeValueAsString(event)))
@@ -161,6 +190,11 @@ public class EventControllerTests extends BaseControllerTest {
                 )
             ))
         ;
+
+        // SQL 예산 - 이벤트 insert 1번. 매니저는 인증 정보의 계정을 그대로 사용하므로 조회하지 않는다.
+        this.sqlStatements.assertInserts(1);
+        this.sqlStatements.assertSelects(0);
+        this.sqlStatements.assertUpdates(0);
     }
 
     // 테스트 코드에서 사용자 만들고 이벤트 만든경우 추가적으로 만들 필요 없음.
@@ -175,7 +209,7 @@ public class EventControllerTests extends BaseControllerTest {
         }
 
         // 인증서버가 등록이 되면 기본적으로 '/oauth/token' 요청을 처리할 수 있는 핸들러가 등록된다.
-        ResultActions perform = this.mockMvc.perform(
+        ResultActions perform = this.perform(
             MockMvcRequestBuilders.post("/oauth/token")
                 .with(httpBasic(appProperties.getClientId(), appProperties.getClientSecret()))    //HTTP basic 인증 헤더
                 .param("username", appProperties.getUserUsername())
@@ -190,6 +224,15 @@ public class EventControllerTests extends BaseControllerTest {
         return parser.parseMap(responseBody).get("access_token").toString();
     }
 
+    private Account createAccount(String email) {
+        Account account = Account.builder()
+            .email(email)
+            .password(appProperties.getUserPassword())
+            .roles(Stream.of(AccountRole.USER).collect(Collectors.toSet()))
+            .build();
+        return this.accountRepository.save(account);
+    }
+
     private Account createAccount() {
         Account account = Account.builder()
             .email(appProperties.getUserUsername())
@@ -219,7 +262,7 @@ public class EventControllerTests extends BaseControllerTest {
             .eventStatus(EventStatus.PUBLISHED)
             .build();
 
-        mockMvc.perform(
+        perform(
             post("/api/events")
                 .header(HttpHeaders.AUTHORIZATION, getBearerToken(true))
                 .contentType(MediaType.APPLICATION_JSON_UTF8)
@@ -238,7 +281,7 @@ public class EventControllerTests extends BaseControllerTest {
     public void 이벤트_생성_BadRequest_RequestDTO_이외의필드() throws Exception {
         EventRequestDto eventRequestDto = EventRequestDto.builder().build();
 
-        this.mockMvc.perform(
+        this.perform(
             post("/api/events")
                 .header(HttpHeaders.AUTHORIZATION, getBearerToken(true))
                 .contentType(MediaType.APPLICATION_JSON_UTF8)
@@ -264,7 +307,7 @@ public class EventControllerTests extends BaseControllerTest {
             .location("서울대입구")
             .build();
 
-        this.mockMvc.perform(
+        this.perform(
             post("/api/events")
                 .header(HttpHeaders.AUTHORIZATION, getBearerToken(true))
                 .contentType(MediaType.APPLICATION_JSON_UTF8)
@@ -284,14 +327,138 @@ public class EventControllerTests extends BaseControllerTest {
         ;
     }
 
+    @Test
+    @TestDescription("여러 이벤트를 한번에 생성하고, 잘못된 항목은 저장하지 않고 인덱스와 함께 에러로 응답")
+    public void 이벤트_일괄생성_201() throws Exception {
+        // Given
+        EventRequestDto wrongEvent = this.buildEventRequestDto(2);
+        wrongEvent.setBasePrice(10000);
+        EventBatchRequestDto batchRequestDto = EventBatchRequestDto.builder()
+            .events(Stream.of(this.buildEventRequestDto(0), this.buildEventRequestDto(1), wrongEvent)
+                .collect(Collectors.toList()))
+            .build();
+
+        // When & Then
+        this.perform(
+            post("/api/events/batch")
+                .header(HttpHeaders.AUTHORIZATION, getBearerToken(true))
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .accept(MediaTypes.HAL_JSON)
+                .content(this.objectMapper.writeValueAsString(batchRequestDto)))
+            .andDo(print())
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("ids.length()").value(2))
+            .andExpect(jsonPath("_links.created-events.length()").value(2))
+            .andExpect(jsonPath("errors[0].field").value("events[2].basePrice"))
+            .andDo(document("create-events-batch",
+                links(
+                    linkWithRel("created-events").description("links to created events"),
+                    linkWithRel("query-events").description("link to query events"),
+                    linkWithRel("profile").description("link to profile")
+                ),
+                requestHeaders(
+                    headerWithName(HttpHeaders.ACCEPT).description("Accept header"),
+                    headerWithName(HttpHeaders.CONTENT_TYPE).description("Content type")
+                ),
+                requestFields(
+                    fieldWithPath("events[]").description("Events to create. up to 1000"),
+                    fieldWithPath("events[].name").description("Name of new event"),
+                    fieldWithPath("events[].description").description("Description of new event"),
+                    fieldWithPath("events[].beginEnrollmentDateTime").description("date time of begin of new event"),
+                    fieldWithPath("events[].closeEnrollmentDateTime").description("date time of close of new event"),
+                    fieldWithPath("events[].beginEventDateTime").description("date time of begin of new event"),
+                    fieldWithPath("events[].endEventDateTime").description("date time of end of new event"),
+                    fieldWithPath("events[].location").description("Location of new event"),
+                    fieldWithPath("events[].basePrice").description("Base Price of new event"),
+                    fieldWithPath("events[].maxPrice").description("Max Price of new event"),
+                    fieldWithPath("events[].limitOfEnrollment").description("Limit of enrollment")
+                ),
+                responseHeaders(
+                    headerWithName(HttpHeaders.CONTENT_TYPE).description("Content type")
+                ),
+                responseFields(
+                    fieldWithPath("ids").description("Identifiers of created events"),
+                    fieldWithPath("errors[]").description("Errors of events which are not created"),
+                    fieldWithPath("errors[].field").description("Field of error. events[index].field"),
+                    fieldWithPath("errors[].objectName").description("Object name of error"),
+                    fieldWithPath("errors[].code").description("Code of error"),
+                    fieldWithPath("errors[].defaultMessage").description("Message of error"),
+                    fieldWithPath("errors[].rejectedValue").description("Rejected value"),
+                    fieldWithPath("_links.created-events[].href").description("links to created events"),
+                    fieldWithPath("_links.query-events.href").description("link to query events"),
+                    fieldWithPath("_links.profile.href").description("link to profile")
+                )
+            ))
+        ;
+
+        assertThat(this.eventRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    @TestDescription("여러 이벤트를 한번에 생성할 때 insert 는 배치로 묶여서 SQL 수가 이벤트 수만큼 늘지 않는다")
+    public void 이벤트_일괄생성_배치insert() throws Exception {
+        // Given
+        String bearerToken = getBearerToken(true);
+        EventBatchRequestDto batchRequestDto = EventBatchRequestDto.builder()
+            .events(IntStream.range(0, 100).mapToObj(this::buildEventRequestDto).collect(Collectors.toList()))
+            .build();
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        this.perform(
+            post("/api/events/batch")
+                .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content(this.objectMapper.writeValueAsString(batchRequestDto)))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("ids.length()").value(100))
+            .andExpect(jsonPath("errors").isEmpty());
+
+        // Then - 시퀀스 조회 몇번 + 50개씩 묶인 insert 배치 2번
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(100);
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(10);
+    }
+
+    @Test
+    @TestDescription("일괄 생성 요청이 비어있거나 모든 항목이 잘못된 경우 400")
+    public void 이벤트_일괄생성_400() throws Exception {
+        String bearerToken = getBearerToken(true);
+
+        this.perform(
+            post("/api/events/batch")
+                .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content(this.objectMapper.writeValueAsString(new EventBatchRequestDto())))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("content[0].field").value("events"))
+            .andExpect(jsonPath("_links.index").exists());
+
+        EventBatchRequestDto batchRequestDto = EventBatchRequestDto.builder()
+            .events(Stream.of(EventRequestDto.builder().build()).collect(Collectors.toList()))
+            .build();
+        this.perform(
+            post("/api/events/batch")
+                .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content(this.objectMapper.writeValueAsString(batchRequestDto)))
+            .andDo(print())
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("content[0].field").value(startsWith("events[0].")))
+            .andExpect(jsonPath("_links.index").exists());
+
+        assertThat(this.eventRepository.count()).isZero();
+    }
+
     @Test
     @TestDescription("30개의 이벤트를 10개씩, 그 중 두번째 페이지 조회하기")
     public void queryEvents() throws Exception {
         // Given
         IntStream.range(0, 30).forEach(this::generatedEvent);
+        this.sqlStatements.reset();
 
         // When & Then
-        this.mockMvc.perform(
+        this.perform(
             get("/api/events")
                 .param("page", "1")
                 .param("size", "10")
@@ -355,6 +522,9 @@ public class EventControllerTests extends BaseControllerTest {
                 )
             ))
         ;
+
+        // SQL 예산 - 이벤트 조회 1번 + count 1번
+        this.sqlStatements.assertSelects(2);
     }
 
     @Test
@@ -364,7 +534,7 @@ public class EventControllerTests extends BaseControllerTest {
         IntStream.range(0, 30).forEach(this::generatedEvent);
 
         // When & Then
-        this.mockMvc.perform(
+        this.perform(
             get("/api/events")
                 .header(HttpHeaders.AUTHORIZATION, getBearerToken(true))
                 .param("page", "1")
@@ -382,15 +552,456 @@ public class EventControllerTests extends BaseControllerTest {
         ;
     }
 
+    @Test
+    @TestDescription("30개의 이벤트를 커서 기반으로 10개씩 조회하고, next 커서로 두번째 페이지 조회하기")
+    public void queryEventsWithCursor() throws Exception {
+        // Given
+        IntStream.range(0, 30).forEach(this::generatedEvent);
+
+        // When & Then - 첫 페이지는 빈 커서로 조회, count 쿼리가 없으므로 page 정보는 없다.
+        String firstPage = this.perform(
+            get("/api/events")
+                .param("cursor", "")
+                .param("size", "10"))
+            .andDo(print())
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("page").doesNotExist())
+            .andExpect(jsonPath("_embedded.eventList.length()").value(10))
+            .andExpect(jsonPath("_links.next").exists())
+            .andExpect(jsonPath("_links.prev").doesNotExist())
+            .andReturn().getResponse().getContentAsString();
+
+        String nextCursor = cursorOf(JsonPath.read(firstPage, "_links.next.href"));
+        Integer lastIdOfFirstPage = JsonPath.read(firstPage, "_embedded.eventList[9].id");
+
+        this.perform(
+            get("/api/events")
+                .param("cursor", nextCursor)
+                .param("size", "10"))
+            .andDo(print())
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("_embedded.eventList.length()").value(10))
+            .andExpect(jsonPath("_embedded.eventList[0].id").value(lastIdOfFirstPage + 1))
+            .andExpect(jsonPath("_embedded.eventList[0]._links.self").exists())
+            .andDo(document("query-events-cursor",
+                requestParameters(
+                    parameterWithName("cursor").description("이전 응답의 next/prev 링크에 담긴 커서. 빈 값이면 첫 페이지"),
+                    parameterWithName("size").description("페이지당 컨텐츠 수")
+                ),
+                links(
+                    linkWithRel("self").description("현재 페이지"),
+                    linkWithRel("next").description("다음 페이지"),
+                    linkWithRel("prev").description("이전 페이지"),
+                    linkWithRel("profile").description("link to profile an existing")
+                )
+            ))
+        ;
+    }
+
+    @Test
+    @TestDescription("잘못된 커서로 조회하면 400")
+    public void queryEventsWithCursor_400() throws Exception {
+        this.perform(
+            get("/api/events")
+                .param("cursor", "not-a-cursor"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @TestDescription("상태, 가격, 이벤트 기간 조건으로 이벤트 목록 조회하기. 커서 조회에도 같은 조건을 사용한다")
+    public void queryEventsWithCondition() throws Exception {
+        // Given - 짝수번째만 PUBLISHED, 가격은 index * 10
+        IntStream.range(0, 30).forEach(i -> {
+            Event event = this.buildEvent(i);
+            event.setEventStatus(i % 2 == 0 ? EventStatus.PUBLISHED : EventStatus.DRAFT);
+            event.setBasePrice(i * 10);
+            event.setMaxPrice(i * 10);
+            this.eventRepository.save(event);
+        });
+
+        // When & Then - PUBLISHED 이면서 basePrice 100 ~ 200 인 이벤트: 10, 12, ... 20 번째
+        this.perform(
+            get("/api/events")
+                .param("eventStatus", "PUBLISHED")
+                .param("basePriceFrom", "100")
+                .param("basePriceTo", "200")
+                .param("eventFrom", "2019-05-01T00:00:00")
+                .param("eventTo", "2019-05-31T23:59:59")
+                .param("size", "10"))
+            .andDo(print())
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("page.totalElements").value(6))
+            .andExpect(jsonPath("_embedded.eventList[0].name").value("event 10"))
+            .andExpect(jsonPath("_embedded.eventList[*].eventStatus", everyItem(is("PUBLISHED"))))
+            .andDo(document("query-events-condition",
+                requestParameters(
+                    parameterWithName("eventStatus").description("이벤트 상태. DRAFT, PUBLISHED, BEGAN_ENROLLMENT"),
+                    parameterWithName("basePriceFrom").description("basePrice 최소값"),
+                    parameterWithName("basePriceTo").description("basePrice 최대값"),
+                    parameterWithName("eventFrom").description("이벤트 시작 일시가 이 값 이후인 이벤트"),
+                    parameterWithName("eventTo").description("이벤트 종료 일시가 이 값 이전인 이벤트"),
+                    parameterWithName("size").description("페이지당 컨텐츠 수")
+                )
+            ));
+
+        this.perform(
+            get("/api/events")
+                .param("eventStatus", "DRAFT")
+                .param("free", "false")
+                .param("offline", "true")
+                .param("cursor", "")
+                .param("size", "20"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("_embedded.eventList.length()").value(15))
+            .andExpect(jsonPath("_links.next").doesNotExist());
+    }
+
+    @Test
+    @TestDescription("조회 조건 값이 잘못된 경우 400")
+    public void queryEventsWithCondition_400() throws Exception {
+        this.perform(
+            get("/api/events")
+                .param("eventStatus", "UNKNOWN"))
+            .andExpect(status().isBadRequest());
+    }
+
+    private String cursorOf(String href) {
+        return UriComponentsBuilder.fromUriString(href).build().getQueryParams().getFirst("cursor");
+    }
+
+    @Test
+    @TestDescription("매니저가 모두 다른 이벤트 목록을 조회해도 페이지 크기와 상관없이 SQL 수가 일정하다(N+1 방지)")
+    public void queryEvents_SQL수_고정() throws Exception {
+        // Given
+        IntStream.range(0, 30).forEach(i -> this.generatedEvent(i, this.createAccount("manager" + i + "@email.com")));
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        for (int size : new int[]{5, 30}) {
+            statistics.clear();
+            this.sqlStatements.reset();
+
+            // When
+            this.perform(
+                get("/api/events")
+                    .param("size", String.valueOf(size)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList[0].manager.id").exists());
+
+            // Then - 이벤트 조회 1번 + count 1번, 매니저(Account)와 roles 는 조회하지 않는다.
+            assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+            this.sqlStatements.assertSelects(2);
+        }
+
+        // 이벤트 하나 조회도 매니저를 조회하지 않는다.(2차 캐시를 비우고 확인)
+        Event event = this.eventRepository.findAll().get(0);
+        this.entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+        this.sqlStatements.reset();
+        this.perform(get("/api/events/{id}", event.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("manager.id").exists());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        this.sqlStatements.assertSelects(1);
+    }
+
+    @Test
+    @TestDescription("이벤트 조회는 2차 캐시에서 처리하고, 수정하면 캐시가 갱신된다")
+    public void getEvent_2차캐시() throws Exception {
+        // Given
+        Account account = this.createAccount();
+        Event event = this.generatedEvent(100, account);
+        this.entityManagerFactory.getCache().evictAll();
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When & Then - 처음에는 DB 에서, 두번째는 캐시에서 조회
+        this.perform(get("/api/events/{id}", event.getId())).andExpect(status().isOk());
+        this.perform(get("/api/events/{id}", event.getId())).andExpect(status().isOk());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+
+        // 수정하면 캐시에 있던 이벤트도 갱신되어야 한다.
+        EventRequestDto eventRequestDto = this.modelMapper.map(event, EventRequestDto.class);
+        eventRequestDto.setName("Cached Event");
+        this.perform(put("/api/events/{id}", event.getId())
+            .header(HttpHeaders.AUTHORIZATION, getBearerToken(false))
+            .contentType(MediaType.APPLICATION_JSON_UTF8)
+            .content(this.objectMapper.writeValueAsString(eventRequestDto)))
+            .andExpect(status().isOk());
+
+        this.perform(get("/api/events/{id}", event.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("name").value("Cached Event"));
+    }
+
+    @Test
+    @TestDescription("이벤트 조회 응답 본문은 직렬화한 바이트로 캐시하고, gzip 을 받을 수 있으면 압축해둔 본문으로 응답, 수정하면 지운다")
+    public void getEvent_응답본문캐시() throws Exception {
+        // Given
+        Account account = this.createAccount();
+        Event event = this.generatedEvent(100, account);
+
+        // When & Then - 두번째 조회는 캐시에서 같은 본문
+        byte[] first = this.perform(get("/api/events/{id}", event.getId()))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsByteArray();
+        int cached = this.renderedEventCache.size();
+        byte[] second = this.perform(get("/api/events/{id}", event.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + event.getId() + "." + event.getVersion() + "\""))
+            .andReturn().getResponse().getContentAsByteArray();
+        assertThat(second).isEqualTo(first);
+        assertThat(this.renderedEventCache.size()).isEqualTo(cached);
+
+        // gzip 은 본문이 다르므로 다른 ETag, 두 ETag 모두 304
+        String gzipETag = "\"" + event.getId() + "." + event.getVersion() + "-gzip\"";
+        byte[] gzipped = this.perform(get("/api/events/{id}", event.getId())
+            .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+            .andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaTypes.HAL_JSON_UTF8_VALUE))
+            .andExpect(header().string(HttpHeaders.ETAG, gzipETag))
+            .andReturn().getResponse().getContentAsByteArray();
+        assertThat(StreamUtils.copyToByteArray(new GZIPInputStream(new ByteArrayInputStream(gzipped)))).isEqualTo(first);
+        this.perform(get("/api/events/{id}", event.getId())
+            .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+            .header(HttpHeaders.IF_NONE_MATCH, gzipETag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, gzipETag));
+
+        // 캐시한 본문은 HAL 이므로 HAL 을 받을 수 있을 때만 응답한다.
+        byte[] hal = this.perform(get("/api/events/{id}", event.getId())
+            .accept(MediaTypes.HAL_JSON))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaTypes.HAL_JSON_UTF8_VALUE))
+            .andReturn().getResponse().getContentAsByteArray();
+        assertThat(hal).isEqualTo(first);
+        this.perform(get("/api/events/{id}", event.getId())
+            .accept(MediaType.APPLICATION_XML))
+            .andExpect(status().isNotAcceptable());
+
+        // 매니저에게는 update-event 링크가 있는 다른 본문
+        String bearerToken = getBearerToken(false);
+        this.perform(get("/api/events/{id}", event.getId())
+            .header(HttpHeaders.AUTHORIZATION, bearerToken))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("_links.update-event").exists());
+        this.perform(get("/api/events/{id}", event.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("_links.update-event").doesNotExist());
+
+        // 수정하면 새 본문
+        EventRequestDto eventRequestDto = this.modelMapper.map(event, EventRequestDto.class);
+        eventRequestDto.setName("Rendered Event");
+        this.perform(put("/api/events/{id}", event.getId())
+            .header(HttpHeaders.AUTHORIZATION, bearerToken)
+            .contentType(MediaType.APPLICATION_JSON_UTF8)
+            .content(this.objectMapper.writeValueAsString(eventRequestDto)))
+            .andExpect(status().isOk());
+        this.perform(get("/api/events/{id}", event.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("name").value("Rendered Event"));
+    }
+
+    @Test
+    @TestDescription("2차 캐시 메트릭이 Actuator 로 노출된다")
+    public void cacheMetrics() throws Exception {
+        this.perform(get("/actuator/metrics/cache.gets").param("tag", "cache:events"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("availableTags[?(@.tag == 'result')]").exists());
+        this.perform(get("/actuator/metrics/cache.evictions").param("tag", "cache:events"))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    @TestDescription("이벤트를 생성, 수정하면 바로 검색되고 관련도 순서로 조회된다")
+    public void searchEvents() throws Exception {
+        // Given
+        String bearerToken = getBearerToken(true);
+        EventRequestDto first = this.buildEventRequestDto(0);
+        first.setName("Hibernate 성능 스터디");
+        first.setDescription("2차 캐시와 배치 insert");
+        EventRequestDto second = this.buildEventRequestDto(1);
+        second.setName("Spring 스터디");
+        second.setDescription("Hibernate 2차 캐시 입문");
+        for (EventRequestDto eventRequestDto : new EventRequestDto[]{first, second}) {
+            this.perform(post("/api/events")
+                .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content(this.objectMapper.writeValueAsString(eventRequestDto)))
+                .andExpect(status().isCreated());
+        }
+
+        // When & Then - name 에 들어있는 이벤트가 먼저
+        this.perform(get("/api/events/search")
+            .param("q", "hibernate 캐시")
+            .param("size", "10"))
+            .andDo(print())
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("page.totalElements").value(2))
+            .andExpect(jsonPath("_embedded.eventList[0].name").value("Hibernate 성능 스터디"))
+            .andExpect(jsonPath("_embedded.eventList[1].name").value("Spring 스터디"))
+            .andExpect(jsonPath("_embedded.eventList[0]._links.self").exists())
+            .andDo(document("search-events",
+                requestParameters(
+                    parameterWithName("q").description("검색어. name, description, location 에 모든 단어가 들어있는 이벤트를 찾는다"),
+                    parameterWithName("size").description("페이지당 컨텐츠 수")
+                )
+            ));
+
+        // 수정하면 이전 내용으로는 검색되지 않는다.
+        Event event = this.eventRepository.findAll().stream()
+            .filter(e -> e.getName().equals("Spring 스터디"))
+            .findFirst().get();
+        EventRequestDto updated = this.buildEventRequestDto(1);
+        updated.setName("Spring 스터디");
+        updated.setDescription("JPA 입문");
+        this.perform(put("/api/events/{id}", event.getId())
+            .header(HttpHeaders.AUTHORIZATION, bearerToken)
+            .contentType(MediaType.APPLICATION_JSON_UTF8)
+            .content(this.objectMapper.writeValueAsString(updated)))
+            .andExpect(status().isOk());
+
+        this.perform(get("/api/events/search").param("q", "hibernate 캐시"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("page.totalElements").value(1));
+        this.perform(get("/api/events/search").param("q", "jpa"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("_embedded.eventList[0].id").value(event.getId()));
+    }
+
+    @Test
+    @TestDescription("검색어 없이 검색하면 400")
+    public void searchEvents_400() throws Exception {
+        this.perform(get("/api/events/search").param("q", " "))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @TestDescription("이벤트 변경 스트림을 구독하면 생성, 수정된 이벤트를 받고, Last-Event-ID 로 이어서 받을 수 있다")
+    public void streamEvents() throws Exception {
+        // Given
+        MvcResult stream = this.mockMvc.perform(get("/api/events/stream").accept(MediaType.TEXT_EVENT_STREAM))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        // When - 이벤트 생성, 수정
+        String bearerToken = getBearerToken(true);
+        EventRequestDto eventRequestDto = this.buildEventRequestDto(0);
+        String created = this.perform(post("/api/events")
+            .header(HttpHeaders.AUTHORIZATION, bearerToken)
+            .contentType(MediaType.APPLICATION_JSON_UTF8)
+            .content(this.objectMapper.writeValueAsString(eventRequestDto)))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        Integer id = JsonPath.read(created, "id");
+        eventRequestDto.setName("Updated Event");
+        this.perform(put("/api/events/{id}", id)
+            .header(HttpHeaders.AUTHORIZATION, bearerToken)
+            .contentType(MediaType.APPLICATION_JSON_UTF8)
+            .content(this.objectMapper.writeValueAsString(eventRequestDto)))
+            .andExpect(status().isOk());
+
+        // Then
+        long lastEventId = this.eventChangeFeed.getLastEventId();
+        String body = awaitContent(stream, "id:" + lastEventId);
+        assertThat(body)
+            .contains("event:created\ndata:{\"id\":" + id + ",\"version\":0,\"changes\":{\"name\":\"event 0\"")
+            .contains("event:updated\ndata:{\"id\":" + id + ",\"version\":1,\"changes\":{\"name\":\"Updated Event\"}}");
+
+        // 마지막 변경 하나 전부터 다시 연결
+        MvcResult resumed = this.mockMvc.perform(get("/api/events/stream")
+            .accept(MediaType.TEXT_EVENT_STREAM)
+            .header("Last-Event-ID", lastEventId - 1))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        assertThat(awaitContent(resumed, "id:" + lastEventId)).startsWith("id:" + lastEventId + "\nevent:updated");
+        document("stream-events",
+            requestHeaders(
+                headerWithName(HttpHeaders.ACCEPT).description("text/event-stream"),
+                headerWithName("Last-Event-ID").description("다시 연결할 때 마지막으로 받은 이벤트 id. 이후 변경부터 받는다").optional()
+            )
+        ).handle(resumed);
+    }
+
+    private String awaitContent(MvcResult mvcResult, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String content = mvcResult.getResponse().getContentAsString();
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            content = mvcResult.getResponse().getContentAsString();
+        }
+        return content;
+    }
+
+    @Test
+    @TestDescription("전체 이벤트를 NDJSON 으로 내보내기. 쿼리 한번으로 읽고 2차 캐시에 넣지 않는다")
+    public void exportEvents() throws Exception {
+        // Given
+        IntStream.range(0, 30).forEach(i -> this.generatedEvent(i, this.createAccount("manager" + i + "@email.com")));
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        String body = this.perform(get("/api/events/export").param("format", "ndjson"))
+            .andDo(print())
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_TYPE, startsWith("application/x-ndjson")))
+            .andDo(document("export-events",
+                requestParameters(
+                    parameterWithName("format").description("Export format. ndjson(default) or csv")
+                )
+            ))
+            .andReturn().getResponse().getContentAsString();
+
+        // Then
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(30);
+        assertThat(JsonPath.<String>read(lines[0], "$.name")).isEqualTo("event 0");
+        assertThat(JsonPath.<Integer>read(lines[29], "$.manager.id")).isNotNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getSecondLevelCachePutCount()).isZero();
+    }
+
+    @Test
+    @TestDescription("전체 이벤트를 CSV 로 내보내기")
+    public void exportEvents_csv() throws Exception {
+        // Given
+        Event event = this.buildEvent(0);
+        event.setDescription("REST API, \"Basic\"");
+        this.eventRepository.save(event);
+        this.generatedEvent(1);
+
+        // When & Then
+        String body = this.perform(get("/api/events/export").param("format", "csv"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_TYPE, startsWith("text/csv")))
+            .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).startsWith("id,name,description,");
+        assertThat(lines[1]).contains(",event 0,\"REST API, \"\"Basic\"\"\",");
+    }
+
+    @Test
+    @TestDescription("지원하지 않는 형식으로 내보내기 요청하면 400")
+    public void exportEvents_400() throws Exception {
+        this.perform(get("/api/events/export").param("format", "xml"))
+            .andExpect(status().isBadRequest());
+    }
+
     @Test
     @TestDescription("기존의 이벤트를 하나 조회하기")
     public void getEvent() throws Exception {
         // Given
         Account account = this.createAccount();
         Event event = this.generatedEvent(100, account);
+        this.sqlStatements.reset();
 
         // When & Then
-        this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+        this.perform(get("/api/events/{id}", event.getId()))
             .andExpect(status().isOk())
             .andExpect(jsonPath("name").exists())
             .andExpect(jsonPath("id").exists())
@@ -432,6 +1043,9 @@ public class EventControllerTests extends BaseControllerTest {
                 )
             ))
         ;
+
+        // SQL 예산 - 2차 캐시에 없으면 이벤트 조회 1번, 매니저는 조회하지 않는다.
+        this.sqlStatements.assertSelects(1);
     }
 
     @Test
@@ -442,7 +1056,7 @@ public class EventControllerTests extends BaseControllerTest {
         Event event = this.generatedEvent(100, account);
 
         // When & Then
-        this.mockMvc.perform(get("/api/events/{id}", event.getId())
+        this.perform(get("/api/events/{id}", event.getId())
             .header(HttpHeaders.AUTHORIZATION, getBearerToken(false))
         )
             .andExpect(status().isOk())
@@ -489,11 +1103,92 @@ public class EventControllerTests extends BaseControllerTest {
         ;
     }
 
+    @Test
+    @TestDescription("ETag 가 같으면 이벤트 조회시 304, 이벤트가 수정되면 새 ETag 로 200")
+    public void getEvent_304() throws Exception {
+        // Given
+        Account account = this.createAccount();
+        Event event = this.generatedEvent(100, account);
+        String eTag = this.perform(get("/api/events/{id}", event.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When & Then
+        this.perform(get("/api/events/{id}", event.getId())
+            .header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andDo(print())
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag))
+            .andExpect(content().string(""));
+
+        // 매니저가 조회하면 update-event 링크가 포함된 다른 표현이므로 ETag 도 다르다.
+        this.perform(get("/api/events/{id}", event.getId())
+            .header(HttpHeaders.AUTHORIZATION, getBearerToken(false))
+            .header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("_links.update-event").exists());
+
+        EventRequestDto eventRequestDto = this.modelMapper.map(event, EventRequestDto.class);
+        eventRequestDto.setName("Updated Event");
+        this.perform(put("/api/events/{id}", event.getId())
+            .header(HttpHeaders.AUTHORIZATION, getBearerToken(false))
+            .contentType(MediaType.APPLICATION_JSON_UTF8)
+            .content(this.objectMapper.writeValueAsString(eventRequestDto)))
+            .andExpect(status().isOk());
+
+        this.perform(get("/api/events/{id}", event.getId())
+            .header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, not(eTag)))
+            .andExpect(jsonPath("name").value("Updated Event"));
+    }
+
+    @Test
+    @TestDescription("ETag 가 같으면 이벤트 목록 조회시 304, 이벤트가 추가되면 200")
+    public void queryEvents_304() throws Exception {
+        // Given
+        IntStream.range(0, 30).forEach(this::generatedEvent);
+        String eTag = this.perform(get("/api/events")
+            .param("page", "1")
+            .param("size", "10")
+            .param("sort", "name,DESC"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When & Then
+        this.perform(get("/api/events")
+            .param("page", "1")
+            .param("size", "10")
+            .param("sort", "name,DESC")
+            .header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+
+        // 페이지가 다르면 ETag 도 다르다.
+        this.perform(get("/api/events")
+            .param("page", "2")
+            .param("size", "10")
+            .param("sort", "name,DESC")
+            .header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("_embedded.eventList.length()").value(10));
+
+        this.generatedEvent(30);
+        this.perform(get("/api/events")
+            .param("page", "1")
+            .param("size", "10")
+            .param("sort", "name,DESC")
+            .header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("page.totalElements").value(31));
+    }
+
     @Test
     @TestDescription("없는 이벤트 조회했을 때 404 status code")
     public void getEvent_404() throws Exception {
         // When & Then
-        this.mockMvc.perform(get("/api/events/23456"))
+        this.perform(get("/api/events/23456"))
             .andExpect(status().isNotFound());
     }
 
@@ -513,10 +1208,12 @@ public class EventControllerTests extends BaseControllerTest {
         EventRequestDto eventRequestDto = this.modelMapper.map(event, EventRequestDto.class);
         String eventName = "Updated Event";
         eventRequestDto.setName(eventName);
+        String bearerToken = getBearerToken(false);
+        this.sqlStatements.reset();
 
         // When & Then
-        this.mockMvc.perform(put("/api/events/{id}", event.getId())
-            .header(HttpHeaders.AUTHORIZATION, getBearerToken(false))
+        this.perform(put("/api/events/{id}", event.getId())
+            .header(HttpHeaders.AUTHORIZATION, bearerToken)
             .contentType(MediaType.APPLICATION_JSON_UTF8)
             .accept(MediaTypes.HAL_JSON)
             .content(this.objectMapper.writeValueAsString(eventRequestDto))
@@ -580,6 +1277,11 @@ public class EventControllerTests extends BaseControllerTest {
                 )
             ))
         ;
+
+        // SQL 예산 - findById 1번(2차 캐시에 없을 때) + update 1번
+        this.sqlStatements.assertSelects(1);
+        this.sqlStatements.assertUpdates(1);
+        this.sqlStatements.assertInserts(0);
     }
 
     @Test
@@ -590,7 +1292,7 @@ public class EventControllerTests extends BaseControllerTest {
         EventRequestDto eventRequestDto = new EventRequestDto();
 
         // When & Then
-        this.mockMvc.perform(put("/api/events/{id}", event.getId())
+        this.perform(put("/api/events/{id}", event.getId())
             .header(HttpHeaders.AUTHORIZATION, getBearerToken(true))
             .contentType(MediaType.APPLICATION_JSON_UTF8)
             .content(this.objectMapper.writeValueAsString(eventRequestDto))
@@ -609,7 +1311,7 @@ public class EventControllerTests extends BaseControllerTest {
         eventRequestDto.setMaxPrice(1000);
 
         // When & Then
-        this.mockMvc.perform(put("/api/events/{id}", event.getId())
+        this.perform(put("/api/events/{id}", event.getId())
             .header(HttpHeaders.AUTHORIZATION, getBearerToken(true))
             .contentType(MediaType.APPLICATION_JSON_UTF8)
             .content(this.objectMapper.writeValueAsString(eventRequestDto))
@@ -626,7 +1328,7 @@ public class EventControllerTests extends BaseControllerTest {
         EventRequestDto eventRequestDto = this.modelMapper.map(event, EventRequestDto.class);
 
         // When & Then
-        this.mockMvc.perform(put("/api/events/9308")
+        this.perform(put("/api/events/9308")
             .header(HttpHeaders.AUTHORIZATION, getBearerToken(true))
             .contentType(MediaType.APPLICATION_JSON_UTF8)
             .content(this.objectMapper.writeValueAsString(eventRequestDto))
@@ -635,6 +1337,318 @@ public class EventControllerTests extends BaseControllerTest {
             .andExpect(status().isNotFound());
     }
 
+    @Test
+    @TestDescription("If-Match 로 이벤트를 읽지 않고 UPDATE 한번으로 수정")
+    public void updateEvent_IfMatch() throws Exception {
+        // Given
+        Account account = this.createAccount();
+        Event event = this.generatedEvent(200, account);
+
+        EventRequestDto eventRequestDto = this.modelMapper.map(event, EventRequestDto.class);
+        eventRequestDto.setName("Updated Event");
+        eventRequestDto.setBasePrice(0);
+        eventRequestDto.setMaxPrice(0);
+        String bearerToken = getBearerToken(false);
+        this.sqlStatements.reset();
+
+        // When & Then
+        this.perform(put("/api/events/{id}", event.getId())
+            .header(HttpHeaders.AUTHORIZATION, bearerToken)
+            .header(HttpHeaders.IF_MATCH, "\"" + event.getId() + "." + event.getVersion() + ".m\"")
+            .contentType(MediaType.APPLICATION_JSON_UTF8)
+            .accept(MediaTypes.HAL_JSON)
+            .content(this.objectMapper.writeValueAsString(eventRequestDto))
+        )
+            .andDo(print())
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("name").value("Updated Event"))
+            .andExpect(jsonPath("free").value(true))
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + event.getId() + "." + (event.getVersion() + 1) + ".m\""))
+            .andDo(document("update-event-if-match",
+                requestHeaders(
+                    headerWithName(HttpHeaders.IF_MATCH).description("조회 응답에서 받은 ETag. 그 사이에 이벤트가 바뀌었으면 412 응답")
+                ),
+                responseHeaders(
+                    headerWithName(HttpHeaders.ETAG).description("수정된 이벤트의 ETag. 다음 수정의 If-Match 로 사용")
+                )
+            ));
+
+        // SQL 예산 - 조건부 update 1번 + 응답용 select 1번
+        this.sqlStatements.assertUpdates(1);
+        this.sqlStatements.assertSelects(1);
+        this.sqlStatements.assertInserts(0);
+
+        // 이전 ETag 로 다시 수정하면 412, 현재 ETag 를 알려준다.
+        this.sqlStatements.reset();
+        this.perform(put("/api/events/{id}", event.getId())
+            .header(HttpHeaders.AUTHORIZATION, bearerToken)
+            .header(HttpHeaders.IF_MATCH, "\"" + event.getId() + "." + event.getVersion() + ".m\"")
+            .contentType(MediaType.APPLICATION_JSON_UTF8)
+            .content(this.objectMapper.writeValueAsString(eventRequestDto))
+        )
+            .andDo(print())
+            .andExpect(status().isPreconditionFailed())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + event.getId() + "." + (event.getVersion() + 1) + ".m\""))
+            .andDo(document("update-event-412"));
+        this.sqlStatements.assertUpdates(1);
+        this.sqlStatements.assertSelects(1);
+
+        assertThat(this.eventRepository.findById(event.getId()).get().getVersion()).isEqualTo(event.getVersion() + 1);
+    }
+
+    @Test
+    @TestDescription("If-Match 수정은 매니저가 아니면 403, 이벤트가 없으면 404")
+    public void updateEvent_IfMatch_403_404() throws Exception {
+        // Given
+        Account account = this.createAccount();
+        Event event = this.generatedEvent(200, this.createAccount("manager@email.com"));
+        EventRequestDto eventRequestDto = this.modelMapper.map(event, EventRequestDto.class);
+        String bearerToken = getBearerToken(false);
+
+        // When & Then
+        this.perform(put("/api/events/{id}", event.getId())
+            .header(HttpHeaders.AUTHORIZATION, bearerToken)
+            .header(HttpHeaders.IF_MATCH, "\"" + event.getId() + "." + event.getVersion() + "\"")
+            .contentType(MediaType.APPLICATION_JSON_UTF8)
+            .content(this.objectMapper.writeValueAsString(eventRequestDto))
+        )
+            .andExpect(status().isForbidden());
+
+        this.perform(put("/api/events/9308")
+            .header(HttpHeaders.AUTHORIZATION, bearerToken)
+            .header(HttpHeaders.IF_MATCH, "\"9308.0.m\"")
+            .contentType(MediaType.APPLICATION_JSON_UTF8)
+            .content(this.objectMapper.writeValueAsString(eventRequestDto))
+        )
+            .andExpect(status().isNotFound());
+
+        assertThat(this.eventRepository.findById(event.getId()).get().getManager().getId()).isNotEqualTo(account.getId());
+        assertThat(this.eventRepository.findById(event.getId()).get().getVersion()).isEqualTo(event.getVersion());
+    }
+
+    @Test
+    @TestDescription("If-Match 가 * 이면 버전과 상관없이 수정하고, 없는 이벤트는 404, 매니저가 아니면 403")
+    public void updateEvent_IfMatch_any() throws Exception {
+        // Given
+        Account account = this.createAccount();
+        Event event = this.generatedEvent(200, account);
+        Event otherEvent = this.generatedEvent(201, this.createAccount("manager@email.com"));
+        EventRequestDto eventRequestDto = this.modelMapper.map(event, EventRequestDto.class);
+        eventRequestDto.setName("Updated Event");
+        String bearerToken = getBearerToken(false);
+        this.sqlStatements.reset();
+
+        // When & Then
+        this.perform(put("/api/events/{id}", event.getId())
+            .header(HttpHeaders.AUTHORIZATION, bearerToken)
+            .header(HttpHeaders.IF_MATCH, "*")
+            .contentType(MediaType.APPLICATION_JSON_UTF8)
+            .content(this.objectMapper.writeValueAsString(eventRequestDto))
+        )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("name").value("Updated Event"))
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + event.getId() + "." + (event.getVersion() + 1) + ".m\""));
+        this.sqlStatements.assertUpdates(1);
+
+        this.perform(patch("/api/events/{id}", event.getId())
+            .header(HttpHeaders.AUTHORIZATION, bearerToken)
+            .header(HttpHeaders.IF_MATCH, "*")
+            .contentType("application/merge-patch+json")
+            .content("{\"limitOfEnrollment\": 50}")
+        )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("limitOfEnrollment").value(50))
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + event.getId() + "." + (event.getVersion() + 2) + ".m\""));
+
+        this.perform(put("/api/events/{id}", otherEvent.getId())
+            .header(HttpHeaders.AUTHORIZATION, bearerToken)
+            .header(HttpHeaders.IF_MATCH, "*")
+            .contentType(MediaType.APPLICATION_JSON_UTF8)
+            .content(this.objectMapper.writeValueAsString(eventRequestDto))
+        )
+            .andExpect(status().isForbidden());
+
+        this.perform(put("/api/events/9308")
+            .header(HttpHeaders.AUTHORIZATION, bearerToken)
+            .header(HttpHeaders.IF_MATCH, "*")
+            .contentType(MediaType.APPLICATION_JSON_UTF8)
+            .content(this.objectMapper.writeValueAsString(eventRequestDto))
+        )
+            .andExpect(status().isNotFound());
+
+        assertThat(this.eventRepository.findById(otherEvent.getId()).get().getVersion()).isEqualTo(otherEvent.getVersion());
+    }
+
+    @Test
+    @TestDescription("If-Match 유무와 상관없이 PUT 은 가격, 장소로 free, offline 을 다시 계산한다")
+    public void updateEvent_free_offline() throws Exception {
+        // Given
+        Account account = this.createAccount();
+        Event event = this.generatedEvent(200, account);
+        Event ifMatchEvent = this.generatedEvent(201, account);
+        EventRequestDto eventRequestDto = this.modelMapper.map(event, EventRequestDto.class);
+        eventRequestDto.setBasePrice(0);
+        eventRequestDto.setMaxPrice(0);
+        eventRequestDto.setLocation("");
+        String bearerToken = getBearerToken(false);
+
+        // When & Then
+        this.perform(put("/api/events/{id}", event.getId())
+            .header(HttpHeaders.AUTHORIZATION, bearerToken)
+            .contentType(MediaType.APPLICATION_JSON_UTF8)
+            .content(this.objectMapper.writeValueAsString(eventRequestDto))
+        )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("free").value(true))
+            .andExpect(jsonPath("offline").value(false));
+
+        this.perform(put("/api/events/{id}", ifMatchEvent.getId())
+            .header(HttpHeaders.AUTHORIZATION, bearerToken)
+            .header(HttpHeaders.IF_MATCH, "*")
+            .contentType(MediaType.APPLICATION_JSON_UTF8)
+            .content(this.objectMapper.writeValueAsString(eventRequestDto))
+        )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("free").value(true))
+            .andExpect(jsonPath("offline").value(false));
+
+        Event updatedEvent = this.eventRepository.findById(event.getId()).get();
+        Event updatedIfMatchEvent = this.eventRepository.findById(ifMatchEvent.getId()).get();
+        assertThat(updatedEvent.isFree()).isEqualTo(updatedIfMatchEvent.isFree()).isTrue();
+        assertThat(updatedEvent.isOffline()).isEqualTo(updatedIfMatchEvent.isOffline()).isFalse();
+    }
+
+    @Test
+    @TestDescription("JSON Merge Patch 로 보낸 필드만 수정하고, 바뀐 컬럼만 UPDATE")
+    public void patchEvent() throws Exception {
+        // Given
+        Account account = this.createAccount();
+        Event event = this.generatedEvent(200, account);
+        assertThat(event.isOffline()).isTrue();
+        String bearerToken = getBearerToken(false);
+        this.sqlStatements.reset();
+
+        // When & Then - 장소를 지우면 온라인 이벤트가 된다.
+        this.perform(patch("/api/events/{id}", event.getId())
+            .header(HttpHeaders.AUTHORIZATION, bearerToken)
+            .header(HttpHeaders.IF_MATCH, "\"" + event.getId() + "." + event.getVersion() + ".m\"")
+            .contentType("application/merge-patch+json")
+            .accept(MediaTypes.HAL_JSON)
+            .content("{\"limitOfEnrollment\": 50, \"location\": null}")
+        )
+            .andDo(print())
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("name").value(event.getName()))
+            .andExpect(jsonPath("limitOfEnrollment").value(50))
+            .andExpect(jsonPath("location").doesNotExist())
+            .andExpect(jsonPath("offline").value(false))
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + event.getId() + "." + (event.getVersion() + 1) + ".m\""))
+            .andDo(document("patch-event",
+                pathParameters(
+                    parameterWithName("id").description("이벤트 ID")
+                ),
+                requestHeaders(
+                    headerWithName(HttpHeaders.CONTENT_TYPE).description("application/merge-patch+json"),
+                    headerWithName(HttpHeaders.IF_MATCH).description("(선택) 조회 응답에서 받은 ETag. 그 사이에 이벤트가 바뀌었으면 412 응답")
+                ),
+                responseHeaders(
+                    headerWithName(HttpHeaders.ETAG).description("수정된 이벤트의 ETag")
+                )
+            ));
+
+        // SQL 예산 - findById 1번(2차 캐시에 없을 때) + 바뀐 컬럼만 update 1번
+        this.sqlStatements.assertSelects(1);
+        this.sqlStatements.assertUpdates(1);
+        String update = this.sqlStatements.of(SqlCounter.Kind.UPDATE).get(0).toLowerCase();
+        assertThat(update).contains("limit_of_enrollment", "location", "offline", "version");
+        assertThat(update).doesNotContain("name", "base_price", "begin_event_date_time");
+
+        // 바뀐 값이 없으면 UPDATE 하지 않는다.
+        this.sqlStatements.reset();
+        this.perform(patch("/api/events/{id}", event.getId())
+            .header(HttpHeaders.AUTHORIZATION, bearerToken)
+            .contentType("application/merge-patch+json")
+            .content("{\"limitOfEnrollment\": 50}")
+        )
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + event.getId() + "." + (event.getVersion() + 1) + ".m\""));
+        this.sqlStatements.assertUpdates(0);
+    }
+
+    @Test
+    @TestDescription("JSON Merge Patch 로 바뀐 필드와 관련된 규칙만 다시 검증")
+    public void patchEvent_400() throws Exception {
+        // Given
+        Account account = this.createAccount();
+        Event event = this.generatedEvent(200, account);
+        String bearerToken = getBearerToken(false);
+
+        // When & Then - 가격 규칙
+        this.perform(patch("/api/events/{id}", event.getId())
+            .header(HttpHeaders.AUTHORIZATION, bearerToken)
+            .contentType("application/merge-patch+json")
+            .content("{\"basePrice\": 20000}")
+        )
+            .andDo(print())
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("content[0].field").value("basePrice"));
+
+        // 일정 규칙
+        this.perform(patch("/api/events/{id}", event.getId())
+            .header(HttpHeaders.AUTHORIZATION, bearerToken)
+            .contentType("application/merge-patch+json")
+            .content("{\"endEventDateTime\": \"2019-05-01T17:00:00\"}")
+        )
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("content[0].field").value("endEventDateTime"));
+
+        // 지울 수 없는 필드, 없는 필드
+        this.perform(patch("/api/events/{id}", event.getId())
+            .header(HttpHeaders.AUTHORIZATION, bearerToken)
+            .contentType("application/merge-patch+json")
+            .content("{\"name\": null, \"maxPrice\": null}")
+        )
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("content.length()").value(2));
+        this.perform(patch("/api/events/{id}", event.getId())
+            .header(HttpHeaders.AUTHORIZATION, bearerToken)
+            .contentType("application/merge-patch+json")
+            .content("{\"eventStatus\": \"STARTED\"}")
+        )
+            .andExpect(status().isBadRequest());
+
+        Event saved = this.eventRepository.findById(event.getId()).get();
+        assertThat(saved.getVersion()).isEqualTo(event.getVersion());
+        assertThat(saved.getBasePrice()).isEqualTo(event.getBasePrice());
+    }
+
+    @Test
+    @TestDescription("JSON Merge Patch 는 매니저가 아니면 403, 버전이 다르면 412")
+    public void patchEvent_403_412() throws Exception {
+        // Given
+        Account account = this.createAccount();
+        Event event = this.generatedEvent(200, account);
+        Event otherEvent = this.generatedEvent(201, this.createAccount("manager@email.com"));
+        String bearerToken = getBearerToken(false);
+
+        // When & Then
+        this.perform(patch("/api/events/{id}", otherEvent.getId())
+            .header(HttpHeaders.AUTHORIZATION, bearerToken)
+            .contentType("application/merge-patch+json")
+            .content("{\"limitOfEnrollment\": 50}")
+        )
+            .andExpect(status().isForbidden());
+
+        this.perform(patch("/api/events/{id}", event.getId())
+            .header(HttpHeaders.AUTHORIZATION, bearerToken)
+            .header(HttpHeaders.IF_MATCH, "\"" + event.getId() + "." + (event.getVersion() + 1) + ".m\"")
+            .contentType("application/merge-patch+json")
+            .content("{\"limitOfEnrollment\": 50}")
+        )
+            .andExpect(status().isPreconditionFailed())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + event.getId() + "." + event.getVersion() + ".m\""));
+    }
+
     private Event generatedEvent(int index, Account account) {
         Event event = this.buildEvent(index);
         event.setManager(account);
@@ -647,6 +1661,21 @@ public class EventControllerTests extends BaseControllerTest {
         return this.eventRepository.save(event);
     }
 
+    private EventRequestDto buildEventRequestDto(int index) {
+        return EventRequestDto.builder()
+            .name("event " + index)
+            .description("test event")
+            .beginEnrollmentDateTime(LocalDateTime.of(2019, 5, 6, 17, 0, 0))
+            .closeEnrollmentDateTime(LocalDateTime.of(2019, 5, 9, 17, 0, 0))
+            .beginEventDateTime(LocalDateTime.of(2019, 5, 10, 17, 0, 0))
+            .endEventDateTime(LocalDateTime.of(2019, 5, 13, 17, 0, 0))
+            .basePrice(100)
+            .maxPrice(200)
+            .limitOfEnrollment(100)
+            .location("서울대입구")
+            .build();
+    }
+
     private Event buildEvent(int index) {
         return Event.builder()
             .name("event " + index)
@@ -0,0 +1,92 @@
+package io.namjune.basicrestapi.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.namjune.basicrestapi.accounts.Account;
+import java.time.LocalDateTime;
+import org.junit.Test;
+import org.modelmapper.ModelMapper;
+
+/**
+ * EventMapper 가 기존 ModelMapper 와 같은 결과를 만드는지 확인
+ */
+public class EventMapperTest {
+
+    private final EventMapper eventMapper = new EventMapperImpl();
+    private final ModelMapper modelMapper = new ModelMapper();
+
+    @Test
+    public void toEvent() {
+        // Given
+        EventRequestDto eventRequestDto = eventRequestDto();
+
+        // When
+        Event event = this.eventMapper.toEvent(eventRequestDto);
+
+        // Then
+        assertThat(event).isEqualToComparingFieldByField(this.modelMapper.map(eventRequestDto, Event.class));
+        assertThat(event.getEventStatus()).isEqualTo(EventStatus.DRAFT);
+        assertThat(event.getId()).isNull();
+    }
+
+    @Test
+    public void updateEvent() {
+        // Given
+        EventRequestDto eventRequestDto = eventRequestDto();
+        eventRequestDto.setLocation(null);
+        Event event = existingEvent();
+        Event expected = existingEvent();
+
+        // When
+        this.eventMapper.updateEvent(eventRequestDto, event);
+        this.modelMapper.map(eventRequestDto, expected);
+
+        // Then - id, 매니저, 상태, 버전은 그대로 두고 요청 값만 덮어쓴다.
+        assertThat(event).isEqualToComparingFieldByField(expected);
+        assertThat(event.getId()).isEqualTo(10L);
+        assertThat(event.getVersion()).isEqualTo(3L);
+        assertThat(event.getEventStatus()).isEqualTo(EventStatus.PUBLISHED);
+        assertThat(event.getLocation()).isNull();
+    }
+
+    @Test
+    public void toRequestDto() {
+        // Given
+        EventRequestDto eventRequestDto = eventRequestDto();
+        Event event = this.eventMapper.toEvent(eventRequestDto);
+
+        // When & Then - 부분 수정은 현재 값을 요청 DTO 로 바꾼 뒤 패치를 덮어쓴다.
+        assertThat(this.eventMapper.toRequestDto(event)).isEqualTo(eventRequestDto);
+    }
+
+    private EventRequestDto eventRequestDto() {
+        return EventRequestDto.builder()
+            .name("REST API with Spring")
+            .description("REST API Basic")
+            .beginEnrollmentDateTime(LocalDateTime.of(2019, 5, 6, 17, 0, 0))
+            .closeEnrollmentDateTime(LocalDateTime.of(2019, 5, 9, 17, 0, 0))
+            .beginEventDateTime(LocalDateTime.of(2019, 5, 10, 17, 0, 0))
+            .endEventDateTime(LocalDateTime.of(2019, 5, 13, 17, 0, 0))
+            .basePrice(100)
+            .maxPrice(200)
+            .limitOfEnrollment(100)
+            .location("서울대입구")
+            .build();
+    }
+
+    private Event existingEvent() {
+        return Event.builder()
+            .id(10L)
+            .name("old event")
+            .description("old description")
+            .location("강남")
+            .basePrice(0)
+            .maxPrice(0)
+            .free(true)
+            .offline(true)
+            .eventStatus(EventStatus.PUBLISHED)
+            .manager(Account.builder().id(1L).build())
+            .version(3L)
+            .build();
+    }
+}
@@ -0,0 +1,192 @@
+package io.namjune.basicrestapi.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.namjune.basicrestapi.common.TestDescription;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import javax.sql.DataSource;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+/**
+ * 목록 조회 조건으로 Hibernate 가 만든 SQL 을 H2 의 EXPLAIN 으로 확인해서
+ * 전체 스캔(tableScan) 대신 Event 의 복합 인덱스를 사용하는지 검증한다.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties =
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector=io.namjune.basicrestapi.events.EventRepositoryTest$LastSql")
+public class EventRepositoryTest {
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    DataSource dataSource;
+
+    @Before
+    public void setUp() {
+        this.eventRepository.deleteAll();
+    }
+
+    @Test
+    @TestDescription("eventStatus 조건은 idx_event_status_begin_event 인덱스를 사용한다")
+    public void eventStatus_인덱스() throws Exception {
+        assertIndexUsed(EventSearchCondition.builder()
+            .eventStatus(EventStatus.PUBLISHED)
+            .eventFrom(LocalDateTime.of(2019, 5, 1, 0, 0))
+            .build(), "IDX_EVENT_STATUS_BEGIN_EVENT");
+    }
+
+    @Test
+    @TestDescription("offline, free 조건은 idx_event_offline_free_price 인덱스를 사용한다")
+    public void offline_free_인덱스() throws Exception {
+        assertIndexUsed(EventSearchCondition.builder()
+            .offline(true)
+            .free(false)
+            .basePriceTo(1000)
+            .build(), "IDX_EVENT_OFFLINE_FREE_PRICE");
+    }
+
+    @Test
+    @TestDescription("offline 없이 free 조건만 있으면 idx_event_free_price 인덱스를 사용한다")
+    public void free_인덱스() throws Exception {
+        assertIndexUsed(EventSearchCondition.builder()
+            .free(true)
+            .build(), "IDX_EVENT_FREE_PRICE");
+    }
+
+    @Test
+    @TestDescription("가격 범위 조건은 idx_event_price 인덱스를 사용한다")
+    public void 가격범위_인덱스() throws Exception {
+        assertIndexUsed(EventSearchCondition.builder()
+            .basePriceFrom(100)
+            .basePriceTo(200)
+            .maxPriceFrom(200)
+            .build(), "IDX_EVENT_PRICE");
+    }
+
+    @Test
+    @TestDescription("maxPrice 범위 조건만 있으면 idx_event_max_price 인덱스를 사용한다")
+    public void 최대가격범위_인덱스() throws Exception {
+        assertIndexUsed(EventSearchCondition.builder()
+            .maxPriceFrom(100)
+            .maxPriceTo(200)
+            .build(), "IDX_EVENT_MAX_PRICE");
+    }
+
+    @Test
+    @TestDescription("이벤트 기간 조건은 idx_event_event_period 또는 idx_event_end_event 인덱스를 사용한다")
+    public void 이벤트기간_인덱스() throws Exception {
+        assertIndexUsed(EventSearchCondition.builder()
+            .eventFrom(LocalDateTime.of(2019, 5, 1, 0, 0))
+            .eventTo(LocalDateTime.of(2019, 5, 31, 23, 59))
+            .build(), "IDX_EVENT_EVENT_PERIOD", "IDX_EVENT_END_EVENT");
+    }
+
+    @Test
+    @TestDescription("이벤트 종료 조건(eventTo)만 있으면 idx_event_end_event 인덱스를 사용한다")
+    public void 이벤트종료_인덱스() throws Exception {
+        assertIndexUsed(EventSearchCondition.builder()
+            .eventTo(LocalDateTime.of(2019, 5, 31, 23, 59))
+            .build(), "IDX_EVENT_END_EVENT");
+    }
+
+    @Test
+    @TestDescription("등록 기간 조건은 idx_event_enrollment_period 또는 idx_event_close_enrollment 인덱스를 사용한다")
+    public void 등록기간_인덱스() throws Exception {
+        assertIndexUsed(EventSearchCondition.builder()
+            .enrollmentFrom(LocalDateTime.of(2019, 4, 1, 0, 0))
+            .enrollmentTo(LocalDateTime.of(2019, 4, 30, 23, 59))
+            .build(), "IDX_EVENT_ENROLLMENT_PERIOD", "IDX_EVENT_CLOSE_ENROLLMENT");
+    }
+
+    @Test
+    @TestDescription("등록 마감 조건(enrollmentTo)만 있으면 idx_event_close_enrollment 인덱스를 사용한다")
+    public void 등록마감_인덱스() throws Exception {
+        assertIndexUsed(EventSearchCondition.builder()
+            .enrollmentTo(LocalDateTime.of(2019, 4, 30, 23, 59))
+            .build(), "IDX_EVENT_CLOSE_ENROLLMENT");
+    }
+
+    @Test
+    @TestDescription("조건과 함께 키셋 페이징으로 조회해도 인덱스를 사용한다")
+    public void 키셋페이징_인덱스() throws Exception {
+        Specification<Event> spec = Specification.where(EventSpecifications.of(EventSearchCondition.builder()
+            .eventStatus(EventStatus.PUBLISHED)
+            .build()))
+            .and(EventSpecifications.idGreaterThan(0L));
+
+        LastSql.clear();
+        this.eventRepository.findSlice(spec, PageRequest.of(0, 10, Sort.by("id")));
+
+        assertThat(explain(LastSql.get())).contains("IDX_EVENT_STATUS_BEGIN_EVENT").doesNotContain("tableScan");
+    }
+
+    // 인덱스를 여러개 주면 그 중 하나를 사용하면 된다. 시작, 끝 범위 조건이 모두 있으면 어느 인덱스로 찾아도 범위 검색이다.
+    private void assertIndexUsed(EventSearchCondition condition, String... indexes) throws SQLException {
+        LastSql.clear();
+        this.eventRepository.findAll(EventSpecifications.of(condition), PageRequest.of(0, 10));
+
+        String plan = explain(LastSql.get());
+        assertThat(plan).doesNotContain("tableScan");
+        assertThat(Arrays.stream(indexes).anyMatch(plan::contains)).as("%s uses one of %s", plan, Arrays.toString(indexes)).isTrue();
+    }
+
+    // 파라미터 값을 넣지 않아도 H2 는 prepare 시점에 실행 계획을 정한다.
+    private String explain(String sql) throws SQLException {
+        try (Connection connection = this.dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            for (int i = 1; i <= statement.getParameterMetaData().getParameterCount(); i++) {
+                statement.setObject(i, null);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getString(1);
+            }
+        }
+    }
+
+    /**
+     * Hibernate 가 실행한 첫번째 이벤트 조회 SQL 을 저장한다. (count 쿼리는 제외)
+     */
+    public static class LastSql implements StatementInspector {
+
+        private static volatile String sql;
+
+        static void clear() {
+            sql = null;
+        }
+
+        static String get() {
+            assertThat(sql).as("captured select").isNotNull();
+            return sql;
+        }
+
+        @Override
+        public String inspect(String sql) {
+            String lower = sql.toLowerCase();
+            if (LastSql.sql == null && lower.startsWith("select") && lower.contains("from event")
+                && !lower.contains("count(")) {
+                LastSql.sql = sql;
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package io.namjune.basicrestapi.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import io.namjune.basicrestapi.common.TestDescription;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+public class EventSearchIndexTest {
+
+    EventSearchIndex index;
+
+    @Before
+    public void setUp() {
+        this.index = new EventSearchIndex(null, null);
+    }
+
+    @Test
+    @TestDescription("소문자로 바꾸고 글자, 숫자가 아닌 문자로 분리한다")
+    public void tokenize() {
+        assertThat(EventSearchIndex.tokenize("Spring REST-API, 2019 강남역!"))
+            .containsExactly("spring", "rest", "api", "2019", "강남역");
+        assertThat(EventSearchIndex.tokenize("  ")).isEmpty();
+        assertThat(EventSearchIndex.tokenize(null)).isEmpty();
+    }
+
+    @Test
+    @TestDescription("모든 검색어가 들어있는 이벤트만 찾고, name 에 들어있는 이벤트가 먼저 나온다")
+    public void search() {
+        this.index.index(event(1L, "Spring Boot", "JPA 스터디", "강남역"));
+        this.index.index(event(2L, "JPA 스터디", "Spring Data JPA", "판교"));
+        this.index.index(event(3L, "Kotlin", "코루틴", "강남역"));
+
+        assertThat(ids("jpa")).containsExactly(2L, 1L);
+        assertThat(ids("spring jpa")).containsExactly(2L, 1L);
+        assertThat(ids("SPRING boot")).containsExactly(1L);
+        assertThat(ids("강남역")).containsExactly(1L, 3L);
+        assertThat(ids("spring kotlin")).isEmpty();
+        assertThat(ids("없는단어")).isEmpty();
+    }
+
+    @Test
+    @TestDescription("한글 단어는 조사를 빼고 앞부분으로도 찾을 수 있다")
+    public void search_한글() {
+        this.index.index(event(1L, "JPA 스터디", "2차 캐시와 배치", "강남역에서"));
+
+        assertThat(ids("캐시")).containsExactly(1L);
+        assertThat(ids("강남역")).containsExactly(1L);
+        assertThat(ids("강남역에서")).containsExactly(1L);
+        assertThat(ids("강")).isEmpty();
+    }
+
+    @Test
+    @TestDescription("다시 색인하면 이전 단어로는 찾을 수 없고, 이전 version 으로는 덮어쓰지 않는다")
+    public void reindex() {
+        Event event = event(1L, "Spring Boot", "스터디", "강남역");
+        this.index.index(event);
+
+        Event updated = event(1L, "Kotlin", "스터디", "강남역");
+        updated.setVersion(1L);
+        this.index.index(updated);
+        this.index.index(event);    // 재색인 중에 읽은 이전 version
+
+        assertThat(ids("spring")).isEmpty();
+        assertThat(ids("kotlin")).containsExactly(1L);
+        assertThat(this.index.size()).isEqualTo(1);
+
+        this.index.remove(1L);
+        assertThat(ids("kotlin")).isEmpty();
+        assertThat(this.index.termCount()).isZero();
+    }
+
+    @Test
+    @TestDescription("전체 색인은 엔티티 대신 프로젝션으로 읽고, 이미 더 최신 version 으로 색인된 이벤트는 건너뛴다")
+    public void rebuild() {
+        EventRepository eventRepository = mock(EventRepository.class);
+        given(eventRepository.streamSearchDocuments()).willReturn(Stream.of(
+            document(1L, 0L, "Spring Boot", "스터디", "강남역"),
+            document(2L, 0L, "JPA 스터디", "Spring Data JPA", "판교")));
+        this.index = new EventSearchIndex(eventRepository, mock(PlatformTransactionManager.class));
+        Event updated = event(1L, "Kotlin", "스터디", "강남역");
+        updated.setVersion(1L);
+        this.index.index(updated);    // 전체 색인 중에 수정된 이벤트
+
+        this.index.rebuild();
+
+        assertThat(this.index.size()).isEqualTo(2);
+        assertThat(ids("kotlin")).containsExactly(1L);
+        assertThat(ids("spring")).containsExactly(2L);
+        verify(eventRepository, never()).streamAllByOrderByIdAsc();
+    }
+
+    private List<Long> ids(String query) {
+        return this.index.search(query).stream()
+            .map(EventSearchIndex.Hit::getEventId)
+            .collect(Collectors.toList());
+    }
+
+    private Event event(Long id, String name, String description, String location) {
+        return Event.builder()
+            .id(id)
+            .name(name)
+            .description(description)
+            .location(location)
+            .version(0L)
+            .build();
+    }
+
+    private EventSearchDocument document(Long id, Long version, String name, String description, String location) {
+        return new EventSearchDocument() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getVersion() {
+                return version;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public String getDescription() {
+                return description;
+            }
+
+            @Override
+            public String getLocation() {
+                return location;
+            }
+        };
+    }
+}
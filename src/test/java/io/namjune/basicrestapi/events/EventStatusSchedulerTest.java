@@ -0,0 +1,201 @@
+package io.namjune.basicrestapi.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.namjune.basicrestapi.common.TestDescription;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.persistence.EntityManagerFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "my-app.event-status-scheduler-enabled=true")
+public class EventStatusSchedulerTest {
+
+    @Autowired
+    EventStatusScheduler eventStatusScheduler;
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    private LocalDateTime now;
+
+    @Before
+    public void setUp() {
+        this.eventRepository.deleteAll();
+        this.now = LocalDateTime.now();
+    }
+
+    @After
+    public void tearDown() {
+        this.eventRepository.deleteAll();
+    }
+
+    @Test
+    @TestDescription("등록 시작 시각이 지나면 BEGAN_ENROLLMENT 로 바뀌고 다음 변경(등록 마감)이 예약된다")
+    public void advance_등록시작() throws Exception {
+        // Given
+        Event event = this.eventRepository.save(publishedEvent(this.now.minusSeconds(30), this.now.plusHours(1)));
+        this.eventStatusScheduler.schedule(event, millis(this.now));
+
+        // When
+        Event saved = awaitStatus(event.getId(), EventStatus.BEGAN_ENROLLMENT);
+
+        // Then
+        assertThat(saved.getVersion()).isEqualTo(event.getVersion() + 1);
+
+        // 다음 변경은 커밋 후에 EventChangedEvent 를 받아서 넣는다.
+        await(() -> this.eventStatusScheduler.scheduledTransition(event.getId()) != null);
+        EventStatusScheduler.Transition next = this.eventStatusScheduler.scheduledTransition(event.getId());
+        assertThat(next.getStatus()).isEqualTo(EventStatus.CLOSED_ENROLLMENT);
+        assertThat(next.getDueMillis()).isEqualTo(millis(saved.getCloseEnrollmentDateTime()));
+    }
+
+    @Test
+    @TestDescription("시각이 지난 변경이 여러개면 한번에 마지막 상태로 바꾸고, DRAFT 는 바꾸지 않는다")
+    public void advance_지난변경_한번에() throws Exception {
+        // Given
+        Event ended = this.eventRepository.save(publishedEvent(this.now.minusDays(3), this.now.minusDays(2)));
+        Event draft = publishedEvent(this.now.minusDays(3), this.now.minusDays(2));
+        draft.setEventStatus(EventStatus.DRAFT);
+        this.eventRepository.save(draft);
+        this.eventStatusScheduler.schedule(ended, millis(this.now));
+        assertThat(this.eventStatusScheduler.schedule(draft, millis(this.now))).isNull();
+
+        // When
+        awaitStatus(ended.getId(), EventStatus.ENDED);
+
+        // Then
+        assertThat(this.eventRepository.findById(draft.getId()).get().getEventStatus()).isEqualTo(EventStatus.DRAFT);
+        assertThat(this.eventStatusScheduler.scheduledTransition(ended.getId())).isNull();
+    }
+
+    @Test
+    @TestDescription("일정이 바뀌면 다시 예약하고, 이전 일정으로 예약한 변경은 실행하지 않는다")
+    public void onEventChanged_다시예약() throws Exception {
+        // Given
+        Event event = this.eventRepository.save(publishedEvent(this.now.plusSeconds(1), this.now.plusHours(1)));
+        this.eventStatusScheduler.schedule(event, millis(this.now));
+
+        // When - 등록 시작을 하루 미룬다.
+        Map<String, Object> before = EventChangedEvent.fieldsOf(event);
+        event.setBeginEnrollmentDateTime(this.now.plusDays(1));
+        event.setCloseEnrollmentDateTime(this.now.plusDays(2));
+        event.setBeginEventDateTime(this.now.plusDays(3));
+        event.setEndEventDateTime(this.now.plusDays(4));
+        Event updated = this.eventRepository.save(event);
+        this.eventPublisher.publishEvent(EventChangedEvent.updated(updated, before));
+
+        // Then
+        EventStatusScheduler.Transition next = this.eventStatusScheduler.scheduledTransition(event.getId());
+        assertThat(next.getDueMillis()).isEqualTo(millis(this.now.plusDays(1)));
+
+        // 이전 등록 시작 시각이 지나도 바뀌지 않는다.
+        Thread.sleep(3 * EventStatusScheduler.TICK_MILLIS);
+        assertThat(this.eventRepository.findById(event.getId()).get().getEventStatus()).isEqualTo(EventStatus.PUBLISHED);
+    }
+
+    @Test
+    @TestDescription("상태를 바꿔도 다른 이벤트의 2차 캐시 항목은 그대로 남는다")
+    public void advance_2차캐시_유지() throws Exception {
+        // Given
+        Event event = this.eventRepository.save(publishedEvent(this.now.minusSeconds(30), this.now.plusHours(1)));
+        Event other = this.eventRepository.save(publishedEvent(this.now.plusDays(1), this.now.plusDays(2)));
+        this.entityManagerFactory.getCache().evictAll();
+        this.eventRepository.findById(other.getId());
+        assertThat(this.entityManagerFactory.getCache().contains(Event.class, other.getId())).isTrue();
+
+        // When
+        this.eventStatusScheduler.schedule(event, millis(this.now));
+        Event saved = awaitStatus(event.getId(), EventStatus.BEGAN_ENROLLMENT);
+
+        // Then
+        assertThat(saved.getVersion()).isEqualTo(event.getVersion() + 1);
+        assertThat(this.entityManagerFactory.getCache().contains(Event.class, other.getId())).isTrue();
+    }
+
+    @Test
+    @TestDescription("시작할 때는 변경이 남은 이벤트의 상태와 시각만 프로젝션으로 읽어서 다음 변경을 계산한다")
+    public void start_프로젝션() {
+        // Given
+        Event published = this.eventRepository.save(publishedEvent(this.now.plusHours(1), this.now.plusHours(2)));
+        Event draft = publishedEvent(this.now.plusHours(1), this.now.plusHours(2));
+        draft.setEventStatus(EventStatus.DRAFT);
+        this.eventRepository.save(draft);
+        Event ended = publishedEvent(this.now.minusDays(2), this.now.minusDays(1));
+        ended.setEventStatus(EventStatus.ENDED);
+        this.eventRepository.save(ended);
+
+        // When
+        List<EventSchedule> schedules = new TransactionTemplate(this.transactionManager).execute(status -> {
+            try (Stream<EventSchedule> stream = this.eventRepository.streamSchedulesByEventStatusIn(
+                EnumSet.range(EventStatus.PUBLISHED, EventStatus.STARTED))) {
+                return stream.collect(Collectors.toList());
+            }
+        });
+
+        // Then
+        assertThat(schedules).extracting(EventSchedule::getId).containsExactly(published.getId());
+        EventStatusScheduler.Transition next = this.eventStatusScheduler.nextTransition(schedules.get(0), millis(this.now));
+        assertThat(next.getStatus()).isEqualTo(EventStatus.BEGAN_ENROLLMENT);
+        assertThat(next.getDueMillis()).isEqualTo(millis(published.getBeginEnrollmentDateTime()));
+    }
+
+    // 1초마다 도는 스케줄러 스레드가 바꿀 때까지 기다린다.
+    private Event awaitStatus(Long eventId, EventStatus status) throws InterruptedException {
+        await(() -> this.eventRepository.findById(eventId).get().getEventStatus() == status);
+        return this.eventRepository.findById(eventId).get();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5 * EventStatusScheduler.TICK_MILLIS;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    private Event publishedEvent(LocalDateTime beginEnrollment, LocalDateTime closeEnrollment) {
+        return Event.builder()
+            .name("Spring")
+            .description("REST API Development with Spring")
+            .beginEnrollmentDateTime(beginEnrollment)
+            .closeEnrollmentDateTime(closeEnrollment)
+            .beginEventDateTime(closeEnrollment.plusHours(1))
+            .endEventDateTime(closeEnrollment.plusHours(2))
+            .eventStatus(EventStatus.PUBLISHED)
+            .build();
+    }
+
+    private static long millis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,86 @@
+package io.namjune.basicrestapi.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.namjune.basicrestapi.config.AppProperties;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import io.namjune.basicrestapi.common.TestDescription;
+import org.junit.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+public class RenderedEventCacheTest {
+
+    @Test
+    @TestDescription("캐시 크기는 항목 수가 아니라 보관한 바이트 수로 제한한다")
+    public void maxSize() {
+        RenderedEventCache cache = cache(DataSize.ofKilobytes(16));
+        IntStream.range(0, 1000).forEach(i -> cache.get(event(i, 0), "", MediaType.TEXT_PLAIN, () -> body(200)));
+
+        assertThat(cache.bytes()).isLessThanOrEqualTo(DataSize.ofKilobytes(16).toBytes());
+        assertThat(cache.size()).isGreaterThan(0).isLessThan(1000);
+    }
+
+    @Test
+    @TestDescription("같은 id, version, 표현이면 다시 직렬화하지 않고, 수정되면 그 이벤트의 모든 표현을 지운다")
+    public void getAndEvict() {
+        RenderedEventCache cache = cache(DataSize.ofMegabytes(1));
+        AtomicInteger renders = new AtomicInteger();
+
+        RenderedEventCache.Rendered rendered = cache.get(event(1, 0), "a", MediaType.TEXT_PLAIN, () -> {
+            renders.incrementAndGet();
+            return body(1000);
+        });
+        cache.get(event(1, 0), "a", MediaType.TEXT_PLAIN, () -> {
+            renders.incrementAndGet();
+            return body(1000);
+        });
+        cache.get(event(1, 0), "b", MediaType.TEXT_PLAIN, () -> body(10));
+        cache.get(event(2, 0), "a", MediaType.TEXT_PLAIN, () -> body(10));
+
+        assertThat(renders).hasValue(1);
+        assertThat(rendered.getBody()).hasSize(1000);
+        assertThat(rendered.getGzipBody()).isNotNull();
+        assertThat(rendered.getGzipBody().length).isLessThan(1000);
+        assertThat(cache.get(event(1, 0), "b", MediaType.TEXT_PLAIN, () -> "").getGzipBody()).isNull();
+        assertThat(cache.size()).isEqualTo(3);
+
+        cache.onEventChanged(EventChangedEvent.updated(event(1, 1), Collections.emptyMap()));
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    @TestDescription("Accept-Encoding 에 gzip 이 있고 q=0 이 아니면 gzip 으로 응답한다")
+    public void acceptsGzip() {
+        assertThat(RenderedEventCache.acceptsGzip("gzip")).isTrue();
+        assertThat(RenderedEventCache.acceptsGzip("deflate, GZIP;q=0.5")).isTrue();
+        assertThat(RenderedEventCache.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(RenderedEventCache.acceptsGzip("br")).isFalse();
+        assertThat(RenderedEventCache.acceptsGzip(null)).isFalse();
+    }
+
+    private static RenderedEventCache cache(DataSize maxSize) {
+        RequestMappingHandlerAdapter handlerAdapter = new RequestMappingHandlerAdapter();
+        handlerAdapter.setMessageConverters(Collections.singletonList(new StringHttpMessageConverter()));
+        AppProperties appProperties = new AppProperties();
+        appProperties.setRenderedCacheMaxSize(maxSize);
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("handlerAdapter", handlerAdapter);
+        return new RenderedEventCache(beanFactory.getBeanProvider(RequestMappingHandlerAdapter.class), appProperties);
+    }
+
+    private static Event event(long id, long version) {
+        return Event.builder().id(id).version(version).build();
+    }
+
+    private static String body(int length) {
+        StringBuilder body = new StringBuilder(length);
+        IntStream.range(0, length).forEach(i -> body.append('a'));
+        return body.toString();
+    }
+}
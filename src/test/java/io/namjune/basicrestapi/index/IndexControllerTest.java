@@ -30,4 +30,22 @@ public class IndexControllerTest extends BaseControllerTest {
             ))
         ;
     }
+
+    @Test
+    public void index_링크는_요청의_host_proto_를_따른다() throws Exception {
+        // 링크는 요청마다 캐시하기 때문에 앞선 요청의 host 가 다음 요청에 섞이지 않아야 한다.
+        this.mockMvc.perform(get("/api/")
+            .with(request -> {
+                request.setScheme("https");
+                request.setServerName("api.example.com");
+                request.setServerPort(443);
+                return request;
+            }))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("_links.events.href").value("https://api.example.com/api/events"));
+
+        this.mockMvc.perform(get("/api/"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("_links.events.href").value("http://localhost:8080/api/events"));
+    }
 }